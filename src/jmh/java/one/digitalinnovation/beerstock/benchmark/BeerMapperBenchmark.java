@@ -0,0 +1,38 @@
+package one.digitalinnovation.beerstock.benchmark;
+
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.entity.Beer;
+import one.digitalinnovation.beerstock.enums.BeerType;
+import one.digitalinnovation.beerstock.mapper.BeerMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BeerMapperBenchmark {
+
+    private final BeerMapper mapper = BeerMapper.INSTANCE;
+    private Beer beer;
+    private BeerDTO beerDTO;
+
+    @Setup
+    public void setup() {
+        beer = Beer.builder().id(1L).name("Brahma").brand("Ambev").max(50).quantity(10).type(BeerType.LAGER).version(0L).build();
+        beerDTO = mapper.toDTO(beer);
+    }
+
+    @Benchmark
+    public BeerDTO toDTO() {
+        return mapper.toDTO(beer);
+    }
+
+    @Benchmark
+    public Beer toModel() {
+        return mapper.toModel(beerDTO);
+    }
+}
@@ -0,0 +1,78 @@
+package one.digitalinnovation.beerstock.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.enums.BeerType;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+// Mesmos ObjectMappers que os conversores do Spring MVC (JSON, CBOR e Smile); size cobre item único, página padrão
+// e página máxima. O tamanho do payload é impresso no setup, junto do cabeçalho de cada combinação
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BeerSerializationBenchmark {
+
+    private static final TypeReference<List<BeerDTO>> BEER_LIST = new TypeReference<>() { };
+
+    @Param({"1", "50", "1000"})
+    private int size;
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    private ObjectMapper objectMapper;
+    private List<BeerDTO> beers;
+    private byte[] payload;
+
+    @Setup
+    public void setup() throws IOException {
+        objectMapper = mapper(format);
+        beers = IntStream.range(0, size)
+                .mapToObj(i -> BeerDTO.builder()
+                        .id((long) i)
+                        .name("Beer " + i)
+                        .brand("Ambev")
+                        .max(50)
+                        .quantity(10)
+                        .type(BeerType.values()[i % BeerType.values().length])
+                        .version(0L)
+                        .build())
+                .collect(Collectors.toList());
+        payload = objectMapper.writeValueAsBytes(beers);
+        System.out.printf("payload %s size=%d: %d bytes%n", format, size, payload.length);
+    }
+
+    private static ObjectMapper mapper(String format) {
+        switch (format) {
+            case "cbor":
+                return Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build();
+            case "smile":
+                return Jackson2ObjectMapperBuilder.json().factory(new SmileFactory()).build();
+            default:
+                return Jackson2ObjectMapperBuilder.json().build();
+        }
+    }
+
+    @Benchmark
+    public byte[] writeList() throws IOException {
+        return objectMapper.writeValueAsBytes(beers);
+    }
+
+    @Benchmark
+    public List<BeerDTO> readList() throws IOException {
+        return objectMapper.readValue(payload, BEER_LIST);
+    }
+}
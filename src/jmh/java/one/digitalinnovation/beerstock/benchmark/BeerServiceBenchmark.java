@@ -0,0 +1,88 @@
+package one.digitalinnovation.beerstock.benchmark;
+
+import one.digitalinnovation.beerstock.BeerstockApplication;
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.dto.BeerPageDTO;
+import one.digitalinnovation.beerstock.dto.StockAdjustmentDTO;
+import one.digitalinnovation.beerstock.dto.StockAdjustmentResultDTO;
+import one.digitalinnovation.beerstock.enums.BeerType;
+import one.digitalinnovation.beerstock.service.BeerService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Caminhos do BeerService contra o contexto completo e o H2 em memória, sem a camada HTTP.
+ * Os ajustes de estoque voltam ao valor inicial a cada operação, então o estado não deriva entre iterações
+ * (o ledger de movimentos cresce, como em produção).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BeerServiceBenchmark {
+
+    private static final int CATALOG_SIZE = 1000;
+    private static final String BEER_NAME = "Benchmark Lager";
+
+    private ConfigurableApplicationContext context;
+    private BeerService beerService;
+    private Long beerId;
+    private List<StockAdjustmentDTO> adjustments;
+
+    @Setup(Level.Trial)
+    public void start() throws Exception {
+        context = new SpringApplicationBuilder(BeerstockApplication.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .properties("spring.main.banner-mode=off", "logging.level.root=WARN")
+                .run();
+        beerService = context.getBean(BeerService.class);
+
+        beerId = beerService.createBeer(beer(BEER_NAME)).getId();
+        beerService.createBeers(IntStream.range(0, CATALOG_SIZE)
+                .mapToObj(i -> beer("Catalog " + i))
+                .collect(Collectors.toList()));
+        adjustments = IntStream.range(0, 10)
+                .mapToObj(i -> StockAdjustmentDTO.builder().id(beerId).delta(i % 2 == 0 ? 1 : -1).build())
+                .collect(Collectors.toList());
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    private static BeerDTO beer(String name) {
+        return BeerDTO.builder().name(name).brand("Ambev").max(100).quantity(50).type(BeerType.LAGER).build();
+    }
+
+    @Benchmark
+    public BeerDTO incrementThenDecrement() throws Exception {
+        beerService.increment(beerId, 1);
+        return beerService.decrement(beerId, 1);
+    }
+
+    @Benchmark
+    public List<StockAdjustmentResultDTO> adjustStockBatchOfTen() throws Exception {
+        return beerService.adjustStock(adjustments, true);
+    }
+
+    @Benchmark
+    public BeerDTO findByNameCached() throws Exception {
+        return beerService.findByName(BEER_NAME);
+    }
+
+    @Benchmark
+    public BeerPageDTO listFirstPage() {
+        return beerService.listAll(null, 50);
+    }
+}
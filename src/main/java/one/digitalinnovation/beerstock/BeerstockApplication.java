@@ -2,12 +2,20 @@ package one.digitalinnovation.beerstock;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class BeerstockApplication {
 
+	// Passos guardados para o StartupReport e o /actuator/startup; acima disso os mais novos são descartados
+	private static final int STARTUP_STEPS = 10_000;
+
 	public static void main(String[] args) {
-		SpringApplication.run(BeerstockApplication.class, args);
+		SpringApplication application = new SpringApplication(BeerstockApplication.class);
+		application.setApplicationStartup(new BufferingApplicationStartup(STARTUP_STEPS));
+		application.run(args);
 	}
 
 }
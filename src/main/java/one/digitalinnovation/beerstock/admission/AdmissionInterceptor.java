@@ -0,0 +1,126 @@
+package one.digitalinnovation.beerstock.admission;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import one.digitalinnovation.beerstock.enums.RequestBudget;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Admissão antes do controller: token bucket do cliente (429), depois o limite global (503), com Retry-After.
+// Leitura, escrita e export têm orçamentos separados
+public class AdmissionInterceptor implements AsyncHandlerInterceptor {
+
+    public static final String REJECTED = "beerstock.admission.rejected";
+    public static final String IN_FLIGHT = "beerstock.admission.in-flight";
+    public static final String EXPORT_PATH = "/api/v1/beers/export";
+    private static final String PERMIT = AdmissionInterceptor.class.getName() + ".permit";
+
+    private final ClientIdentity clientIdentity;
+    private final long overloadRetryAfterSeconds;
+    private final Map<RequestBudget, Budget> budgets = new EnumMap<>(RequestBudget.class);
+
+    public AdmissionInterceptor(ClientIdentity clientIdentity, Duration overloadRetryAfter,
+                                MeterRegistry registry, Map<RequestBudget, RateLimiter> rateLimiters,
+                                Map<RequestBudget, ConcurrencyLimiter> concurrencyLimiters) {
+        this.clientIdentity = clientIdentity;
+        this.overloadRetryAfterSeconds = Math.max(1, overloadRetryAfter.toSeconds());
+        for (RequestBudget budget : RequestBudget.values()) {
+            String tag = budget.name().toLowerCase(Locale.ROOT);
+            ConcurrencyLimiter concurrency = concurrencyLimiters.get(budget);
+            Gauge.builder(IN_FLIGHT, concurrency, ConcurrencyLimiter::inFlight)
+                    .description("Requisições admitidas e ainda em andamento")
+                    .tag("budget", tag)
+                    .register(registry);
+            budgets.put(budget, new Budget(rateLimiters.get(budget), concurrency,
+                    rejected(registry, tag, "rate"), rejected(registry, tag, "concurrency")));
+        }
+    }
+
+    private static Counter rejected(MeterRegistry registry, String budget, String reason) {
+        return Counter.builder(REJECTED)
+                .description("Requisições recusadas pelo controle de admissão")
+                .tag("budget", budget)
+                .tag("reason", reason)
+                .register(registry);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // O redespacho de uma requisição assíncrona (export) já foi admitido e ainda segura a sua vaga
+        if (request.getDispatcherType() != DispatcherType.REQUEST) return true;
+        Budget budget = budgets.get(budget(request));
+        long waitNanos = budget.rate.tryAcquire(clientIdentity.of(request));
+        if (waitNanos > 0) {
+            budget.rateRejected.increment();
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L)));
+            return false;
+        }
+        int stripe = budget.concurrency.tryAcquire();
+        if (stripe < 0) {
+            budget.concurrencyRejected.increment();
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, overloadRetryAfterSeconds);
+            return false;
+        }
+        request.setAttribute(PERMIT, new Permit(budget.concurrency, stripe));
+        return true;
+    }
+
+    // O Spring MVC não chama afterCompletion no despacho que inicia o processamento assíncrono, só no último:
+    // num export a vaga fica presa até a resposta terminar
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Permit permit = (Permit) request.getAttribute(PERMIT);
+        if (permit != null) {
+            request.removeAttribute(PERMIT);
+            permit.limiter.release(permit.stripe);
+        }
+    }
+
+    static RequestBudget budget(HttpServletRequest request) {
+        String method = request.getMethod();
+        if (!HttpMethod.GET.matches(method) && !HttpMethod.HEAD.matches(method)) return RequestBudget.WRITE;
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return EXPORT_PATH.equals(path) ? RequestBudget.EXPORT : RequestBudget.READ;
+    }
+
+    private static void reject(HttpServletResponse response, HttpStatus status, long retryAfterSeconds) {
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+    }
+
+    private static final class Budget {
+        private final RateLimiter rate;
+        private final ConcurrencyLimiter concurrency;
+        private final Counter rateRejected;
+        private final Counter concurrencyRejected;
+
+        private Budget(RateLimiter rate, ConcurrencyLimiter concurrency, Counter rateRejected, Counter concurrencyRejected) {
+            this.rate = rate;
+            this.concurrency = concurrency;
+            this.rateRejected = rateRejected;
+            this.concurrencyRejected = concurrencyRejected;
+        }
+    }
+
+    private static final class Permit {
+        private final ConcurrencyLimiter limiter;
+        private final int stripe;
+
+        private Permit(ConcurrencyLimiter limiter, int stripe) {
+            this.limiter = limiter;
+            this.stripe = stripe;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package one.digitalinnovation.beerstock.admission;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.Set;
+
+// Identidade do cliente usada pela admissão e pelo escopo das chaves de idempotência
+@Component
+public class ClientIdentity {
+
+    static final int MAX_CLIENT_ID_LENGTH = 128;
+
+    private final String clientHeader;
+    private final Set<String> trustedProxies;
+
+    @Autowired
+    public ClientIdentity(@Value("${beerstock.admission.client-header:X-Client-Id}") String clientHeader,
+                          @Value("${beerstock.admission.trusted-proxies:}") Set<String> trustedProxies) {
+        this.clientHeader = clientHeader;
+        this.trustedProxies = Set.copyOf(trustedProxies);
+    }
+
+    // Um cabeçalho vindo direto do cliente não é confiável: trocando o id a cada requisição ele fugiria do limite
+    public String of(HttpServletRequest request) {
+        String remote = request.getRemoteAddr();
+        if (!trustedProxies.contains(remote)) return remote;
+        String client = request.getHeader(clientHeader);
+        if (client == null || client.isBlank()) return remote;
+        client = client.trim();
+        return client.length() > MAX_CLIENT_ID_LENGTH ? client.substring(0, MAX_CLIENT_ID_LENGTH) : client;
+    }
+}
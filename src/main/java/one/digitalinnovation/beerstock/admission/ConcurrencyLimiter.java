@@ -0,0 +1,56 @@
+package one.digitalinnovation.beerstock.admission;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+// Limite global de requisições em andamento, em faixas com contador próprio para não virar ponto de contenção
+public final class ConcurrencyLimiter {
+
+    // 16 ints = 64 bytes entre dois contadores
+    private static final int PADDING = 16;
+
+    private final int limit;
+    private final int[] capacity;
+    private final AtomicIntegerArray inFlight;
+
+    public ConcurrencyLimiter(int limit, int stripes) {
+        if (limit < 1 || stripes < 1) throw new IllegalArgumentException("limit and stripes must be positive");
+        this.limit = limit;
+        int count = Math.min(limit, stripes);
+        this.capacity = new int[count];
+        for (int i = 0; i < count; i++) {
+            capacity[i] = limit / count + (i < limit % count ? 1 : 0);
+        }
+        this.inFlight = new AtomicIntegerArray(count * PADDING);
+    }
+
+    // Faixa ocupada (a devolver em release), ou -1 quando o limite inteiro está em uso
+    public int tryAcquire() {
+        int stripes = capacity.length;
+        int start = (int) (Thread.currentThread().getId() % stripes);
+        for (int i = 0; i < stripes; i++) {
+            int stripe = (start + i) % stripes;
+            int index = stripe * PADDING;
+            int current;
+            while ((current = inFlight.get(index)) < capacity[stripe]) {
+                if (inFlight.compareAndSet(index, current, current + 1)) return stripe;
+            }
+        }
+        return -1;
+    }
+
+    public void release(int stripe) {
+        inFlight.decrementAndGet(stripe * PADDING);
+    }
+
+    public int inFlight() {
+        int total = 0;
+        for (int stripe = 0; stripe < capacity.length; stripe++) {
+            total += inFlight.get(stripe * PADDING);
+        }
+        return total;
+    }
+
+    public int limit() {
+        return limit;
+    }
+}
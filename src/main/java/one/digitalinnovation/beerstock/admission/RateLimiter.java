@@ -0,0 +1,46 @@
+package one.digitalinnovation.beerstock.admission;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+// Token bucket por cliente em GCRA: um long por cliente avançado por CAS, num cache do Caffeine que esquece os ociosos
+public final class RateLimiter {
+
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final LongSupplier clock;
+    private final Cache<String, AtomicLong> clients;
+
+    public RateLimiter(double ratePerSecond, int burst, Duration idle, long maxClients) {
+        this(ratePerSecond, burst, idle, maxClients, System::nanoTime);
+    }
+
+    RateLimiter(double ratePerSecond, int burst, Duration idle, long maxClients, LongSupplier clock) {
+        if (ratePerSecond <= 0 || burst < 1) throw new IllegalArgumentException("rate and burst must be positive");
+        this.intervalNanos = Math.max(1, (long) (1_000_000_000L / ratePerSecond));
+        this.toleranceNanos = intervalNanos * burst;
+        this.clock = clock;
+        this.clients = Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfterAccess(idle.compareTo(Duration.ofNanos(toleranceNanos)) > 0 ? idle : Duration.ofNanos(toleranceNanos))
+                .build();
+    }
+
+    // 0 quando a requisição passa; senão, os nanossegundos até a próxima ficha
+    public long tryAcquire(String client) {
+        long now = clock.getAsLong();
+        AtomicLong arrival = clients.get(client, k -> new AtomicLong(now));
+        while (true) {
+            long theoretical = arrival.get();
+            // Comparação por diferença: nanoTime pode dar a volta
+            long next = (theoretical - now > 0 ? theoretical : now) + intervalNanos;
+            long wait = next - now - toleranceNanos;
+            if (wait > 0) return wait;
+            if (arrival.compareAndSet(theoretical, next)) return 0;
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package one.digitalinnovation.beerstock.aggregate;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import one.digitalinnovation.beerstock.datasource.RoutingDataSource;
+import one.digitalinnovation.beerstock.dto.AggregateDriftDTO;
+import one.digitalinnovation.beerstock.dto.AggregateReconciliationDTO;
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.dto.StockAggregateDTO;
+import one.digitalinnovation.beerstock.dto.StockAggregatesDTO;
+import one.digitalinnovation.beerstock.feed.BeerChangedEvent;
+import one.digitalinnovation.beerstock.repository.BeerRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+// Totais por tipo e por marca em memória: carga inicial no startup, depois só o delta de cada alteração confirmada.
+// reconcile() compara com o recálculo no banco; com repair troca a memória com os deltas bloqueados
+@Component
+@Profile("!reactive")
+public class StockAggregates {
+
+    public static final String DRIFT = "beerstock.aggregates.drift";
+    static final String TYPE = "type";
+    static final String BRAND = "brand";
+
+    private final BeerRepository repo;
+    private volatile Map<String, GroupTotals> byType = new ConcurrentHashMap<>();
+    private volatile Map<String, GroupTotals> byBrand = new ConcurrentHashMap<>();
+    private final AtomicInteger lastDrift = new AtomicInteger();
+    // Commits com delta seguram a leitura do commit até o onChange; o reparo (escrita) espera todos e segura os novos
+    private final ReadWriteLock repairLock = new ReentrantReadWriteLock();
+
+    @Autowired
+    public StockAggregates(BeerRepository repo, MeterRegistry registry) {
+        this.repo = repo;
+        Gauge.builder(DRIFT, lastDrift, AtomicInteger::get)
+                .description("Grupos divergentes na última reconciliação dos agregados")
+                .register(registry);
+    }
+
+    @PostConstruct
+    public void load() {
+        byType = RoutingDataSource.primary(() -> totals(repo.aggregateByType()));
+        byBrand = RoutingDataSource.primary(() -> totals(repo.aggregateByBrand()));
+    }
+
+    // Antes do commit: sem isso o reparo poderia recalcular com o commit já no banco e o delta ainda a caminho,
+    // e o delta contaria duas vezes. Liberado no afterCompletion, depois do onChange da mesma transação
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void beforeCommit(BeerChangedEvent event) {
+        repairLock.readLock().lock();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                repairLock.readLock().unlock();
+            }
+
+            @Override
+            public int getOrder() {
+                return Ordered.LOWEST_PRECEDENCE;
+            }
+        });
+    }
+
+    // Depois do commit: uma alteração desfeita não mexe nos totais
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChange(BeerChangedEvent event) {
+        BeerDTO beer = event.getBeer();
+        repairLock.readLock().lock();
+        try {
+            switch (event.getType()) {
+                case CREATED:
+                    apply(beer, 1, beer.getQuantity(), beer.getMax());
+                    break;
+                case DELETED:
+                    apply(beer, -1, event.getDelta(), -beer.getMax());
+                    break;
+                default:
+                    apply(beer, 0, event.getDelta(), 0);
+            }
+        } finally {
+            repairLock.readLock().unlock();
+        }
+    }
+
+    public StockAggregatesDTO aggregates() {
+        return StockAggregatesDTO.builder()
+                .byType(snapshot(byType))
+                .byBrand(snapshot(byBrand))
+                .build();
+    }
+
+    public AggregateReconciliationDTO reconcile(boolean repair) {
+        if (!repair) return compare(false);
+        // Nenhum commit fica entre o banco e o onChange enquanto o recálculo roda e os mapas são trocados
+        repairLock.writeLock().lock();
+        try {
+            return compare(true);
+        } finally {
+            repairLock.writeLock().unlock();
+        }
+    }
+
+    private AggregateReconciliationDTO compare(boolean repair) {
+        // Sempre no primário: os totais em memória já refletem commits que a réplica pode não ter
+        Map<String, GroupTotals> expectedByType = RoutingDataSource.primary(() -> totals(repo.aggregateByType()));
+        Map<String, GroupTotals> expectedByBrand = RoutingDataSource.primary(() -> totals(repo.aggregateByBrand()));
+        List<AggregateDriftDTO> drift = new ArrayList<>();
+        drift(TYPE, expectedByType, byType, drift);
+        drift(BRAND, expectedByBrand, byBrand, drift);
+        lastDrift.set(drift.size());
+        if (repair && !drift.isEmpty()) {
+            byType = expectedByType;
+            byBrand = expectedByBrand;
+        }
+        return AggregateReconciliationDTO.builder()
+                .consistent(drift.isEmpty())
+                .repaired(repair && !drift.isEmpty())
+                .drift(drift)
+                .build();
+    }
+
+    // Só verifica e publica a divergência no gauge; corrigir é decisão de quem chama o endpoint
+    @Scheduled(fixedDelayString = "${beerstock.aggregates.reconcile-interval:PT1H}",
+            initialDelayString = "${beerstock.aggregates.reconcile-interval:PT1H}")
+    public void scheduledReconcile() {
+        reconcile(false);
+    }
+
+    private void apply(BeerDTO beer, int skus, long quantity, long capacity) {
+        byType.computeIfAbsent(beer.getType().name(), k -> new GroupTotals()).add(skus, quantity, capacity);
+        byBrand.computeIfAbsent(beer.getBrand(), k -> new GroupTotals()).add(skus, quantity, capacity);
+    }
+
+    private static Map<String, GroupTotals> totals(List<StockAggregateDTO> rows) {
+        Map<String, GroupTotals> totals = new ConcurrentHashMap<>();
+        for (StockAggregateDTO row : rows) {
+            totals.computeIfAbsent(row.getGroup(), k -> new GroupTotals()).add(row.getSkus(), row.getQuantity(), row.getCapacity());
+        }
+        return totals;
+    }
+
+    // Grupos que ficaram sem SKUs continuam no mapa (zerados), mas não aparecem na resposta
+    private static List<StockAggregateDTO> snapshot(Map<String, GroupTotals> groups) {
+        return groups.entrySet().stream()
+                .map(e -> e.getValue().toDTO(e.getKey()))
+                .filter(dto -> dto.getSkus() != 0)
+                .sorted(Comparator.comparing(StockAggregateDTO::getGroup))
+                .collect(Collectors.toList());
+    }
+
+    private static void drift(String dimension, Map<String, GroupTotals> expected, Map<String, GroupTotals> actual,
+                              List<AggregateDriftDTO> drift) {
+        Map<String, StockAggregateDTO> expectedGroups = snapshot(expected).stream()
+                .collect(Collectors.toMap(StockAggregateDTO::getGroup, dto -> dto));
+        Map<String, StockAggregateDTO> actualGroups = snapshot(actual).stream()
+                .collect(Collectors.toMap(StockAggregateDTO::getGroup, dto -> dto));
+        Set<String> groups = new TreeSet<>(expectedGroups.keySet());
+        groups.addAll(actualGroups.keySet());
+        for (String group : groups) {
+            StockAggregateDTO e = expectedGroups.get(group);
+            StockAggregateDTO a = actualGroups.get(group);
+            if (e == null || !e.equals(a)) {
+                drift.add(AggregateDriftDTO.builder().dimension(dimension).group(group).expected(e).actual(a).build());
+            }
+        }
+    }
+
+    // Os três totais de um grupo mudam juntos, então a leitura nunca vê um SKU sem a sua capacidade
+    private static final class GroupTotals {
+        private long skus;
+        private long quantity;
+        private long capacity;
+
+        synchronized void add(long skus, long quantity, long capacity) {
+            this.skus += skus;
+            this.quantity += quantity;
+            this.capacity += capacity;
+        }
+
+        synchronized StockAggregateDTO toDTO(String group) {
+            return new StockAggregateDTO(group, skus, quantity, capacity);
+        }
+    }
+}
@@ -0,0 +1,270 @@
+package one.digitalinnovation.beerstock.alert;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import one.digitalinnovation.beerstock.datasource.RoutingDataSource;
+import one.digitalinnovation.beerstock.dto.AlertRuleDTO;
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.dto.LowStockAlertDTO;
+import one.digitalinnovation.beerstock.entity.Beer;
+import one.digitalinnovation.beerstock.enums.AlertScope;
+import one.digitalinnovation.beerstock.enums.AlertState;
+import one.digitalinnovation.beerstock.enums.BeerType;
+import one.digitalinnovation.beerstock.enums.ChangeType;
+import one.digitalinnovation.beerstock.exception.InvalidAlertRuleException;
+import one.digitalinnovation.beerstock.feed.BeerChangedEvent;
+import one.digitalinnovation.beerstock.mapper.BeerMapper;
+import one.digitalinnovation.beerstock.repository.BeerRepository;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+// Alertas de estoque baixo a partir do estado do evento, sem varrer a tabela; vale a regra mais específica.
+// Abre em threshold * max, fecha acima de (threshold + clear-margin) * max, com debounce entre notificações
+@Component
+public class LowStockAlertEngine {
+
+    public static final String NOTIFICATIONS = "beerstock.alerts.notifications";
+    public static final String SUPPRESSED = "beerstock.alerts.suppressed";
+    public static final String ACTIVE = "beerstock.alerts.active";
+
+    private final ApplicationEventPublisher events;
+    // Nulo no modo reativo (sem JPA)
+    private final BeerRepository beerRepository;
+    private final double clearMargin;
+    private final long debounceNanos;
+    private final LongSupplier clock;
+    private volatile double globalThreshold;
+    private final Map<BeerType, Double> typeThresholds = new ConcurrentHashMap<>();
+    private final Map<Long, Double> beerThresholds = new ConcurrentHashMap<>();
+    private final Map<Long, BeerAlert> alerts = new ConcurrentHashMap<>();
+    private final Map<Long, LowStockAlertDTO> active = new ConcurrentSkipListMap<>();
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+    private final Map<AlertState, Counter> notifications = new EnumMap<>(AlertState.class);
+    private final Counter suppressed;
+
+    @Autowired
+    public LowStockAlertEngine(ApplicationEventPublisher events, MeterRegistry registry,
+                               ObjectProvider<BeerRepository> beerRepository,
+                               @Value("${beerstock.alerts.global-threshold:0.2}") double globalThreshold,
+                               @Value("${beerstock.alerts.clear-margin:0.05}") double clearMargin,
+                               @Value("${beerstock.alerts.debounce:PT30S}") Duration debounce) {
+        this(events, registry, beerRepository.getIfAvailable(), globalThreshold, clearMargin, debounce, System::nanoTime);
+    }
+
+    LowStockAlertEngine(ApplicationEventPublisher events, MeterRegistry registry, BeerRepository beerRepository,
+                        double globalThreshold, double clearMargin, Duration debounce, LongSupplier clock) {
+        this.events = events;
+        this.beerRepository = beerRepository;
+        this.globalThreshold = globalThreshold;
+        this.clearMargin = clearMargin;
+        this.debounceNanos = debounce.toNanos();
+        this.clock = clock;
+        for (AlertState state : AlertState.values()) {
+            notifications.put(state, Counter.builder(NOTIFICATIONS)
+                    .description("Alertas de estoque baixo notificados")
+                    .tag("state", state.name().toLowerCase(Locale.ROOT))
+                    .register(registry));
+        }
+        suppressed = Counter.builder(SUPPRESSED).description("Cruzamentos segurados pelo debounce").register(registry);
+        Gauge.builder(ACTIVE, active, Map::size).description("Alertas de estoque baixo abertos").register(registry);
+    }
+
+    // Depois do commit, como o feed: uma alteração desfeita nunca abre alerta
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChange(BeerChangedEvent event) {
+        evaluate(event.getBeer(), event.getType() == ChangeType.DELETED);
+    }
+
+    private void evaluate(BeerDTO beer, boolean deleted) {
+        LowStockAlertEvent[] notification = new LowStockAlertEvent[1];
+        alerts.compute(beer.getId(), (id, alert) -> {
+            if (deleted) {
+                active.remove(id);
+                pending.remove(id);
+                if (alert != null && alert.notifiedLow) notification[0] = notify(alert, false);
+                return null;
+            }
+            double threshold = thresholdFor(beer);
+            boolean wasLow = alert != null && alert.low;
+            boolean low = beer.getQuantity() <= (wasLow ? threshold + clearMargin : threshold) * beer.getMax();
+            if (alert == null) {
+                if (!low) return null;
+                alert = new BeerAlert();
+            }
+            // Eventos de commits concorrentes podem chegar fora de ordem; a versão descarta os atrasados
+            if (beer.getVersion() != null) {
+                if (beer.getVersion() < alert.version) return alert;
+                alert.version = beer.getVersion();
+            }
+            if (low && !wasLow) alert.since = Instant.now();
+            alert.low = low;
+            alert.snapshot = LowStockAlertDTO.builder()
+                    .beerId(id)
+                    .name(beer.getName())
+                    .type(beer.getType())
+                    .quantity(beer.getQuantity())
+                    .max(beer.getMax())
+                    .threshold(threshold)
+                    .since(alert.since)
+                    .build();
+            if (low) active.put(id, alert.snapshot);
+            else active.remove(id);
+            notification[0] = settle(id, alert);
+            return keep(id, alert) ? alert : null;
+        });
+        if (notification[0] != null) events.publishEvent(notification[0]);
+    }
+
+    // Fecha o debounce das cervejas que cruzaram o limite enquanto esperavam
+    @Scheduled(fixedDelayString = "${beerstock.alerts.flush-interval:PT1S}")
+    public void flushPending() {
+        for (Long id : pending) {
+            LowStockAlertEvent[] notification = new LowStockAlertEvent[1];
+            alerts.computeIfPresent(id, (key, alert) -> {
+                notification[0] = settle(id, alert);
+                return keep(id, alert) ? alert : null;
+            });
+            if (notification[0] != null) events.publishEvent(notification[0]);
+        }
+    }
+
+    public List<LowStockAlertDTO> activeAlerts() {
+        return new ArrayList<>(active.values());
+    }
+
+    public List<AlertRuleDTO> rules() {
+        List<AlertRuleDTO> rules = new ArrayList<>();
+        rules.add(AlertRuleDTO.builder().scope(AlertScope.GLOBAL).threshold(globalThreshold).build());
+        typeThresholds.forEach((type, threshold) ->
+                rules.add(AlertRuleDTO.builder().scope(AlertScope.TYPE).type(type).threshold(threshold).build()));
+        beerThresholds.forEach((beerId, threshold) ->
+                rules.add(AlertRuleDTO.builder().scope(AlertScope.BEER).beerId(beerId).threshold(threshold).build()));
+        return rules;
+    }
+
+    public AlertRuleDTO putRule(AlertRuleDTO rule) throws InvalidAlertRuleException {
+        switch (requireTarget(rule.getScope(), rule.getType(), rule.getBeerId())) {
+            case TYPE:
+                typeThresholds.put(rule.getType(), rule.getThreshold());
+                break;
+            case BEER:
+                beerThresholds.put(rule.getBeerId(), rule.getThreshold());
+                break;
+            default:
+                globalThreshold = rule.getThreshold();
+        }
+        reevaluate(rule.getType(), rule.getBeerId());
+        return rule;
+    }
+
+    public void removeRule(AlertScope scope, BeerType type, Long beerId) throws InvalidAlertRuleException {
+        switch (requireTarget(scope, type, beerId)) {
+            case TYPE:
+                typeThresholds.remove(type);
+                break;
+            case BEER:
+                beerThresholds.remove(beerId);
+                break;
+            default:
+                throw new InvalidAlertRuleException("The global alert rule can be changed but not removed");
+        }
+        reevaluate(type, beerId);
+    }
+
+    // Cervejas em memória podem sair (ou entrar) em alerta; das outras, só as abaixo do maior limite em vigor
+    // e cobertas pela regra podem entrar. O estado vem do primário, nunca de uma réplica atrasada
+    private void reevaluate(BeerType type, Long beerId) {
+        if (beerRepository == null) {
+            // Modo reativo: só as cervejas em memória, a partir do último estado visto
+            alerts.values().stream().map(alert -> alert.snapshot).collect(Collectors.toList())
+                    .forEach(snapshot -> evaluate(BeerDTO.builder().id(snapshot.getBeerId()).name(snapshot.getName())
+                            .type(snapshot.getType()).quantity(snapshot.getQuantity()).max(snapshot.getMax()).build(), false));
+            return;
+        }
+        double ratio = globalThreshold;
+        for (double threshold : typeThresholds.values()) ratio = Math.max(ratio, threshold);
+        for (double threshold : beerThresholds.values()) ratio = Math.max(ratio, threshold);
+        double maxRatio = ratio;
+        Set<Long> tracked = new HashSet<>(alerts.keySet());
+        List<Beer> beers = RoutingDataSource.primary(() -> {
+            List<Beer> found = new ArrayList<>(beerRepository.findLowStock(maxRatio, type, beerId));
+            found.forEach(beer -> tracked.remove(beer.getId()));
+            if (!tracked.isEmpty()) found.addAll(beerRepository.findAllById(tracked));
+            return found;
+        });
+        beers.forEach(beer -> evaluate(BeerMapper.INSTANCE.toDTO(beer), false));
+    }
+
+    private static AlertScope requireTarget(AlertScope scope, BeerType type, Long beerId) throws InvalidAlertRuleException {
+        if (scope == AlertScope.TYPE && type == null) throw new InvalidAlertRuleException("A TYPE alert rule needs a beer type");
+        if (scope == AlertScope.BEER && beerId == null) throw new InvalidAlertRuleException("A BEER alert rule needs a beer id");
+        return scope;
+    }
+
+    private double thresholdFor(BeerDTO beer) {
+        Double threshold = beerThresholds.get(beer.getId());
+        if (threshold == null) threshold = typeThresholds.get(beer.getType());
+        return threshold == null ? globalThreshold : threshold;
+    }
+
+    // Notifica se o estado mudou e o debounce passou; senão deixa pendente. Chamado dentro do compute
+    private LowStockAlertEvent settle(Long id, BeerAlert alert) {
+        if (alert.low == alert.notifiedLow) {
+            // Voltou ao estado já notificado antes do fim do debounce: o consumidor não precisa saber
+            pending.remove(id);
+            return null;
+        }
+        if (alert.notified && clock.getAsLong() - alert.notifiedAt < debounceNanos) {
+            if (pending.add(id)) suppressed.increment();
+            return null;
+        }
+        pending.remove(id);
+        return notify(alert, alert.low);
+    }
+
+    private LowStockAlertEvent notify(BeerAlert alert, boolean low) {
+        alert.notified = true;
+        alert.notifiedLow = low;
+        alert.notifiedAt = clock.getAsLong();
+        AlertState state = low ? AlertState.RAISED : AlertState.CLEARED;
+        notifications.get(state).increment();
+        return new LowStockAlertEvent(state, alert.snapshot);
+    }
+
+    // Fora de alerta, sem pendência e com o debounce vencido, o estado pode ser esquecido
+    private boolean keep(Long id, BeerAlert alert) {
+        return alert.low || alert.notifiedLow || pending.contains(id)
+                || (alert.notified && clock.getAsLong() - alert.notifiedAt < debounceNanos);
+    }
+
+    // Protegido pelo lock do compute do ConcurrentHashMap
+    private static final class BeerAlert {
+        private long version = Long.MIN_VALUE;
+        private boolean low;
+        private Instant since;
+        private LowStockAlertDTO snapshot;
+        private boolean notified;
+        private boolean notifiedLow;
+        private long notifiedAt;
+    }
+}
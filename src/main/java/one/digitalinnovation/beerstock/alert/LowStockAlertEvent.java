@@ -0,0 +1,12 @@
+package one.digitalinnovation.beerstock.alert;
+
+import lombok.Value;
+import one.digitalinnovation.beerstock.dto.LowStockAlertDTO;
+import one.digitalinnovation.beerstock.enums.AlertState;
+
+// Publicado pelo LowStockAlertEngine só quando um alerta abre ou fecha, já respeitando o debounce
+@Value
+public class LowStockAlertEvent {
+    AlertState state;
+    LowStockAlertDTO alert;
+}
@@ -0,0 +1,166 @@
+package one.digitalinnovation.beerstock.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.dto.CacheStatsDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+
+@Component
+public class BeerNameCache implements MeterBinder {
+
+    public static final String LOOKUPS = "beerstock.cache.by-name.lookups";
+    static final int GENERATION_STRIPES = 1024;
+
+    private final Cache<String, Optional<BeerDTO>> cache;
+    private final boolean cacheMisses;
+    // Geração por faixa de nomes (hash), incrementada a cada invalidação: uma carga que começou antes dela não pode
+    // gravar valor antigo. Com um contador global, escritas constantes num SKU anulariam o cache dos demais
+    private final AtomicLongArray invalidations = new AtomicLongArray(GENERATION_STRIPES);
+    // Faltas simultâneas do mesmo nome fazem uma só consulta; a geração entra na chave para que quem chega depois
+    // de uma invalidação não receba o resultado de uma carga anterior a ela
+    private final SingleFlight<FlightKey, Optional<BeerDTO>> flights = new SingleFlight<>();
+
+    @Autowired
+    public BeerNameCache(@Value("${beerstock.cache.by-name.maximum-size:10000}") long maximumSize,
+                         @Value("${beerstock.cache.by-name.expire-after-write:60s}") Duration expireAfterWrite,
+                         @Value("${beerstock.cache.by-name.cache-misses:true}") boolean cacheMisses) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        this.cacheMisses = cacheMisses;
+    }
+
+    // O BeerDTO é mutável: o cache guarda a própria cópia e cada chamador recebe outra, que pode alterar à vontade
+    public Optional<BeerDTO> get(String name, Function<String, Optional<BeerDTO>> loader) {
+        Optional<BeerDTO> cached = cache.getIfPresent(name);
+        if (cached != null) return copy(cached);
+
+        int stripe = stripe(name);
+        long generation = invalidations.get(stripe);
+        return copy(flights.execute(new FlightKey(name, generation), () -> {
+            // A carga anterior pode ter terminado entre o getIfPresent e a entrada no voo
+            Optional<BeerDTO> stored = cache.policy().getIfPresentQuietly(name);
+            if (stored != null && generation == invalidations.get(stripe)) return stored;
+            Optional<BeerDTO> loaded = loader.apply(name);
+            store(name, loaded, generation);
+            return loaded;
+        }));
+    }
+
+    // Mesma regra do get, com a carga composta na Mono em vez de bloquear a thread; faltas simultâneas
+    // entram no mesmo voo que as do get
+    public Mono<Optional<BeerDTO>> getAsync(String name, Function<String, Mono<Optional<BeerDTO>>> loader) {
+        return Mono.defer(() -> {
+            Optional<BeerDTO> cached = cache.getIfPresent(name);
+            if (cached != null) return Mono.just(copy(cached));
+
+            int stripe = stripe(name);
+            long generation = invalidations.get(stripe);
+            return Mono.fromFuture(flights.executeAsync(new FlightKey(name, generation), () -> {
+                Optional<BeerDTO> stored = cache.policy().getIfPresentQuietly(name);
+                if (stored != null && generation == invalidations.get(stripe)) return CompletableFuture.completedFuture(stored);
+                return loader.apply(name).doOnNext(loaded -> store(name, loaded, generation)).toFuture();
+            })).map(BeerNameCache::copy);
+        });
+    }
+
+    private void store(String name, Optional<BeerDTO> loaded, long generation) {
+        if ((loaded.isPresent() || cacheMisses) && generation == invalidations.get(stripe(name))) {
+            cache.put(name, copy(loaded));
+        }
+    }
+
+    private static Optional<BeerDTO> copy(Optional<BeerDTO> beer) {
+        return beer.map(b -> b.toBuilder().build());
+    }
+
+    // Dentro de uma transação a invalidação só acontece depois do commit, senão é imediata
+    public void invalidate(String name) {
+        int stripe = stripe(name);
+        invalidations.incrementAndGet(stripe);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidations.incrementAndGet(stripe);
+                    cache.invalidate(name);
+                }
+            });
+        } else {
+            cache.invalidate(name);
+        }
+    }
+
+    static int stripe(String name) {
+        int h = name.hashCode();
+        return (h ^ (h >>> 16)) & (GENERATION_STRIPES - 1);
+    }
+
+    public CacheStatsDTO stats() {
+        cache.cleanUp();
+        CacheStats stats = cache.stats();
+        return CacheStatsDTO.builder()
+                .size(cache.estimatedSize())
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .hitRate(stats.hitRate())
+                .evictionCount(stats.evictionCount())
+                .loadCount(flights.executions())
+                .coalescedCount(flights.coalesced())
+                .build();
+    }
+
+    // Razão de coalescência = coalesced / (loaded + coalesced)
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder(LOOKUPS, flights, SingleFlight::executions)
+                .description("Faltas no cache por nome: consultas feitas e chamadas que aproveitaram uma em andamento")
+                .tag("result", "loaded")
+                .register(registry);
+        FunctionCounter.builder(LOOKUPS, flights, SingleFlight::coalesced)
+                .description("Faltas no cache por nome: consultas feitas e chamadas que aproveitaram uma em andamento")
+                .tag("result", "coalesced")
+                .register(registry);
+    }
+
+    private static final class FlightKey {
+        private final String name;
+        private final long generation;
+
+        private FlightKey(String name, long generation) {
+            this.name = name;
+            this.generation = generation;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof FlightKey)) return false;
+            FlightKey other = (FlightKey) o;
+            return generation == other.generation && name.equals(other.name);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(name, generation);
+        }
+    }
+}
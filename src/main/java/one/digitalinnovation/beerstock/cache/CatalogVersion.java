@@ -0,0 +1,70 @@
+package one.digitalinnovation.beerstock.cache;
+
+import one.digitalinnovation.beerstock.datasource.RoutingDataSource;
+import one.digitalinnovation.beerstock.feed.BeerChangedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+// Versão do catálogo (epoch por inicialização + contador local), incrementada depois de cada commit.
+// Com réplica, o ETag é o da última versão com mais de etag-settle de idade, que a réplica já tem
+@Component
+public class CatalogVersion {
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong version = new AtomicLong();
+    private final long settleNanos;
+    private final LongSupplier clock;
+    // Versões ainda dentro do etag-settle, em ordem: {versão, instante da alteração}
+    private final Deque<long[]> settling = new ArrayDeque<>();
+    private long settled;
+
+    @Autowired
+    public CatalogVersion(@Value("${beerstock.catalog.etag-settle:PT0S}") Duration settle) {
+        this(settle, System::nanoTime);
+    }
+
+    CatalogVersion(Duration settle, LongSupplier clock) {
+        this.settleNanos = settle.toNanos();
+        this.clock = clock;
+    }
+
+    // Após o commit: quem lê a versão antiga pode ver dados novos (só perde um 304), nunca o contrário
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChange(BeerChangedEvent event) {
+        synchronized (settling) {
+            long now = clock.getAsLong();
+            settling.addLast(new long[]{version.incrementAndGet(), now});
+            settle(now);
+        }
+    }
+
+    public long current() {
+        return version.get();
+    }
+
+    // Leitura forçada no primário (leia-suas-escritas) vê tudo: usa a versão atual
+    public String etag() {
+        return epoch + "-" + (RoutingDataSource.primaryRequired() ? version.get() : settledVersion());
+    }
+
+    long settledVersion() {
+        synchronized (settling) {
+            settle(clock.getAsLong());
+            return settled;
+        }
+    }
+
+    private void settle(long now) {
+        while (!settling.isEmpty() && now - settling.peekFirst()[1] >= settleNanos) {
+            settled = settling.pollFirst()[0];
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package one.digitalinnovation.beerstock.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import one.digitalinnovation.beerstock.admission.AdmissionInterceptor;
+import one.digitalinnovation.beerstock.admission.ClientIdentity;
+import one.digitalinnovation.beerstock.admission.ConcurrencyLimiter;
+import one.digitalinnovation.beerstock.admission.RateLimiter;
+import one.digitalinnovation.beerstock.enums.RequestBudget;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+import java.util.Map;
+
+// Admissão por cliente e global nas rotas de cerveja e reserva, antes dos outros interceptors; o SSE fica de fora
+@Configuration
+@Profile("!reactive")
+@ConditionalOnProperty(prefix = "beerstock.admission", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class AdmissionConfig implements WebMvcConfigurer {
+
+    private final AdmissionInterceptor admissionInterceptor;
+
+    public AdmissionConfig(MeterRegistry registry, ClientIdentity clientIdentity,
+                           @Value("${beerstock.admission.client-idle:PT10M}") Duration clientIdle,
+                           @Value("${beerstock.admission.max-clients:100000}") long maxClients,
+                           @Value("${beerstock.admission.stripes:8}") int stripes,
+                           @Value("${beerstock.admission.overload-retry-after:PT1S}") Duration overloadRetryAfter,
+                           @Value("${beerstock.admission.read.rate:1000}") double readRate,
+                           @Value("${beerstock.admission.read.burst:2000}") int readBurst,
+                           @Value("${beerstock.admission.read.max-concurrent:40}") int readMaxConcurrent,
+                           @Value("${beerstock.admission.write.rate:200}") double writeRate,
+                           @Value("${beerstock.admission.write.burst:400}") int writeBurst,
+                           @Value("${beerstock.admission.write.max-concurrent:20}") int writeMaxConcurrent,
+                           @Value("${beerstock.admission.export.rate:0.1}") double exportRate,
+                           @Value("${beerstock.admission.export.burst:2}") int exportBurst,
+                           @Value("${beerstock.admission.export.max-concurrent:4}") int exportMaxConcurrent) {
+        this.admissionInterceptor = new AdmissionInterceptor(clientIdentity, overloadRetryAfter, registry,
+                Map.of(RequestBudget.READ, new RateLimiter(readRate, readBurst, clientIdle, maxClients),
+                        RequestBudget.WRITE, new RateLimiter(writeRate, writeBurst, clientIdle, maxClients),
+                        RequestBudget.EXPORT, new RateLimiter(exportRate, exportBurst, clientIdle, maxClients)),
+                Map.of(RequestBudget.READ, new ConcurrencyLimiter(readMaxConcurrent, stripes),
+                        RequestBudget.WRITE, new ConcurrencyLimiter(writeMaxConcurrent, stripes),
+                        RequestBudget.EXPORT, new ConcurrencyLimiter(exportMaxConcurrent, stripes)));
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(admissionInterceptor)
+                .addPathPatterns("/api/v1/beers", "/api/v1/beers/**", "/api/v1/reservations", "/api/v1/reservations/**")
+                .excludePathPatterns("/api/v1/beers/events")
+                .order(Ordered.HIGHEST_PRECEDENCE);
+    }
+}
@@ -0,0 +1,79 @@
+package one.digitalinnovation.beerstock.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import one.digitalinnovation.beerstock.datasource.DataSourceRole;
+import one.digitalinnovation.beerstock.datasource.ReadYourWritesInterceptor;
+import one.digitalinnovation.beerstock.datasource.ReplicaPosition;
+import one.digitalinnovation.beerstock.datasource.RoutingDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+
+// Com beerstock.datasource.replica.url, o DataSource vira o roteamento primário/réplica (um pool Hikari cada)
+@Configuration
+@Profile("!reactive")
+@ConditionalOnProperty(prefix = "beerstock.datasource.replica", name = "url")
+public class ReplicaDataSourceConfig implements WebMvcConfigurer {
+
+    private final ReplicaPosition replicaPosition;
+
+    public ReplicaDataSourceConfig(@Value("${beerstock.datasource.replica.max-lag:PT5S}") Duration maxLag) {
+        this.replicaPosition = new ReplicaPosition(maxLag);
+    }
+
+    // Alimentada por quem replica (LocalReplicaSync); sem ela o atraso é desconhecido e tudo lê do primário
+    @Bean
+    public ReplicaPosition replicaPosition() {
+        return replicaPosition;
+    }
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        primary.setPoolName("primary");
+        return primary;
+    }
+
+    @Bean
+    @ConfigurationProperties("beerstock.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(@Value("${beerstock.datasource.replica.url}") String url,
+                                              @Value("${beerstock.datasource.replica.username:}") String username,
+                                              @Value("${beerstock.datasource.replica.password:}") String password) {
+        HikariDataSource replica = DataSourceBuilder.create().type(HikariDataSource.class)
+                .url(url).username(username).password(password).build();
+        replica.setPoolName("replica");
+        replica.setReadOnly(true);
+        return replica;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica) {
+        RoutingDataSource routing = new RoutingDataSource();
+        routing.setTargetDataSources(Map.of(DataSourceRole.PRIMARY, primary, DataSourceRole.REPLICA, replica));
+        routing.setDefaultTargetDataSource(primary);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ReadYourWritesInterceptor(replicaPosition));
+    }
+}
@@ -0,0 +1,25 @@
+package one.digitalinnovation.beerstock.config;
+
+import one.digitalinnovation.beerstock.aggregate.StockAggregates;
+import one.digitalinnovation.beerstock.alert.LowStockAlertEngine;
+import one.digitalinnovation.beerstock.datasource.LocalReplicaSync;
+import one.digitalinnovation.beerstock.feed.BeerChangeFeed;
+import one.digitalinnovation.beerstock.metrics.BeerStockMetrics;
+import one.digitalinnovation.beerstock.service.ReservationService;
+import one.digitalinnovation.beerstock.service.StockLedgerService;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Beans ansiosos mesmo com lazy-initialization: @Scheduled e medidores registrados desde o início,
+// e os agregados carregados antes do primeiro evento (senão contariam a alteração duas vezes)
+@Configuration
+public class StartupConfig {
+
+    @Bean
+    public static LazyInitializationExcludeFilter eagerBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(StockAggregates.class, StockLedgerService.class,
+                BeerChangeFeed.class, LowStockAlertEngine.class, BeerStockMetrics.class, LocalReplicaSync.class,
+                ReservationService.class);
+    }
+}
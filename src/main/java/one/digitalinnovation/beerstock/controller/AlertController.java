@@ -0,0 +1,50 @@
+package one.digitalinnovation.beerstock.controller;
+
+import one.digitalinnovation.beerstock.alert.LowStockAlertEngine;
+import one.digitalinnovation.beerstock.dto.AlertRuleDTO;
+import one.digitalinnovation.beerstock.dto.LowStockAlertDTO;
+import one.digitalinnovation.beerstock.enums.AlertScope;
+import one.digitalinnovation.beerstock.enums.BeerType;
+import one.digitalinnovation.beerstock.exception.InvalidAlertRuleException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+import javax.validation.Valid;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/alerts")
+public class AlertController {
+
+    private final LowStockAlertEngine alertEngine;
+
+    @Autowired
+    public AlertController(LowStockAlertEngine alertEngine) {
+        this.alertEngine = alertEngine;
+    }
+
+    // Lido da memória do engine, sem consulta ao banco
+    @GetMapping
+    public List<LowStockAlertDTO> activeAlerts() {
+        return alertEngine.activeAlerts();
+    }
+
+    @GetMapping("/rules")
+    public List<AlertRuleDTO> rules() {
+        return alertEngine.rules();
+    }
+
+    @PutMapping("/rules")
+    public AlertRuleDTO putRule(@RequestBody @Valid AlertRuleDTO alertRuleDTO) throws InvalidAlertRuleException {
+        return alertEngine.putRule(alertRuleDTO);
+    }
+
+    @DeleteMapping("/rules")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void removeRule(@RequestParam AlertScope scope,
+                           @RequestParam(required = false) BeerType type,
+                           @RequestParam(required = false) Long beerId) throws InvalidAlertRuleException {
+        alertEngine.removeRule(scope, type, beerId);
+    }
+}
@@ -1,26 +1,82 @@
 package one.digitalinnovation.beerstock.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import one.digitalinnovation.beerstock.admission.ClientIdentity;
+import one.digitalinnovation.beerstock.cache.CatalogVersion;
+import one.digitalinnovation.beerstock.dto.BeerBatchDTO;
 import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.dto.BeerPageDTO;
+import one.digitalinnovation.beerstock.dto.BeerSearchDTO;
+import one.digitalinnovation.beerstock.dto.CacheStatsDTO;
 import one.digitalinnovation.beerstock.dto.QuantityDTO;
+import one.digitalinnovation.beerstock.dto.StockAdjustmentDTO;
+import one.digitalinnovation.beerstock.dto.StockAdjustmentResultDTO;
+import one.digitalinnovation.beerstock.dto.StockBatchDTO;
+import one.digitalinnovation.beerstock.enums.BeerType;
 import one.digitalinnovation.beerstock.exception.BeerAlreadyRegisteredException;
 import one.digitalinnovation.beerstock.exception.BeerNotFoundException;
 import one.digitalinnovation.beerstock.exception.BeerStockExceededException;
+import one.digitalinnovation.beerstock.exception.IdempotencyKeyReusedException;
+import one.digitalinnovation.beerstock.feed.BeerChangeFeed;
+import one.digitalinnovation.beerstock.idempotency.IdempotencyStore;
 import one.digitalinnovation.beerstock.service.BeerService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.validation.Valid;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/v1/beers")
 public class BeerController {
 
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String LAST_EVENT_ID_HEADER = "Last-Event-ID";
+
+    private static final Map<MediaType, String> FORMATS = new LinkedHashMap<>();
+
+    static {
+        FORMATS.put(MediaType.APPLICATION_JSON, "json");
+        FORMATS.put(MediaType.APPLICATION_CBOR, "cbor");
+        FORMATS.put(MediaType.parseMediaType("application/x-jackson-smile"), "smile");
+    }
+
     private final BeerService beerService;
+    private final ObjectMapper objectMapper;
+    private final IdempotencyStore idempotencyStore;
+    private final ClientIdentity clientIdentity;
+    private final BeerChangeFeed changeFeed;
+    private final CatalogVersion catalogVersion;
 
     @Autowired
-    public BeerController(BeerService beerService) { this.beerService = beerService; }
+    public BeerController(BeerService beerService, ObjectMapper objectMapper, IdempotencyStore idempotencyStore,
+                          ClientIdentity clientIdentity, BeerChangeFeed changeFeed, CatalogVersion catalogVersion) {
+        this.beerService = beerService;
+        this.objectMapper = objectMapper;
+        this.idempotencyStore = idempotencyStore;
+        this.clientIdentity = clientIdentity;
+        this.changeFeed = changeFeed;
+        this.catalogVersion = catalogVersion;
+    }
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
@@ -28,13 +84,97 @@ public class BeerController {
         return beerService.createBeer(beerDTO);
     }
 
+    @PostMapping("/batch")
+    @ResponseStatus(HttpStatus.CREATED)
+    public List<BeerDTO> createBeers(@RequestBody @Valid BeerBatchDTO beerBatchDTO) throws BeerAlreadyRegisteredException {
+        return beerService.createBeers(beerBatchDTO.getBeers());
+    }
+
+    @GetMapping("/cache/stats")
+    public CacheStatsDTO nameCacheStats() { return beerService.nameCacheStats(); }
+
+    // Sem filtro recebe tudo; ids e tipos informados restringem os eventos enviados
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter events(@RequestParam(name = "id", required = false) Set<Long> ids,
+                             @RequestParam(name = "type", required = false) Set<BeerType> types,
+                             @RequestHeader(name = LAST_EVENT_ID_HEADER, required = false) Long lastEventId) {
+        return changeFeed.subscribe(beer -> (ids == null || ids.contains(beer.getId()))
+                && (types == null || types.contains(beer.getType())), lastEventId);
+    }
+
+    // O DTO vem do cache por nome: um 304 não consulta o banco nem serializa nada
     @GetMapping("/{name}")
-    public BeerDTO findByName(@PathVariable String name) throws BeerNotFoundException {
-        return beerService.findByName(name);
+    public BeerDTO findByName(@PathVariable String name, WebRequest request) throws BeerNotFoundException {
+        BeerDTO beer = beerService.findByName(name);
+        return request.checkNotModified(etag(beer.getId() + "-" + beer.getVersion(), request)) ? null : beer;
     }
 
+    // A versão é lida antes da consulta, então a página nunca é mais antiga que o ETag enviado com ela
     @GetMapping
-    public List<BeerDTO> listAll() { return beerService.listAll(); }
+    public BeerPageDTO listAll(@RequestParam(required = false) Long after,
+                               @RequestParam(defaultValue = "50") int limit,
+                               WebRequest request) {
+        if (notModified(request)) return null;
+        return beerService.listAll(after, limit);
+    }
+
+    // Filtros por query string (type pode repetir); o ETag é o mesmo do catálogo
+    @GetMapping("/search")
+    public BeerPageDTO search(@Valid BeerSearchDTO search,
+                              @RequestParam(required = false) Long after,
+                              @RequestParam(defaultValue = "50") int limit,
+                              WebRequest request) {
+        if (notModified(request)) return null;
+        return beerService.search(search, after, limit);
+    }
+
+    private boolean notModified(WebRequest request) {
+        return request.checkNotModified(etag(catalogVersion.etag(), request));
+    }
+
+    // ETag forte por representação: JSON, CBOR e Smile da mesma versão são bytes diferentes, cada um com o seu.
+    // O formato é o que a negociação vai escolher (mesma ordem dos conversores: JSON primeiro)
+    private static String etag(String version, WebRequest request) {
+        return version + "-" + format(request.getHeader(HttpHeaders.ACCEPT));
+    }
+
+    private static String format(String accept) {
+        if (accept == null) return FORMATS.get(MediaType.APPLICATION_JSON);
+        List<MediaType> accepted;
+        try {
+            accepted = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return FORMATS.get(MediaType.APPLICATION_JSON);
+        }
+        MediaType.sortBySpecificityAndQuality(accepted);
+        for (MediaType type : accepted) {
+            if (type.getQualityValue() == 0) continue;
+            for (Map.Entry<MediaType, String> format : FORMATS.entrySet()) {
+                if (type.isCompatibleWith(format.getKey())) return format.getValue();
+            }
+        }
+        return FORMATS.get(MediaType.APPLICATION_JSON);
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportAll() {
+        ObjectWriter writer = objectMapper.writerFor(BeerDTO.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generator.setRootValueSeparator(null);
+                beerService.exportAll(dto -> {
+                    try {
+                        writer.writeValue(generator, dto);
+                        generator.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
 
     @DeleteMapping("/{id}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
@@ -43,12 +183,33 @@ public class BeerController {
     }
 
     @PatchMapping("/{id}/increment")
-    public BeerDTO increment(@PathVariable Long id, @RequestBody @Valid QuantityDTO quantityDTO) throws BeerNotFoundException, BeerStockExceededException {
-        return beerService.increment(id, quantityDTO.getQuantity());
+    public BeerDTO increment(@PathVariable Long id, @RequestBody @Valid QuantityDTO quantityDTO,
+                             @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+                             HttpServletRequest request)
+            throws BeerNotFoundException, BeerStockExceededException, IdempotencyKeyReusedException {
+        int qty = quantityDTO.getQuantity();
+        return idempotencyStore.execute(clientIdentity.of(request), idempotencyKey, List.of("increment", id, qty),
+                () -> beerService.increment(id, qty));
     }
 
     @PatchMapping("/{id}/decrement")
-    public BeerDTO decrement(@PathVariable Long id, @RequestBody @Valid QuantityDTO quantityDTO) throws BeerNotFoundException, BeerStockExceededException {
-        return beerService.decrement(id, quantityDTO.getQuantity());
+    public BeerDTO decrement(@PathVariable Long id, @RequestBody @Valid QuantityDTO quantityDTO,
+                             @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+                             HttpServletRequest request)
+            throws BeerNotFoundException, BeerStockExceededException, IdempotencyKeyReusedException {
+        int qty = quantityDTO.getQuantity();
+        return idempotencyStore.execute(clientIdentity.of(request), idempotencyKey, List.of("decrement", id, qty),
+                () -> beerService.decrement(id, qty));
+    }
+
+    @PatchMapping("/stock")
+    public List<StockAdjustmentResultDTO> adjustStock(@RequestBody @Valid StockBatchDTO stockBatchDTO,
+                                                      @RequestParam(defaultValue = "true") boolean atomic,
+                                                      @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+                                                      HttpServletRequest request)
+            throws BeerNotFoundException, BeerStockExceededException, IdempotencyKeyReusedException {
+        List<StockAdjustmentDTO> adjustments = stockBatchDTO.getAdjustments();
+        return idempotencyStore.execute(clientIdentity.of(request), idempotencyKey, List.of("stock", atomic, adjustments),
+                () -> beerService.adjustStock(adjustments, atomic));
     }
 }
@@ -0,0 +1,54 @@
+package one.digitalinnovation.beerstock.controller;
+
+import one.digitalinnovation.beerstock.dto.ImportJobDTO;
+import one.digitalinnovation.beerstock.exception.ImportJobNotFoundException;
+import one.digitalinnovation.beerstock.exception.ImportQueueFullException;
+import one.digitalinnovation.beerstock.exception.InvalidImportFileException;
+import one.digitalinnovation.beerstock.importer.BeerImporter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.IOException;
+
+@RestController
+@Profile("!reactive")
+@RequestMapping("/api/v1/beers/import")
+public class BeerImportController {
+
+    private final BeerImporter beerImporter;
+
+    @Autowired
+    public BeerImportController(BeerImporter beerImporter) {
+        this.beerImporter = beerImporter;
+    }
+
+    // 202 com o job: a importação segue em segundo plano e o progresso é lido no Location
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ImportJobDTO> importCsv(@RequestParam("file") MultipartFile file)
+            throws IOException, InvalidImportFileException, ImportQueueFullException {
+        ImportJobDTO job = beerImporter.start(file);
+        return ResponseEntity.accepted()
+                .location(ServletUriComponentsBuilder.fromCurrentRequest().path("/{id}").buildAndExpand(job.getId()).toUri())
+                .body(job);
+    }
+
+    @GetMapping("/{id}")
+    public ImportJobDTO findJob(@PathVariable String id) throws ImportJobNotFoundException {
+        return beerImporter.find(id);
+    }
+
+    // Fila de jobs cheia: 503 com Retry-After, como na recusa do controle de admissão
+    @ExceptionHandler(ImportQueueFullException.class)
+    public ResponseEntity<Void> importQueueFull(ImportQueueFullException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(e.getRetryAfterSeconds()))
+                .build();
+    }
+}
@@ -0,0 +1,51 @@
+package one.digitalinnovation.beerstock.controller;
+
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.dto.ReservationDTO;
+import one.digitalinnovation.beerstock.exception.BeerNotFoundException;
+import one.digitalinnovation.beerstock.exception.InsufficientStockException;
+import one.digitalinnovation.beerstock.exception.ReservationNotFoundException;
+import one.digitalinnovation.beerstock.service.ReservationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+import javax.validation.Valid;
+
+@RestController
+@Profile("!reactive")
+@RequestMapping("/api/v1/reservations")
+public class ReservationController {
+
+    private final ReservationService reservationService;
+
+    @Autowired
+    public ReservationController(ReservationService reservationService) {
+        this.reservationService = reservationService;
+    }
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public ReservationDTO reserve(@RequestBody @Valid ReservationDTO reservationDTO)
+            throws BeerNotFoundException, InsufficientStockException {
+        return reservationService.reserve(reservationDTO);
+    }
+
+    @GetMapping("/{id}")
+    public ReservationDTO findById(@PathVariable Long id) throws ReservationNotFoundException {
+        return reservationService.findById(id);
+    }
+
+    // Baixa as unidades reservadas do estoque e devolve a cerveja atualizada
+    @PostMapping("/{id}/commit")
+    public BeerDTO commit(@PathVariable Long id) throws ReservationNotFoundException, BeerNotFoundException {
+        return reservationService.commit(id);
+    }
+
+    @DeleteMapping("/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void release(@PathVariable Long id) throws ReservationNotFoundException {
+        reservationService.release(id);
+    }
+}
@@ -0,0 +1,35 @@
+package one.digitalinnovation.beerstock.controller;
+
+import one.digitalinnovation.beerstock.aggregate.StockAggregates;
+import one.digitalinnovation.beerstock.dto.AggregateReconciliationDTO;
+import one.digitalinnovation.beerstock.dto.StockAggregatesDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@Profile("!reactive")
+@RequestMapping("/api/v1/beers/aggregates")
+public class StockAggregateController {
+
+    private final StockAggregates stockAggregates;
+
+    @Autowired
+    public StockAggregateController(StockAggregates stockAggregates) { this.stockAggregates = stockAggregates; }
+
+    @GetMapping
+    public StockAggregatesDTO aggregates() {
+        return stockAggregates.aggregates();
+    }
+
+    // GET só compara com o recálculo; POST também substitui os totais em memória quando divergem
+    @GetMapping("/reconciliation")
+    public AggregateReconciliationDTO check() {
+        return stockAggregates.reconcile(false);
+    }
+
+    @PostMapping("/reconciliation")
+    public AggregateReconciliationDTO repair() {
+        return stockAggregates.reconcile(true);
+    }
+}
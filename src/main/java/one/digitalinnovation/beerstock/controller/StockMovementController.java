@@ -0,0 +1,31 @@
+package one.digitalinnovation.beerstock.controller;
+
+import one.digitalinnovation.beerstock.dto.StockHistoryDTO;
+import one.digitalinnovation.beerstock.exception.BeerNotFoundException;
+import one.digitalinnovation.beerstock.service.StockLedgerService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Instant;
+
+@RestController
+@Profile("!reactive")
+@RequestMapping("/api/v1/beers/{id}/movements")
+public class StockMovementController {
+
+    private final StockLedgerService ledgerService;
+
+    @Autowired
+    public StockMovementController(StockLedgerService ledgerService) { this.ledgerService = ledgerService; }
+
+    @GetMapping
+    public StockHistoryDTO history(@PathVariable Long id,
+                                   @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+                                   @RequestParam(defaultValue = "0") long afterId,
+                                   @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+                                   @RequestParam(defaultValue = "100") int limit) throws BeerNotFoundException {
+        return ledgerService.history(id, from == null ? Instant.EPOCH : from, afterId, to == null ? Instant.now() : to, limit);
+    }
+}
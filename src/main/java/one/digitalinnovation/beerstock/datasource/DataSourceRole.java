@@ -0,0 +1,6 @@
+package one.digitalinnovation.beerstock.datasource;
+
+public enum DataSourceRole {
+    PRIMARY,
+    REPLICA
+}
@@ -0,0 +1,78 @@
+package one.digitalinnovation.beerstock.datasource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+// Replicação de mentira entre dois H2 locais (perfil replica): cópia inteira a cada sync-interval. Não é para produção
+@Component
+@Profile("replica")
+public class LocalReplicaSync {
+
+    static final List<String> TABLES = List.of("BEER", "STOCK_MOVEMENT", "STOCK_SNAPSHOT", "STOCK_RESERVATION");
+
+    private final JdbcTemplate replica;
+    private final TransactionTemplate transaction;
+    private final String primaryUrl;
+    private final String primaryUsername;
+    private final String primaryPassword;
+    private final ObjectProvider<ReplicaPosition> position;
+    private volatile boolean linked;
+
+    @Autowired
+    public LocalReplicaSync(@Value("${beerstock.datasource.replica.url}") String replicaUrl,
+                            @Value("${beerstock.datasource.replica.username:}") String replicaUsername,
+                            @Value("${beerstock.datasource.replica.password:}") String replicaPassword,
+                            @Value("${spring.datasource.url}") String primaryUrl,
+                            @Value("${spring.datasource.username:}") String primaryUsername,
+                            @Value("${spring.datasource.password:}") String primaryPassword,
+                            ObjectProvider<ReplicaPosition> position) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(replicaUrl, replicaUsername, replicaPassword);
+        this.replica = new JdbcTemplate(dataSource);
+        this.transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        this.primaryUrl = primaryUrl;
+        this.primaryUsername = primaryUsername;
+        this.primaryPassword = primaryPassword;
+        this.position = position;
+    }
+
+    // Cada tabela é trocada dentro de uma transação: a réplica fica atrasada, mas nunca pela metade.
+    // O ponto é lido antes da cópia e só publicado depois do commit, então a posição nunca promete o que a réplica não tem
+    @Scheduled(fixedDelayString = "${beerstock.datasource.replica.sync-interval:PT2S}")
+    public void sync() {
+        if (!linked) link();
+        ReplicaPosition replicaPosition = position.getIfAvailable();
+        long point = replicaPosition == null ? 0 : replicaPosition.consistentPoint();
+        transaction.executeWithoutResult(status -> {
+            for (String table : TABLES) {
+                replica.update("DELETE FROM " + table);
+                replica.update("INSERT INTO " + table + " SELECT * FROM PRIMARY_" + table);
+            }
+        });
+        if (replicaPosition != null) replicaPosition.applied(point);
+    }
+
+    // O schema do primário é criado pelo Hibernate; a réplica copia só a estrutura das colunas
+    private synchronized void link() {
+        if (linked) return;
+        for (String table : TABLES) {
+            replica.execute(String.format("CREATE LINKED TABLE IF NOT EXISTS PRIMARY_%s('org.h2.Driver', %s, %s, %s, '%s') READONLY",
+                    table, literal(primaryUrl), literal(primaryUsername), literal(primaryPassword), table));
+            replica.execute(String.format("CREATE TABLE IF NOT EXISTS %s AS SELECT * FROM PRIMARY_%s WITH NO DATA", table, table));
+        }
+        linked = true;
+    }
+
+    private static String literal(String value) {
+        return "'" + value.replace("'", "''") + "'";
+    }
+}
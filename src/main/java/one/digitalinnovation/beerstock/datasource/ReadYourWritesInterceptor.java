@@ -0,0 +1,64 @@
+package one.digitalinnovation.beerstock.datasource;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+// Leia-suas-escritas sem estado por cliente: escritas respondem com X-Last-Write e a leitura só vai para a réplica
+// quando a posição aplicada já passou dele e o atraso medido está dentro de max-lag. Atraso desconhecido: primário
+public class ReadYourWritesInterceptor implements AsyncHandlerInterceptor {
+
+    public static final String LAST_WRITE_HEADER = "X-Last-Write";
+
+    private static final String WRITE_STAMP = ReadYourWritesInterceptor.class.getName() + ".WRITE_STAMP";
+
+    private final ReplicaPosition position;
+
+    public ReadYourWritesInterceptor(ReplicaPosition position) {
+        this.position = position;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // O dispatch assíncrono passa de novo aqui: a escrita já está registrada
+        if (isWrite(request.getMethod()) && request.getAttribute(WRITE_STAMP) == null) {
+            long stamp = position.beginWrite();
+            request.setAttribute(WRITE_STAMP, stamp);
+            response.setHeader(LAST_WRITE_HEADER, Long.toString(stamp));
+        }
+        RoutingDataSource.requirePrimary(!position.covers(lastWrite(request)));
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        RoutingDataSource.requirePrimary(false);
+        Object stamp = request.getAttribute(WRITE_STAMP);
+        if (stamp != null) {
+            request.removeAttribute(WRITE_STAMP);
+            position.endWrite((Long) stamp);
+        }
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        RoutingDataSource.requirePrimary(false);
+    }
+
+    private static boolean isWrite(String method) {
+        return !(HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method) || HttpMethod.OPTIONS.matches(method));
+    }
+
+    // Cabeçalho ausente ou inválido: o cliente não escreveu nada recente
+    private static long lastWrite(HttpServletRequest request) {
+        String header = request.getHeader(LAST_WRITE_HEADER);
+        if (header == null) return Long.MIN_VALUE / 2;
+        try {
+            return Long.parseLong(header.trim());
+        } catch (NumberFormatException e) {
+            return Long.MIN_VALUE / 2;
+        }
+    }
+}
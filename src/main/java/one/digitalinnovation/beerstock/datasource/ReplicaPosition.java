@@ -0,0 +1,58 @@
+package one.digitalinnovation.beerstock.datasource;
+
+import java.time.Duration;
+import java.util.TreeMap;
+import java.util.function.LongSupplier;
+
+// Posição aplicada da réplica, em milissegundos do primário: toda escrita com carimbo (X-Last-Write) menor já está nela.
+// Quem replica chama consistentPoint() antes de copiar e applied(...) depois do commit; sem isso a posição é desconhecida
+public class ReplicaPosition {
+
+    static final long UNKNOWN = Long.MIN_VALUE;
+
+    private final long maxLagMillis;
+    private final LongSupplier clock;
+    // Escritas em andamento por carimbo; synchronized para carimbo e registro serem atômicos frente ao consistentPoint()
+    private final TreeMap<Long, Integer> inFlight = new TreeMap<>();
+    private volatile long applied = UNKNOWN;
+
+    public ReplicaPosition(Duration maxLag) {
+        this(maxLag, System::currentTimeMillis);
+    }
+
+    ReplicaPosition(Duration maxLag, LongSupplier clock) {
+        this.maxLagMillis = maxLag.toMillis();
+        this.clock = clock;
+    }
+
+    public synchronized long beginWrite() {
+        long stamp = clock.getAsLong();
+        inFlight.merge(stamp, 1, Integer::sum);
+        return stamp;
+    }
+
+    public synchronized void endWrite(long stamp) {
+        inFlight.computeIfPresent(stamp, (key, count) -> count == 1 ? null : count - 1);
+    }
+
+    // Tudo que começou antes do ponto já terminou (e fez commit); uma escrita em andamento segura o ponto no seu carimbo
+    public synchronized long consistentPoint() {
+        long now = clock.getAsLong();
+        return inFlight.isEmpty() ? now : Math.min(now, inFlight.firstKey());
+    }
+
+    public void applied(long position) {
+        if (position > applied) applied = position;
+    }
+
+    // Atraso medido: desconhecido enquanto nenhuma cópia terminou
+    public long lagMillis() {
+        long position = applied;
+        return position == UNKNOWN ? Long.MAX_VALUE : Math.max(0, clock.getAsLong() - position);
+    }
+
+    // A réplica serve a leitura se já aplicou a última escrita do cliente e não está mais de max-lag atrás
+    public boolean covers(long lastWrite) {
+        return lagMillis() <= maxLagMillis && lastWrite < applied;
+    }
+}
@@ -0,0 +1,39 @@
+package one.digitalinnovation.beerstock.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Supplier;
+
+// Transações readOnly vão para a réplica, o resto para o primário; precisa do LazyConnectionDataSourceProxy na frente.
+// primary(...) força o primário na thread atual
+public class RoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final ThreadLocal<Boolean> PRIMARY_REQUIRED = new ThreadLocal<>();
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() && !primaryRequired()
+                ? DataSourceRole.REPLICA
+                : DataSourceRole.PRIMARY;
+    }
+
+    public static boolean primaryRequired() {
+        return PRIMARY_REQUIRED.get() != null;
+    }
+
+    public static <T> T primary(Supplier<T> work) {
+        if (primaryRequired()) return work.get();
+        PRIMARY_REQUIRED.set(Boolean.TRUE);
+        try {
+            return work.get();
+        } finally {
+            PRIMARY_REQUIRED.remove();
+        }
+    }
+
+    static void requirePrimary(boolean required) {
+        if (required) PRIMARY_REQUIRED.set(Boolean.TRUE);
+        else PRIMARY_REQUIRED.remove();
+    }
+}
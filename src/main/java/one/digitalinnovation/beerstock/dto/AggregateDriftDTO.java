@@ -0,0 +1,13 @@
+package one.digitalinnovation.beerstock.dto;
+
+import lombok.*;
+
+// expected vem do recálculo no banco, actual da memória; um lado nulo = grupo ausente
+@Data @Builder
+@NoArgsConstructor @AllArgsConstructor
+public class AggregateDriftDTO {
+    private String dimension;
+    private String group;
+    private StockAggregateDTO expected;
+    private StockAggregateDTO actual;
+}
@@ -0,0 +1,12 @@
+package one.digitalinnovation.beerstock.dto;
+
+import lombok.*;
+import java.util.List;
+
+@Data @Builder
+@NoArgsConstructor @AllArgsConstructor
+public class AggregateReconciliationDTO {
+    private boolean consistent;
+    private boolean repaired;
+    private List<AggregateDriftDTO> drift;
+}
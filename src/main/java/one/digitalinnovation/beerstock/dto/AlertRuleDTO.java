@@ -0,0 +1,18 @@
+package one.digitalinnovation.beerstock.dto;
+
+import lombok.*;
+import one.digitalinnovation.beerstock.enums.AlertScope;
+import one.digitalinnovation.beerstock.enums.BeerType;
+import javax.validation.constraints.DecimalMax;
+import javax.validation.constraints.DecimalMin;
+import javax.validation.constraints.NotNull;
+
+// threshold é a fração de max: o alerta dispara quando quantity <= threshold * max
+@Data @Builder
+@NoArgsConstructor @AllArgsConstructor
+public class AlertRuleDTO {
+    @NotNull private AlertScope scope;
+    private BeerType type;
+    private Long beerId;
+    @NotNull @DecimalMin("0.0") @DecimalMax("1.0") private Double threshold;
+}
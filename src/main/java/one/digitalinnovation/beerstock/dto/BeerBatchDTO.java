@@ -0,0 +1,14 @@
+package one.digitalinnovation.beerstock.dto;
+
+import lombok.*;
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+@Data @Builder
+@NoArgsConstructor @AllArgsConstructor
+public class BeerBatchDTO {
+    @NotEmpty @Size(max = 10000) private List<@Valid @NotNull BeerDTO> beers;
+}
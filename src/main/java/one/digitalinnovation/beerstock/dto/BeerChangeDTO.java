@@ -0,0 +1,15 @@
+package one.digitalinnovation.beerstock.dto;
+
+import lombok.*;
+import one.digitalinnovation.beerstock.enums.ChangeType;
+
+@Data @Builder
+@NoArgsConstructor @AllArgsConstructor
+public class BeerChangeDTO {
+    private Long sequence;
+    private ChangeType type;
+    private Integer delta;
+    // Só no IMPORTED, que não traz beer: quantas cervejas o bloco cadastrou
+    private Integer count;
+    private BeerDTO beer;
+}
@@ -1,18 +1,28 @@
 package one.digitalinnovation.beerstock.dto;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.*;
 import one.digitalinnovation.beerstock.enums.BeerType; 
 import javax.validation.constraints.Max;
 import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Pattern;
 import javax.validation.constraints.Size;
 
-@Data @Builder
+@Data @Builder(toBuilder = true)
 @NoArgsConstructor @AllArgsConstructor
 public class BeerDTO {
     private Long id;
-    @NotNull @Size(min = 1, max = 200) private String name;
+    // GET /api/v1/beers/{name} perderia para as rotas fixas de mesmo nome: esses nomes não são aceitos
+    @NotNull @Size(min = 1, max = 200)
+    @Pattern(regexp = "(?is)(?!\\s*(events|search|export|aggregates)\\s*$).*", message = "must not be a reserved route name")
+    private String name;
     @NotNull @Size(min = 1, max = 200) private String brand;
     @NotNull @Max(500) private Integer max;
     @NotNull @Max(100) private Integer quantity;
     @NotNull private BeerType type;
+    // Soma das reservas ativas (disponível = quantity - reserved); o mapper ignora o valor de entrada,
+    // só a API de reservas o altera
+    private Integer reserved;
+    // Gerada pelo banco; é a base do ETag e não é aceita na entrada
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY) private Long version;
 }
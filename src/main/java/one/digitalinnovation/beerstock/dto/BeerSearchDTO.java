@@ -0,0 +1,32 @@
+package one.digitalinnovation.beerstock.dto;
+
+import lombok.*;
+import one.digitalinnovation.beerstock.enums.BeerType;
+import javax.validation.constraints.AssertTrue;
+import javax.validation.constraints.DecimalMax;
+import javax.validation.constraints.DecimalMin;
+import javax.validation.constraints.PositiveOrZero;
+import java.util.Set;
+
+// Filtros da busca; campos nulos não restringem nada. fillRatio = quantity / max, entre 0 e 1
+@Data @Builder
+@NoArgsConstructor @AllArgsConstructor
+public class BeerSearchDTO {
+    private Set<BeerType> type;
+    private String brand;
+    @PositiveOrZero private Integer minQuantity;
+    @PositiveOrZero private Integer maxQuantity;
+    @DecimalMin("0.0") @DecimalMax("1.0") private Double minFillRatio;
+    @DecimalMin("0.0") @DecimalMax("1.0") private Double maxFillRatio;
+
+    // Faixa invertida daria sempre página vazia: melhor um 400
+    @AssertTrue(message = "minQuantity must not be greater than maxQuantity")
+    public boolean isQuantityRangeValid() {
+        return minQuantity == null || maxQuantity == null || minQuantity <= maxQuantity;
+    }
+
+    @AssertTrue(message = "minFillRatio must not be greater than maxFillRatio")
+    public boolean isFillRatioRangeValid() {
+        return minFillRatio == null || maxFillRatio == null || minFillRatio <= maxFillRatio;
+    }
+}
@@ -0,0 +1,16 @@
+package one.digitalinnovation.beerstock.dto;
+
+import lombok.*;
+
+@Data @Builder
+@NoArgsConstructor @AllArgsConstructor
+public class CacheStatsDTO {
+    private long size;
+    private long hitCount;
+    private long missCount;
+    private double hitRate;
+    private long evictionCount;
+    // Faltas que consultaram o banco e faltas que esperaram uma consulta igual já em andamento
+    private long loadCount;
+    private long coalescedCount;
+}
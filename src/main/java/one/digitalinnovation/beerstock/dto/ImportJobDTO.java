@@ -0,0 +1,25 @@
+package one.digitalinnovation.beerstock.dto;
+
+import lombok.*;
+import one.digitalinnovation.beerstock.enums.ImportStatus;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data @Builder
+@NoArgsConstructor @AllArgsConstructor
+public class ImportJobDTO {
+    private String id;
+    private String fileName;
+    private ImportStatus status;
+    private long bytesTotal;
+    private long bytesRead;
+    private long rowsRead;
+    private long imported;
+    private long rejected;
+    private List<ImportRowErrorDTO> errors;
+    private boolean errorsTruncated;
+    private String failure;
+    private Instant submittedAt;
+    private Instant finishedAt;
+}
@@ -0,0 +1,11 @@
+package one.digitalinnovation.beerstock.dto;
+
+import lombok.*;
+
+@Data @Builder
+@NoArgsConstructor @AllArgsConstructor
+public class ImportRowErrorDTO {
+    private long line;
+    private String name;
+    private String message;
+}
@@ -0,0 +1,17 @@
+package one.digitalinnovation.beerstock.dto;
+
+import lombok.*;
+import one.digitalinnovation.beerstock.enums.BeerType;
+import java.time.Instant;
+
+@Data @Builder
+@NoArgsConstructor @AllArgsConstructor
+public class LowStockAlertDTO {
+    private Long beerId;
+    private String name;
+    private BeerType type;
+    private int quantity;
+    private int max;
+    private double threshold;
+    private Instant since;
+}
@@ -2,10 +2,11 @@ package one.digitalinnovation.beerstock.dto;
 
 import lombok.*;
 import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
 import javax.validation.constraints.NotNull;
 
 @Data @Builder
 @NoArgsConstructor @AllArgsConstructor
 public class QuantityDTO {
-    @NotNull @Max(100) private Integer quantity;
+    @NotNull @Min(1) @Max(100) private Integer quantity;
 }
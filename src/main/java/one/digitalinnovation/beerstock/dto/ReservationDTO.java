@@ -0,0 +1,21 @@
+package one.digitalinnovation.beerstock.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.*;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Positive;
+import java.time.Instant;
+
+// ttlSeconds é opcional (vale beerstock.reservations.default-ttl) e limitado por beerstock.reservations.max-ttl
+@Data @Builder
+@NoArgsConstructor @AllArgsConstructor
+public class ReservationDTO {
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY) private Long id;
+    @NotNull private Long beerId;
+    @NotNull @Min(1) @Max(100) private Integer quantity;
+    @Positive private Long ttlSeconds;
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY) private Instant expiresAt;
+}
@@ -0,0 +1,16 @@
+package one.digitalinnovation.beerstock.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+// jvmMillis: do início da JVM até o main; contextMillis: do main até o ApplicationReadyEvent; readyMillis: a soma
+@Data @Builder
+@NoArgsConstructor @AllArgsConstructor
+public class StartupReportDTO {
+    private Long jvmMillis;
+    private Long contextMillis;
+    private Long readyMillis;
+    private List<StartupStepDTO> phases;
+    private List<StartupStepDTO> slowestBeans;
+}
@@ -0,0 +1,11 @@
+package one.digitalinnovation.beerstock.dto;
+
+import lombok.*;
+
+// Um passo da inicialização (fase do Spring Boot ou criação de um bean) e quanto tempo levou
+@Data @Builder
+@NoArgsConstructor @AllArgsConstructor
+public class StartupStepDTO {
+    private String name;
+    private Long millis;
+}
@@ -0,0 +1,13 @@
+package one.digitalinnovation.beerstock.dto;
+
+import lombok.*;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+
+@Data @Builder
+@NoArgsConstructor @AllArgsConstructor
+public class StockAdjustmentDTO {
+    @NotNull private Long id;
+    @NotNull @Min(-500) @Max(500) private Integer delta;
+}
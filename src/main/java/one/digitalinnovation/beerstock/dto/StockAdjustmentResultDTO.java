@@ -0,0 +1,13 @@
+package one.digitalinnovation.beerstock.dto;
+
+import lombok.*;
+import one.digitalinnovation.beerstock.enums.StockAdjustmentStatus;
+
+@Data @Builder
+@NoArgsConstructor @AllArgsConstructor
+public class StockAdjustmentResultDTO {
+    private Long id;
+    private Integer delta;
+    private StockAdjustmentStatus status;
+    private Integer quantity;
+}
@@ -0,0 +1,13 @@
+package one.digitalinnovation.beerstock.dto;
+
+import lombok.*;
+
+// Totais de um grupo (tipo ou marca): SKUs, unidades em estoque e capacidade (soma de max)
+@Data @Builder
+@NoArgsConstructor @AllArgsConstructor
+public class StockAggregateDTO {
+    private String group;
+    private Long skus;
+    private Long quantity;
+    private Long capacity;
+}
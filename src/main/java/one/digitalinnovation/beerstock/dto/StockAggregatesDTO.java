@@ -0,0 +1,11 @@
+package one.digitalinnovation.beerstock.dto;
+
+import lombok.*;
+import java.util.List;
+
+@Data @Builder
+@NoArgsConstructor @AllArgsConstructor
+public class StockAggregatesDTO {
+    private List<StockAggregateDTO> byType;
+    private List<StockAggregateDTO> byBrand;
+}
@@ -0,0 +1,14 @@
+package one.digitalinnovation.beerstock.dto;
+
+import lombok.*;
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+@Data @Builder
+@NoArgsConstructor @AllArgsConstructor
+public class StockBatchDTO {
+    @NotEmpty @Size(max = 1000) private List<@Valid @NotNull StockAdjustmentDTO> adjustments;
+}
@@ -0,0 +1,16 @@
+package one.digitalinnovation.beerstock.dto;
+
+import lombok.*;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data @Builder
+@NoArgsConstructor @AllArgsConstructor
+public class StockHistoryDTO {
+    private Long beerId;
+    private Integer openingQuantity;
+    private List<StockMovementDTO> movements;
+    private Instant nextFrom;
+    private Long nextAfterId;
+}
@@ -0,0 +1,17 @@
+package one.digitalinnovation.beerstock.dto;
+
+import lombok.*;
+import one.digitalinnovation.beerstock.enums.MovementSource;
+
+import java.time.Instant;
+
+@Data @Builder
+@NoArgsConstructor @AllArgsConstructor
+public class StockMovementDTO {
+    private Long id;
+    private Long beerId;
+    private Integer delta;
+    private Integer resultingQuantity;
+    private Instant createdAt;
+    private MovementSource source;
+}
@@ -3,16 +3,45 @@ package one.digitalinnovation.beerstock.entity;
 import lombok.*;
 import one.digitalinnovation.beerstock.enums.BeerType; 
 import javax.persistence.*;
+import java.util.Locale;
+import java.util.regex.Pattern;
 
 @Entity
+// Índices compostos da busca: terminam em id para servir o filtro e a ordem da paginação por chave
+@Table(uniqueConstraints = @UniqueConstraint(name = Beer.NORMALIZED_NAME_CONSTRAINT, columnNames = "normalized_name"),
+        indexes = {
+                @Index(name = "idx_beer_type_brand", columnList = "type, brand, id"),
+                @Index(name = "idx_beer_brand", columnList = "brand, id")
+        })
 @Getter @Setter
 @NoArgsConstructor @AllArgsConstructor
 @Builder
 public class Beer {
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY) private Long id;
-    @Column(nullable = false, unique = true) private String name;
+    public static final String NORMALIZED_NAME_CONSTRAINT = "uk_beer_normalized_name";
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    // Sequence com pooled optimizer: IDENTITY desativaria o batching de inserts do Hibernate
+    @Id @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "beer_seq")
+    @SequenceGenerator(name = "beer_seq", sequenceName = "beer_seq", allocationSize = 50)
+    private Long id;
+    @Column(nullable = false) private String name;
+    @Setter(AccessLevel.NONE) @Column(name = "normalized_name", nullable = false) private String normalizedName;
     @Column(nullable = false) private String brand;
     @Column(nullable = false) private int max;
     @Column(nullable = false) private int quantity;
+    // Unidades presas por reservas ativas: o disponível é quantity - reserved, e nenhuma baixa passa por cima delas
+    @Column(nullable = false) private int reserved;
     @Enumerated(EnumType.STRING) @Column(nullable = false) private BeerType type;
+    // Também incrementada pelos updates em massa do repositório, que não passam pelo Hibernate
+    @Version @Column(nullable = false) private Long version;
+
+    @PrePersist @PreUpdate
+    void normalizeName() {
+        normalizedName = normalizeName(name);
+    }
+
+    // Chave usada na busca e na unicidade: sem espaços extras e sem diferenciar maiúsculas
+    public static String normalizeName(String name) {
+        return name == null ? null : WHITESPACE.matcher(name.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
 }
@@ -0,0 +1,36 @@
+package one.digitalinnovation.beerstock.entity;
+
+import lombok.*;
+import one.digitalinnovation.beerstock.enums.MovementSource;
+import org.hibernate.annotations.Immutable;
+
+import javax.persistence.*;
+import java.time.Instant;
+
+// Ledger append-only: linhas nunca são alteradas, só inseridas
+@Entity
+@Immutable
+@Table(name = "stock_movement", indexes = @Index(name = "idx_stock_movement_beer_time", columnList = "beer_id, created_at"))
+@Getter
+@NoArgsConstructor @AllArgsConstructor
+@Builder
+public class StockMovement {
+    @Id @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stock_movement_seq")
+    @SequenceGenerator(name = "stock_movement_seq", sequenceName = "stock_movement_seq", allocationSize = 50)
+    private Long id;
+    @Column(name = "beer_id", nullable = false) private Long beerId;
+    @Column(nullable = false) private int delta;
+    @Column(name = "resulting_quantity", nullable = false) private int resultingQuantity;
+    @Column(name = "created_at", nullable = false) private Instant createdAt;
+    @Enumerated(EnumType.STRING) @Column(nullable = false) private MovementSource source;
+
+    public static StockMovement of(Long beerId, int delta, int resultingQuantity, MovementSource source) {
+        return StockMovement.builder()
+                .beerId(beerId)
+                .delta(delta)
+                .resultingQuantity(resultingQuantity)
+                .createdAt(Instant.now())
+                .source(source)
+                .build();
+    }
+}
@@ -0,0 +1,21 @@
+package one.digitalinnovation.beerstock.entity;
+
+import lombok.*;
+
+import javax.persistence.*;
+import java.time.Instant;
+
+// Reserva ativa: a linha existe enquanto a unidade está presa; commit, release e expiração a removem
+@Entity
+@Table(name = "stock_reservation", indexes = @Index(name = "idx_stock_reservation_expires_at", columnList = "expires_at"))
+@Getter
+@NoArgsConstructor @AllArgsConstructor
+@Builder
+public class StockReservation {
+    @Id @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stock_reservation_seq")
+    @SequenceGenerator(name = "stock_reservation_seq", sequenceName = "stock_reservation_seq", allocationSize = 50)
+    private Long id;
+    @Column(name = "beer_id", nullable = false) private Long beerId;
+    @Column(nullable = false) private int quantity;
+    @Column(name = "expires_at", nullable = false) private Instant expiresAt;
+}
@@ -0,0 +1,21 @@
+package one.digitalinnovation.beerstock.entity;
+
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import javax.persistence.*;
+import java.time.Instant;
+
+// Checkpoint do ledger (soma dos movimentos com created_at < taken_at), gravado por INSERT ... SELECT, por isso IDENTITY
+@Entity
+@Immutable
+@Table(name = "stock_snapshot", indexes = @Index(name = "idx_stock_snapshot_beer_time", columnList = "beer_id, taken_at"))
+@Getter
+@NoArgsConstructor @AllArgsConstructor
+@Builder
+public class StockSnapshot {
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY) private Long id;
+    @Column(name = "beer_id", nullable = false) private Long beerId;
+    @Column(nullable = false) private int quantity;
+    @Column(name = "taken_at", nullable = false) private Instant takenAt;
+}
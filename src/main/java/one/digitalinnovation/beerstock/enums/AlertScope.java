@@ -0,0 +1,15 @@
+package one.digitalinnovation.beerstock.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum AlertScope {
+
+    GLOBAL("Todas as cervejas"),
+    TYPE("Cervejas de um tipo"),
+    BEER("Uma cerveja");
+
+    private final String description;
+}
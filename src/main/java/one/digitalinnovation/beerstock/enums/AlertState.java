@@ -0,0 +1,14 @@
+package one.digitalinnovation.beerstock.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum AlertState {
+
+    RAISED("Estoque abaixo do limite"),
+    CLEARED("Estoque normalizado");
+
+    private final String description;
+}
@@ -0,0 +1,17 @@
+package one.digitalinnovation.beerstock.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum ChangeType {
+
+    CREATED("Cerveja cadastrada"),
+    DELETED("Cerveja removida"),
+    QUANTITY_CHANGED("Quantidade em estoque alterada"),
+    RESERVATION_CHANGED("Reserva de estoque criada ou liberada"),
+    IMPORTED("Bloco de cervejas importado do CSV");
+
+    private final String description;
+}
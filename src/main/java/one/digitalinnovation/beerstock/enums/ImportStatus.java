@@ -0,0 +1,16 @@
+package one.digitalinnovation.beerstock.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum ImportStatus {
+
+    QUEUED("Aguardando um worker livre"),
+    RUNNING("Importando"),
+    COMPLETED("Arquivo processado até o fim"),
+    FAILED("Interrompida por um erro que não é de linha");
+
+    private final String description;
+}
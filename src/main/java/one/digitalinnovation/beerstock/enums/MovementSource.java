@@ -0,0 +1,18 @@
+package one.digitalinnovation.beerstock.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum MovementSource {
+
+    CREATE("Create"),
+    INCREMENT("Increment"),
+    DECREMENT("Decrement"),
+    BATCH("Batch adjustment"),
+    RESERVATION("Reservation commit"),
+    DELETE("Delete");
+
+    private final String description;
+}
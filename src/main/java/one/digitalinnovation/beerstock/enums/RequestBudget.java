@@ -0,0 +1,15 @@
+package one.digitalinnovation.beerstock.enums;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum RequestBudget {
+
+    READ("Consultas (GET e HEAD)"),
+    WRITE("Cadastros e movimentações de estoque"),
+    EXPORT("Exportação NDJSON, que segura a conexão até o fim do catálogo");
+
+    private final String description;
+}
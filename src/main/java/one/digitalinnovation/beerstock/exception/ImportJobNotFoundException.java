@@ -0,0 +1,11 @@
+package one.digitalinnovation.beerstock.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class ImportJobNotFoundException extends Exception {
+    public ImportJobNotFoundException(String id) {
+        super(String.format("Import job %s not found: it never existed or was already discarded", id));
+    }
+}
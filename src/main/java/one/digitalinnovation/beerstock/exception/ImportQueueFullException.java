@@ -0,0 +1,19 @@
+package one.digitalinnovation.beerstock.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class ImportQueueFullException extends Exception {
+
+    private final long retryAfterSeconds;
+
+    public ImportQueueFullException(int queueCapacity, long retryAfterSeconds) {
+        super(String.format("The import queue already holds %d jobs, try again later.", queueCapacity));
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,11 @@
+package one.digitalinnovation.beerstock.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InsufficientStockException extends Exception {
+    public InsufficientStockException(Long id, int available) {
+        super(String.format("Beer with ID %d has only %d units available to reserve", id, available));
+    }
+}
@@ -0,0 +1,11 @@
+package one.digitalinnovation.beerstock.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidAlertRuleException extends Exception {
+    public InvalidAlertRuleException(String message) {
+        super(message);
+    }
+}
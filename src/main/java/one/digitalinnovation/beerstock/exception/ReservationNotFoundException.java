@@ -0,0 +1,11 @@
+package one.digitalinnovation.beerstock.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class ReservationNotFoundException extends Exception {
+    public ReservationNotFoundException(Long id) {
+        super(String.format("Reservation with ID %s not found: it never existed, or was already committed, released or expired", id));
+    }
+}
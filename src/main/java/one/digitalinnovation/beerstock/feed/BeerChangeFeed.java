@@ -0,0 +1,195 @@
+package one.digitalinnovation.beerstock.feed;
+
+import one.digitalinnovation.beerstock.dto.BeerChangeDTO;
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.enums.ChangeType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+// Feed SSE de alterações: sequência crescente como id e buffer circular para reconexão com Last-Event-ID.
+// Sequência que já saiu do buffer recebe um evento "reset"
+@Component
+public class BeerChangeFeed {
+
+    public static final String RESET_EVENT = "reset";
+
+    // O que fazer com um assinante cuja fila encheu
+    public enum OverflowPolicy {
+        // Encerra a conexão; o cliente reconecta com Last-Event-ID e o buffer cobre o intervalo
+        DISCONNECT,
+        // Descarta o evento mais antigo da fila e mantém a conexão
+        DROP_OLDEST
+    }
+
+    private final Object lock = new Object();
+    private final Deque<BeerChangeDTO> history = new ArrayDeque<>();
+    private final List<FeedSubscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final int historySize;
+    private final int subscriberQueueSize;
+    private final OverflowPolicy overflowPolicy;
+    private final Duration timeout;
+    private final Executor executor;
+    private long sequence;
+
+    @Autowired
+    public BeerChangeFeed(@Value("${beerstock.feed.history-size:1024}") int historySize,
+                          @Value("${beerstock.feed.subscriber-queue-size:256}") int subscriberQueueSize,
+                          @Value("${beerstock.feed.overflow-policy:disconnect}") OverflowPolicy overflowPolicy,
+                          @Value("${beerstock.feed.timeout:30m}") Duration timeout,
+                          @Value("${beerstock.feed.sender-threads:4}") int senderThreads) {
+        this(historySize, subscriberQueueSize, overflowPolicy, timeout, Executors.newFixedThreadPool(senderThreads, senderThreadFactory()));
+    }
+
+    BeerChangeFeed(int historySize, int subscriberQueueSize, OverflowPolicy overflowPolicy, Duration timeout, Executor executor) {
+        this.historySize = historySize;
+        this.subscriberQueueSize = subscriberQueueSize;
+        this.overflowPolicy = overflowPolicy;
+        this.timeout = timeout;
+        this.executor = executor;
+    }
+
+    public SseEmitter subscribe(Predicate<BeerDTO> filter, Long lastEventId) {
+        return subscribe(new SseEmitter(timeout.toMillis()), filter, lastEventId);
+    }
+
+    // Replay e registro acontecem sob o mesmo lock da publicação: nenhum evento é perdido nem duplicado
+    SseEmitter subscribe(SseEmitter emitter, Predicate<BeerDTO> filter, Long lastEventId) {
+        FeedSubscriber subscriber = new FeedSubscriber(emitter, filter, subscriberQueueSize, executor);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscriber.close(null));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        synchronized (lock) {
+            if (lastEventId != null) replay(subscriber, lastEventId);
+            subscribers.add(subscriber);
+        }
+        return emitter;
+    }
+
+    private void replay(FeedSubscriber subscriber, long lastEventId) {
+        long oldest = history.isEmpty() ? sequence + 1 : history.peekFirst().getSequence();
+        boolean gap = lastEventId < oldest - 1 || lastEventId > sequence;
+        if (!gap) {
+            int missed = 0;
+            for (BeerChangeDTO change : history) {
+                if (change.getSequence() > lastEventId && subscriber.accepts(change.getBeer())) missed++;
+            }
+            gap = missed >= subscriber.capacity();
+        }
+        if (gap) {
+            subscriber.offer(SseEmitter.event().id(String.valueOf(sequence)).name(RESET_EVENT).data(sequence));
+            return;
+        }
+        for (BeerChangeDTO change : history) {
+            if (change.getSequence() > lastEventId && subscriber.accepts(change.getBeer())) subscriber.offer(toEvent(change));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChange(BeerChangedEvent event) {
+        if (event.isBulk()) return;
+        publish(BeerChangeDTO.builder()
+                .type(event.getType())
+                .delta(event.getDelta())
+                .beer(event.getBeer()));
+    }
+
+    // Um evento por bloco importado: mil CREATED seguidos estourariam a fila dos assinantes e o histórico
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onImport(BeersImportedEvent event) {
+        publish(BeerChangeDTO.builder()
+                .type(ChangeType.IMPORTED)
+                .delta(event.getQuantity())
+                .count(event.getCount()));
+    }
+
+    private void publish(BeerChangeDTO.BeerChangeDTOBuilder builder) {
+        synchronized (lock) {
+            BeerChangeDTO change = builder.sequence(++sequence).build();
+            if (history.size() == historySize) history.pollFirst();
+            history.addLast(change);
+            for (FeedSubscriber subscriber : subscribers) {
+                if (subscriber.accepts(change.getBeer())) deliver(subscriber, toEvent(change));
+            }
+        }
+    }
+
+    private void deliver(FeedSubscriber subscriber, SseEmitter.SseEventBuilder event) {
+        if (subscriber.offer(event) || subscriber.isClosed()) {
+            if (subscriber.isClosed()) subscribers.remove(subscriber);
+            return;
+        }
+        if (overflowPolicy == OverflowPolicy.DROP_OLDEST) {
+            subscriber.dropOldest();
+            subscriber.offer(event);
+        } else {
+            subscribers.remove(subscriber);
+            subscriber.close(new SlowConsumerException(subscriberQueueSize));
+        }
+    }
+
+    // Comentário SSE periódico: mantém proxies abertos e detecta clientes que já foram embora
+    @Scheduled(fixedDelayString = "${beerstock.feed.heartbeat:PT15S}")
+    public void heartbeat() {
+        for (FeedSubscriber subscriber : subscribers) {
+            if (subscriber.isClosed()) subscribers.remove(subscriber);
+            else subscriber.offer(SseEmitter.event().comment("heartbeat"));
+        }
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    public long currentSequence() {
+        synchronized (lock) {
+            return sequence;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(s -> s.close(null));
+        subscribers.clear();
+        if (executor instanceof ExecutorService) ((ExecutorService) executor).shutdownNow();
+    }
+
+    private static SseEmitter.SseEventBuilder toEvent(BeerChangeDTO change) {
+        return SseEmitter.event()
+                .id(String.valueOf(change.getSequence()))
+                .name(change.getType().name())
+                .data(change, MediaType.APPLICATION_JSON);
+    }
+
+    private static ThreadFactory senderThreadFactory() {
+        AtomicInteger count = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, "beer-feed-sender-" + count.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+
+    static class SlowConsumerException extends RuntimeException {
+        SlowConsumerException(int queueSize) {
+            super("Subscriber fell more than " + queueSize + " events behind and was disconnected");
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package one.digitalinnovation.beerstock.feed;
+
+import lombok.Value;
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.enums.ChangeType;
+
+// Publicado pelo BeerService dentro da transação; o feed só o recebe depois do commit.
+// bulk: linha de uma importação, que o feed resume num BeersImportedEvent em vez de repassar
+@Value
+public class BeerChangedEvent {
+    ChangeType type;
+    BeerDTO beer;
+    int delta;
+    boolean bulk;
+
+    public BeerChangedEvent(ChangeType type, BeerDTO beer, int delta) {
+        this(type, beer, delta, false);
+    }
+
+    public BeerChangedEvent(ChangeType type, BeerDTO beer, int delta, boolean bulk) {
+        this.type = type;
+        this.beer = beer;
+        this.delta = delta;
+        this.bulk = bulk;
+    }
+}
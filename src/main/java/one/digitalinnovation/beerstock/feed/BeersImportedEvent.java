@@ -0,0 +1,10 @@
+package one.digitalinnovation.beerstock.feed;
+
+import lombok.Value;
+
+// Resumo de um bloco importado: no feed substitui os CREATED por linha, que derrubariam os assinantes
+@Value
+public class BeersImportedEvent {
+    int count;
+    int quantity;
+}
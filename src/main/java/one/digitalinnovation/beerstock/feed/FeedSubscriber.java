@@ -0,0 +1,78 @@
+package one.digitalinnovation.beerstock.feed;
+
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+
+// Fila própria por assinante: quem publica nunca espera pela rede, e só uma thread escreve em cada emitter
+final class FeedSubscriber {
+
+    private final SseEmitter emitter;
+    private final Predicate<BeerDTO> filter;
+    private final BlockingQueue<SseEmitter.SseEventBuilder> queue;
+    private final Executor executor;
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private volatile boolean closed;
+
+    FeedSubscriber(SseEmitter emitter, Predicate<BeerDTO> filter, int capacity, Executor executor) {
+        this.emitter = emitter;
+        this.filter = filter;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.executor = executor;
+    }
+
+    // Evento sem cerveja (resumo de importação) vai para todos: o filtro não tem o que testar
+    boolean accepts(BeerDTO beer) {
+        return beer == null || filter.test(beer);
+    }
+
+    int capacity() {
+        return queue.remainingCapacity() + queue.size();
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    // false quando a fila está cheia; a política de overflow é decidida pelo feed
+    boolean offer(SseEmitter.SseEventBuilder event) {
+        if (closed || !queue.offer(event)) return false;
+        schedule();
+        return true;
+    }
+
+    void dropOldest() {
+        queue.poll();
+    }
+
+    void close(Throwable cause) {
+        closed = true;
+        queue.clear();
+        if (cause == null) emitter.complete();
+        else emitter.completeWithError(cause);
+    }
+
+    private void schedule() {
+        if (scheduled.compareAndSet(false, true)) executor.execute(this::drain);
+    }
+
+    private void drain() {
+        do {
+            SseEmitter.SseEventBuilder event;
+            while (!closed && (event = queue.poll()) != null) {
+                try {
+                    emitter.send(event);
+                } catch (IOException | IllegalStateException e) {
+                    close(e);
+                }
+            }
+            scheduled.set(false);
+        } while (!closed && !queue.isEmpty() && scheduled.compareAndSet(false, true));
+    }
+}
@@ -0,0 +1,103 @@
+package one.digitalinnovation.beerstock.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import one.digitalinnovation.beerstock.exception.BeerNotFoundException;
+import one.digitalinnovation.beerstock.exception.BeerStockExceededException;
+import one.digitalinnovation.beerstock.exception.IdempotencyKeyReusedException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+
+@Component
+public class IdempotencyStore {
+
+    // Caffeine: lookup O(1) e expiração/limpeza amortizadas em lote fora do caminho da requisição. Só guarda resultados
+    // prontos; as execuções em andamento ficam fora do limite de tamanho, senão uma evicção deixaria a repetição executar de novo
+    private final ConcurrentMap<List<String>, Entry> completed;
+    private final ConcurrentMap<List<String>, Entry> inFlight = new ConcurrentHashMap<>();
+
+    @Autowired
+    public IdempotencyStore(@Value("${beerstock.idempotency.maximum-size:100000}") long maximumSize,
+                            @Value("${beerstock.idempotency.expire-after-write:24h}") Duration expireAfterWrite) {
+        Cache<List<String>, Entry> cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .build();
+        this.completed = cache.asMap();
+    }
+
+    // Executa uma vez por chave de cada cliente; repetições recebem o resultado (ou esperam), falhas não são guardadas
+    public <T> T execute(String client, String key, Object fingerprint, IdempotentOperation<T> operation)
+            throws BeerNotFoundException, BeerStockExceededException, IdempotencyKeyReusedException {
+        if (key == null) return operation.execute();
+
+        List<String> scoped = List.of(client, key);
+        Entry existing = completed.get(scoped);
+        if (existing == null) {
+            Entry entry = new Entry(fingerprint);
+            existing = inFlight.putIfAbsent(scoped, entry);
+            // Entre o get e o putIfAbsent a execução anterior pode ter terminado e saído de inFlight
+            if (existing == null && (existing = completed.get(scoped)) != null) {
+                inFlight.remove(scoped, entry);
+                // Quem esperava nesta entrada tem o mesmo fingerprint dela
+                if (existing.fingerprint.equals(fingerprint)) entry.result.complete(existing.result.join());
+                else entry.result.completeExceptionally(new IdempotencyKeyReusedException(key));
+            }
+            if (existing == null) return run(scoped, entry, operation);
+        }
+        if (!existing.fingerprint.equals(fingerprint)) throw new IdempotencyKeyReusedException(key);
+        return existing.await();
+    }
+
+    // Publica em completed antes de sair de inFlight: quem chega no meio sempre acha uma das duas
+    private <T> T run(List<String> scoped, Entry entry, IdempotentOperation<T> operation)
+            throws BeerNotFoundException, BeerStockExceededException {
+        try {
+            T result = operation.execute();
+            entry.result.complete(result);
+            completed.put(scoped, entry);
+            inFlight.remove(scoped, entry);
+            return result;
+        } catch (BeerNotFoundException | BeerStockExceededException | RuntimeException | Error e) {
+            // Inclui Error: uma entrada nunca completada deixaria as repetições esperando para sempre
+            inFlight.remove(scoped, entry);
+            entry.result.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private static class Entry {
+        private final Object fingerprint;
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+
+        Entry(Object fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+
+        @SuppressWarnings("unchecked")
+        <T> T await() throws BeerNotFoundException, BeerStockExceededException, IdempotencyKeyReusedException {
+            try {
+                return (T) result.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof BeerNotFoundException) throw (BeerNotFoundException) cause;
+                if (cause instanceof BeerStockExceededException) throw (BeerStockExceededException) cause;
+                if (cause instanceof IdempotencyKeyReusedException) throw (IdempotencyKeyReusedException) cause;
+                if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+                if (cause instanceof Error) throw (Error) cause;
+                throw new IllegalStateException(cause);
+            }
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package one.digitalinnovation.beerstock.idempotency;
+
+import one.digitalinnovation.beerstock.exception.BeerNotFoundException;
+import one.digitalinnovation.beerstock.exception.BeerStockExceededException;
+
+@FunctionalInterface
+public interface IdempotentOperation<T> {
+    T execute() throws BeerNotFoundException, BeerStockExceededException;
+}
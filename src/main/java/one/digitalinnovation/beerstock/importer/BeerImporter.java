@@ -0,0 +1,336 @@
+package one.digitalinnovation.beerstock.importer;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.dto.ImportJobDTO;
+import one.digitalinnovation.beerstock.entity.Beer;
+import one.digitalinnovation.beerstock.enums.BeerType;
+import one.digitalinnovation.beerstock.exception.BeerAlreadyRegisteredException;
+import one.digitalinnovation.beerstock.exception.ImportJobNotFoundException;
+import one.digitalinnovation.beerstock.exception.ImportQueueFullException;
+import one.digitalinnovation.beerstock.exception.InvalidImportFileException;
+import one.digitalinnovation.beerstock.repository.BeerRepository;
+import one.digitalinnovation.beerstock.service.BeerService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.annotation.PreDestroy;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+// Importação de CSV com cabeçalho: validação por linha e gravação em blocos de chunk-size, um worker por job.
+// Fila limitada (cheia: 503); bloco confirmado não é desfeito
+@Service
+@Profile("!reactive")
+public class BeerImporter {
+
+    public static final String ROWS = "beerstock.import.rows";
+    static final List<String> COLUMNS = List.of("name", "brand", "max", "quantity", "type");
+
+    private final BeerService beerService;
+    private final BeerRepository repo;
+    private final Validator validator;
+    private final int chunkSize;
+    private final int maxErrors;
+    private final int retainedJobs;
+    private final int queueCapacity;
+    private final long retryAfterSeconds;
+    private final Executor executor;
+    private final Map<String, ImportJob> jobs = new LinkedHashMap<>();
+    private final Counter importedRows;
+    private final Counter rejectedRows;
+
+    @Autowired
+    public BeerImporter(BeerService beerService, BeerRepository repo, Validator validator, MeterRegistry registry,
+                        @Value("${beerstock.import.chunk-size:1000}") int chunkSize,
+                        @Value("${beerstock.import.max-errors:1000}") int maxErrors,
+                        @Value("${beerstock.import.retained-jobs:100}") int retainedJobs,
+                        @Value("${beerstock.import.threads:1}") int threads,
+                        @Value("${beerstock.import.queue-capacity:4}") int queueCapacity,
+                        @Value("${beerstock.import.retry-after:PT30S}") Duration retryAfter) {
+        // Fila limitada: com a do newFixedThreadPool, sem limite, a recusa nunca aconteceria e cada job
+        // na fila seguraria o seu arquivo temporário
+        this(beerService, repo, validator, registry, chunkSize, maxErrors, retainedJobs, queueCapacity, retryAfter,
+                new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                        new ArrayBlockingQueue<>(queueCapacity), workerThreadFactory()));
+    }
+
+    BeerImporter(BeerService beerService, BeerRepository repo, Validator validator, MeterRegistry registry,
+                 int chunkSize, int maxErrors, int retainedJobs, int queueCapacity, Duration retryAfter, Executor executor) {
+        this.beerService = beerService;
+        this.repo = repo;
+        this.validator = validator;
+        this.chunkSize = chunkSize;
+        this.maxErrors = maxErrors;
+        this.retainedJobs = retainedJobs;
+        this.queueCapacity = queueCapacity;
+        this.retryAfterSeconds = Math.max(1, retryAfter.toSeconds());
+        this.executor = executor;
+        importedRows = Counter.builder(ROWS).description("Linhas de CSV importadas ou rejeitadas")
+                .tag("outcome", "imported").register(registry);
+        rejectedRows = Counter.builder(ROWS).description("Linhas de CSV importadas ou rejeitadas")
+                .tag("outcome", "rejected").register(registry);
+    }
+
+    // O cabeçalho é conferido antes de aceitar o job: arquivo sem as colunas obrigatórias volta 400 na hora
+    public ImportJobDTO start(MultipartFile file) throws IOException, InvalidImportFileException, ImportQueueFullException {
+        if (file.isEmpty()) throw new InvalidImportFileException("The uploaded file is empty");
+        Path upload = Files.createTempFile("beer-import-", ".csv");
+        try {
+            file.transferTo(upload);
+            try (CsvReader csv = reader(Files.newInputStream(upload))) {
+                columns(csv.next());
+            }
+            ImportJob job = new ImportJob(UUID.randomUUID().toString(), file.getOriginalFilename(), Files.size(upload), maxErrors);
+            try {
+                executor.execute(() -> run(job, upload));
+            } catch (RejectedExecutionException e) {
+                throw new ImportQueueFullException(queueCapacity, retryAfterSeconds);
+            }
+            retain(job);
+            return job.toDTO();
+        } catch (IOException | InvalidImportFileException | ImportQueueFullException e) {
+            Files.deleteIfExists(upload);
+            throw e;
+        }
+    }
+
+    public ImportJobDTO find(String id) throws ImportJobNotFoundException {
+        ImportJob job;
+        synchronized (jobs) {
+            job = jobs.get(id);
+        }
+        if (job == null) throw new ImportJobNotFoundException(id);
+        return job.toDTO();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor instanceof ExecutorService) ((ExecutorService) executor).shutdownNow();
+    }
+
+    // Guarda no máximo retained-jobs; os mais antigos já terminados saem primeiro
+    private void retain(ImportJob job) {
+        synchronized (jobs) {
+            Iterator<ImportJob> oldest = jobs.values().iterator();
+            while (jobs.size() >= retainedJobs && oldest.hasNext()) {
+                if (oldest.next().finished()) oldest.remove();
+            }
+            jobs.put(job.id(), job);
+        }
+    }
+
+    void run(ImportJob job, Path upload) {
+        job.running();
+        try (CountingInputStream counting = new CountingInputStream(Files.newInputStream(upload));
+             CsvReader csv = reader(counting)) {
+            Map<String, Integer> columns = columns(csv.next());
+            List<ImportRow> chunk = new ArrayList<>(chunkSize);
+            List<String> record;
+            while ((record = csv.next()) != null) {
+                if (record.size() == 1 && record.get(0).isBlank()) continue;
+                job.rowRead();
+                ImportRow row = parse(csv.recordLine(), record, columns);
+                if (row.error != null) {
+                    reject(job, row, row.error);
+                    continue;
+                }
+                chunk.add(row);
+                if (chunk.size() == chunkSize) {
+                    insert(job, chunk);
+                    chunk.clear();
+                    job.progress(counting.count);
+                }
+            }
+            insert(job, chunk);
+            job.completed();
+        } catch (Exception e) {
+            job.failed(e.getMessage());
+        } finally {
+            try {
+                Files.deleteIfExists(upload);
+            } catch (IOException e) {
+                // arquivo temporário: o sistema limpa depois
+            }
+        }
+    }
+
+    private void insert(ImportJob job, List<ImportRow> chunk) {
+        if (chunk.isEmpty()) return;
+        Map<String, ImportRow> byName = new LinkedHashMap<>();
+        for (ImportRow row : chunk) {
+            String name = Beer.normalizeName(row.beer.getName());
+            if (byName.putIfAbsent(name, row) != null) reject(job, row, "Name repeated in an earlier line of the file");
+        }
+        // Nomes já cadastrados (inclusive por blocos anteriores do mesmo arquivo) são rejeitados sem abortar o bloco
+        Set<String> existing = new HashSet<>(repo.findExistingNormalizedNames(byName.keySet()));
+        List<ImportRow> fresh = new ArrayList<>(byName.size());
+        byName.forEach((name, row) -> {
+            if (existing.contains(name)) reject(job, row, new BeerAlreadyRegisteredException(row.beer.getName()).getMessage());
+            else fresh.add(row);
+        });
+        if (fresh.isEmpty()) return;
+        try {
+            beerService.importBeers(fresh.stream().map(row -> row.beer).collect(Collectors.toList()));
+            accept(job, fresh.size());
+        } catch (BeerAlreadyRegisteredException e) {
+            // Outro cadastro levou um dos nomes entre a consulta e o insert: o bloco volta, e cada linha vai sozinha
+            for (ImportRow row : fresh) {
+                try {
+                    beerService.createBeer(row.beer);
+                    accept(job, 1);
+                } catch (BeerAlreadyRegisteredException duplicate) {
+                    reject(job, row, duplicate.getMessage());
+                }
+            }
+        }
+    }
+
+    private void accept(ImportJob job, int rows) {
+        job.imported(rows);
+        importedRows.increment(rows);
+    }
+
+    private void reject(ImportJob job, ImportRow row, String message) {
+        job.rejected(row.line, row.name, message);
+        rejectedRows.increment();
+    }
+
+    private ImportRow parse(long line, List<String> record, Map<String, Integer> columns) {
+        String name = field(record, columns, "name");
+        if (record.size() < columns.size()) {
+            return ImportRow.error(line, name, String.format("Expected %d columns but found %d", columns.size(), record.size()));
+        }
+        BeerDTO beer = new BeerDTO();
+        beer.setName(name);
+        beer.setBrand(field(record, columns, "brand"));
+        List<String> errors = new ArrayList<>();
+        beer.setMax(number(field(record, columns, "max"), "max", errors));
+        beer.setQuantity(number(field(record, columns, "quantity"), "quantity", errors));
+        String type = field(record, columns, "type");
+        try {
+            beer.setType(type.isEmpty() ? null : BeerType.valueOf(type.toUpperCase(Locale.ROOT)));
+        } catch (IllegalArgumentException e) {
+            errors.add("type: must be one of " + Arrays.toString(BeerType.values()));
+        }
+        for (ConstraintViolation<BeerDTO> violation : validator.validate(beer)) {
+            errors.add(violation.getPropertyPath() + ": " + violation.getMessage());
+        }
+        if (!errors.isEmpty()) return ImportRow.error(line, name, errors.stream().sorted().collect(Collectors.joining("; ")));
+        return new ImportRow(line, name, beer, null);
+    }
+
+    private static String field(List<String> record, Map<String, Integer> columns, String column) {
+        int index = columns.get(column);
+        return index < record.size() ? record.get(index).trim() : "";
+    }
+
+    // Vazio vira null e fica para o @NotNull do BeerDTO; texto que não é número é erro de linha
+    private static Integer number(String value, String column, List<String> errors) {
+        if (value.isEmpty()) return null;
+        try {
+            return Integer.valueOf(value);
+        } catch (NumberFormatException e) {
+            errors.add(column + ": must be a whole number");
+            return null;
+        }
+    }
+
+    private static Map<String, Integer> columns(List<String> header) throws InvalidImportFileException {
+        if (header == null) throw new InvalidImportFileException("The uploaded file has no header line");
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String column = header.get(i).trim().toLowerCase(Locale.ROOT);
+            if (COLUMNS.contains(column)) columns.putIfAbsent(column, i);
+        }
+        List<String> missing = COLUMNS.stream().filter(c -> !columns.containsKey(c)).collect(Collectors.toList());
+        if (!missing.isEmpty()) throw new InvalidImportFileException("The CSV header is missing the columns " + missing);
+        return columns;
+    }
+
+    private static CsvReader reader(InputStream in) {
+        return new CsvReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+    }
+
+    private static ThreadFactory workerThreadFactory() {
+        AtomicInteger count = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, "beer-import-" + count.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+
+    private static final class ImportRow {
+        private final long line;
+        private final String name;
+        private final BeerDTO beer;
+        private final String error;
+
+        private ImportRow(long line, String name, BeerDTO beer, String error) {
+            this.line = line;
+            this.name = name;
+            this.beer = beer;
+            this.error = error;
+        }
+
+        static ImportRow error(long line, String name, String error) {
+            return new ImportRow(line, name, null, error);
+        }
+    }
+
+    // Bytes já lidos do arquivo, para o progresso do job (o InputStreamReader lê adiantado até 8 KB)
+    private static final class CountingInputStream extends FilterInputStream {
+        private volatile long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) count++;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) count += n;
+            return n;
+        }
+    }
+}
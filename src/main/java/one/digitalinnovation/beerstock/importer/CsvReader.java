@@ -0,0 +1,94 @@
+package one.digitalinnovation.beerstock.importer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+// CSV no formato da RFC 4180 (campos entre aspas podem ter vírgula, aspas dobradas e quebra de linha), lido
+// um registro por vez: a memória usada é a de um registro, nunca a do arquivo
+final class CsvReader implements Closeable {
+
+    static final int MAX_RECORD_CHARS = 64 * 1024;
+    private static final int NONE = -2;
+
+    private final Reader in;
+    private int pending = NONE;
+    private long line = 1;
+    private long recordLine;
+    private boolean started;
+
+    CsvReader(Reader in) {
+        this.in = in;
+    }
+
+    // Próximo registro, ou null no fim do arquivo; linhas em branco voltam como um único campo vazio
+    List<String> next() throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean any = false;
+        int chars = 0;
+        recordLine = line;
+        int c;
+        while ((c = read()) != -1) {
+            any = true;
+            if (++chars > MAX_RECORD_CHARS) {
+                throw new IOException(String.format("Line %d is longer than %d characters (unbalanced quote?)", recordLine, MAX_RECORD_CHARS));
+            }
+            if (quoted) {
+                if (c == '"') {
+                    int n = read();
+                    if (n == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        pending = n;
+                    }
+                } else {
+                    if (c == '\n') line++;
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                line++;
+                break;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+        }
+        if (!any) return null;
+        fields.add(field.toString());
+        return fields;
+    }
+
+    // Linha do arquivo (a partir de 1) onde começou o último registro lido
+    long recordLine() {
+        return recordLine;
+    }
+
+    private int read() throws IOException {
+        if (pending != NONE) {
+            int c = pending;
+            pending = NONE;
+            return c;
+        }
+        int c = in.read();
+        if (!started) {
+            started = true;
+            // BOM de arquivos salvos pelo Excel
+            if (c == '\uFEFF') c = in.read();
+        }
+        return c;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
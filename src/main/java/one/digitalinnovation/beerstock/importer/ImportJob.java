@@ -0,0 +1,99 @@
+package one.digitalinnovation.beerstock.importer;
+
+import one.digitalinnovation.beerstock.dto.ImportJobDTO;
+import one.digitalinnovation.beerstock.dto.ImportRowErrorDTO;
+import one.digitalinnovation.beerstock.enums.ImportStatus;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+// Escrito só pelo worker da importação e lido por quem consulta o progresso; o lock é o próprio job
+final class ImportJob {
+
+    private final String id;
+    private final String fileName;
+    private final long bytesTotal;
+    private final int maxErrors;
+    private final Instant submittedAt = Instant.now();
+    private final List<ImportRowErrorDTO> errors = new ArrayList<>();
+    private ImportStatus status = ImportStatus.QUEUED;
+    private long bytesRead;
+    private long rowsRead;
+    private long imported;
+    private long rejected;
+    private boolean errorsTruncated;
+    private String failure;
+    private Instant finishedAt;
+
+    ImportJob(String id, String fileName, long bytesTotal, int maxErrors) {
+        this.id = id;
+        this.fileName = fileName;
+        this.bytesTotal = bytesTotal;
+        this.maxErrors = maxErrors;
+    }
+
+    String id() {
+        return id;
+    }
+
+    synchronized boolean finished() {
+        return status == ImportStatus.COMPLETED || status == ImportStatus.FAILED;
+    }
+
+    synchronized void running() {
+        status = ImportStatus.RUNNING;
+    }
+
+    synchronized void rowRead() {
+        rowsRead++;
+    }
+
+    synchronized void progress(long bytesRead) {
+        this.bytesRead = bytesRead;
+    }
+
+    synchronized void imported(int rows) {
+        imported += rows;
+    }
+
+    // Todas as rejeições contam; a lista guarda só as primeiras maxErrors
+    synchronized void rejected(long line, String name, String message) {
+        rejected++;
+        if (errors.size() < maxErrors) {
+            errors.add(ImportRowErrorDTO.builder().line(line).name(name).message(message).build());
+        } else {
+            errorsTruncated = true;
+        }
+    }
+
+    synchronized void completed() {
+        status = ImportStatus.COMPLETED;
+        bytesRead = bytesTotal;
+        finishedAt = Instant.now();
+    }
+
+    synchronized void failed(String failure) {
+        status = ImportStatus.FAILED;
+        this.failure = failure;
+        finishedAt = Instant.now();
+    }
+
+    synchronized ImportJobDTO toDTO() {
+        return ImportJobDTO.builder()
+                .id(id)
+                .fileName(fileName)
+                .status(status)
+                .bytesTotal(bytesTotal)
+                .bytesRead(bytesRead)
+                .rowsRead(rowsRead)
+                .imported(imported)
+                .rejected(rejected)
+                .errors(new ArrayList<>(errors))
+                .errorsTruncated(errorsTruncated)
+                .failure(failure)
+                .submittedAt(submittedAt)
+                .finishedAt(finishedAt)
+                .build();
+    }
+}
@@ -3,11 +3,15 @@ package one.digitalinnovation.beerstock.mapper;
 import one.digitalinnovation.beerstock.dto.BeerDTO;
 import one.digitalinnovation.beerstock.entity.Beer;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.factory.Mappers;
 
 @Mapper
 public interface BeerMapper {
     BeerMapper INSTANCE = Mappers.getMapper(BeerMapper.class);
+    @Mapping(target = "normalizedName", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "reserved", ignore = true)
     Beer toModel(BeerDTO beerDTO);
     BeerDTO toDTO(Beer beer);
 }
@@ -0,0 +1,56 @@
+package one.digitalinnovation.beerstock.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import one.digitalinnovation.beerstock.enums.MovementSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Contadores registrados no construtor: na requisição só há consulta ao EnumMap e incremento
+@Component
+public class BeerStockMetrics {
+
+    public static final String OPERATIONS = "beerstock.stock.operations";
+    public static final String UNITS = "beerstock.stock.units";
+
+    public enum Outcome { APPLIED, REJECTED, NOT_FOUND }
+
+    private static final List<MovementSource> STOCK_OPERATIONS =
+            List.of(MovementSource.INCREMENT, MovementSource.DECREMENT, MovementSource.BATCH, MovementSource.RESERVATION);
+
+    private final Map<MovementSource, Map<Outcome, Counter>> operations = new EnumMap<>(MovementSource.class);
+    private final Counter unitsIn;
+    private final Counter unitsOut;
+
+    @Autowired
+    public BeerStockMetrics(MeterRegistry registry) {
+        for (MovementSource source : STOCK_OPERATIONS) {
+            Map<Outcome, Counter> byOutcome = new EnumMap<>(Outcome.class);
+            for (Outcome outcome : Outcome.values()) {
+                byOutcome.put(outcome, Counter.builder(OPERATIONS)
+                        .description("Operações de estoque por tipo e resultado")
+                        .tag("operation", source.name().toLowerCase(Locale.ROOT))
+                        .tag("outcome", outcome.name().toLowerCase(Locale.ROOT))
+                        .register(registry));
+            }
+            operations.put(source, byOutcome);
+        }
+        unitsIn = Counter.builder(UNITS).description("Unidades movimentadas").tag("direction", "in").register(registry);
+        unitsOut = Counter.builder(UNITS).description("Unidades movimentadas").tag("direction", "out").register(registry);
+    }
+
+    public void applied(MovementSource source, int delta) {
+        operations.get(source).get(Outcome.APPLIED).increment();
+        if (delta > 0) unitsIn.increment(delta);
+        else unitsOut.increment(-delta);
+    }
+
+    public void rejected(MovementSource source, Outcome outcome) {
+        operations.get(source).get(outcome).increment();
+    }
+}
@@ -1,9 +1,83 @@
 package one.digitalinnovation.beerstock.repository;
 
+import one.digitalinnovation.beerstock.dto.StockAggregateDTO;
 import one.digitalinnovation.beerstock.entity.Beer;
+import one.digitalinnovation.beerstock.enums.BeerType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import javax.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface BeerRepository extends JpaRepository<Beer, Long> {
-    Optional<Beer> findByName(String name);
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
+public interface BeerRepository extends JpaRepository<Beer, Long>, BeerRepositoryCustom {
+    Optional<Beer> findByNormalizedName(String normalizedName);
+
+    // Paginação por chave (keyset): sem OFFSET, cada página é uma busca no índice da PK
+    @Query("select b from Beer b where b.id > :after order by b.id")
+    List<Beer> findPageAfter(@Param("after") long after, Pageable pageable);
+
+    // Cursor do JDBC lido sob demanda; precisa de transação aberta e do close() do Stream
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READONLY, value = "true")
+    })
+    @Query("select b from Beer b order by b.id")
+    Stream<Beer> streamAll();
+
+    @Query("select b.normalizedName from Beer b where b.normalizedName in :normalizedNames")
+    List<String> findExistingNormalizedNames(@Param("normalizedNames") Collection<String> normalizedNames);
+
+    // Candidatas a alerta depois de uma mudança de regra; type e id nulos não filtram
+    @Query("select b from Beer b where b.quantity <= :ratio * b.max "
+            + "and (:type is null or b.type = :type) and (:id is null or b.id = :id)")
+    List<Beer> findLowStock(@Param("ratio") double ratio, @Param("type") BeerType type, @Param("id") Long id);
+
+    // Recálculo completo dos agregados: só para a carga inicial e a reconciliação do StockAggregates
+    @Query("select new one.digitalinnovation.beerstock.dto.StockAggregateDTO(str(b.type), count(b), sum(b.quantity), sum(b.max)) "
+            + "from Beer b group by b.type")
+    List<StockAggregateDTO> aggregateByType();
+
+    @Query("select new one.digitalinnovation.beerstock.dto.StockAggregateDTO(b.brand, count(b), sum(b.quantity), sum(b.max)) "
+            + "from Beer b group by b.brand")
+    List<StockAggregateDTO> aggregateByBrand();
+
+    // Um único DELETE sem checar version, que devolve a linha removida (delta table do H2): um incremento concorrente
+    // ou entra antes e a quantidade devolvida já o inclui, ou chega depois e não acha a cerveja
+    @Query(value = "SELECT * FROM OLD TABLE (DELETE FROM beer WHERE id = :id)", nativeQuery = true)
+    Optional<Beer> deleteReturning(@Param("id") Long id);
+
+    // Atualizações condicionais: os dois limites são verificados no próprio UPDATE (mesmo com qty negativo),
+    // retorna 0 se nada mudou
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Beer b set b.quantity = b.quantity + :qty, b.version = b.version + 1 "
+            + "where b.id = :id and b.quantity + :qty between b.reserved and b.max")
+    int incrementQuantity(@Param("id") Long id, @Param("qty") int qty);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Beer b set b.quantity = b.quantity - :qty, b.version = b.version + 1 "
+            + "where b.id = :id and b.quantity - :qty between b.reserved and b.max")
+    int decrementQuantity(@Param("id") Long id, @Param("qty") int qty);
+
+    // Reservas: reserved fica sempre entre 0 e quantity; o commit baixa os dois juntos
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Beer b set b.reserved = b.reserved + :qty, b.version = b.version + 1 where b.id = :id and b.quantity - b.reserved >= :qty")
+    int reserveQuantity(@Param("id") Long id, @Param("qty") int qty);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Beer b set b.reserved = b.reserved - :qty, b.version = b.version + 1 where b.id = :id and b.reserved >= :qty")
+    int releaseQuantity(@Param("id") Long id, @Param("qty") int qty);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Beer b set b.quantity = b.quantity - :qty, b.reserved = b.reserved - :qty, b.version = b.version + 1 "
+            + "where b.id = :id and b.reserved >= :qty")
+    int commitReservedQuantity(@Param("id") Long id, @Param("qty") int qty);
 }
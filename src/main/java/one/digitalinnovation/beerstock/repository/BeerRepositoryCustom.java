@@ -0,0 +1,15 @@
+package one.digitalinnovation.beerstock.repository;
+
+import one.digitalinnovation.beerstock.dto.StockAdjustmentDTO;
+import one.digitalinnovation.beerstock.entity.Beer;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface BeerRepositoryCustom {
+    // Retorna, na mesma ordem da lista, o número de linhas alteradas por cada ajuste (0 = rejeitado)
+    int[] adjustQuantities(List<StockAdjustmentDTO> adjustments);
+
+    // Primeiras linhas em ordem de id que atendem a specification; só LIMIT, sem a contagem do findAll(spec, pageable)
+    List<Beer> search(Specification<Beer> spec, int limit);
+}
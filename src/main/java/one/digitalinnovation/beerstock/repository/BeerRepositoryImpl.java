@@ -0,0 +1,49 @@
+package one.digitalinnovation.beerstock.repository;
+
+import one.digitalinnovation.beerstock.dto.StockAdjustmentDTO;
+import one.digitalinnovation.beerstock.entity.Beer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class BeerRepositoryImpl implements BeerRepositoryCustom {
+
+    private static final String ADJUST_QUANTITY_SQL =
+            "UPDATE beer SET quantity = quantity + ?, version = version + 1 WHERE id = ? AND quantity + ? BETWEEN reserved AND max";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+
+    @Autowired
+    public BeerRepositoryImpl(JdbcTemplate jdbcTemplate, EntityManager entityManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public int[] adjustQuantities(List<StockAdjustmentDTO> adjustments) {
+        List<Object[]> args = adjustments.stream()
+                .map(a -> new Object[]{a.getDelta(), a.getId(), a.getDelta()})
+                .collect(Collectors.toList());
+        return jdbcTemplate.batchUpdate(ADJUST_QUANTITY_SQL, args);
+    }
+
+    @Override
+    public List<Beer> search(Specification<Beer> spec, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Beer> query = cb.createQuery(Beer.class);
+        Root<Beer> root = query.from(Beer.class);
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) query.where(predicate);
+        query.select(root).orderBy(cb.asc(root.get("id")));
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+}
@@ -0,0 +1,57 @@
+package one.digitalinnovation.beerstock.repository;
+
+import one.digitalinnovation.beerstock.dto.BeerSearchDTO;
+import one.digitalinnovation.beerstock.entity.Beer;
+import one.digitalinnovation.beerstock.enums.BeerType;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+
+public final class BeerSpecifications {
+
+    private BeerSpecifications() {
+    }
+
+    // Junta só os filtros informados; sem nenhum, equivale ao listAll
+    public static Specification<Beer> matching(BeerSearchDTO search) {
+        Specification<Beer> spec = Specification.where(null);
+        if (search.getType() != null && !search.getType().isEmpty()) spec = spec.and(typeIn(search.getType()));
+        if (search.getBrand() != null && !search.getBrand().isBlank()) spec = spec.and(brandIs(search.getBrand().trim()));
+        if (search.getMinQuantity() != null) spec = spec.and(quantityAtLeast(search.getMinQuantity()));
+        if (search.getMaxQuantity() != null) spec = spec.and(quantityAtMost(search.getMaxQuantity()));
+        if (search.getMinFillRatio() != null) spec = spec.and(fillRatioAtLeast(search.getMinFillRatio()));
+        if (search.getMaxFillRatio() != null) spec = spec.and(fillRatioAtMost(search.getMaxFillRatio()));
+        return spec;
+    }
+
+    // Cursor da paginação por chave, igual ao findPageAfter
+    public static Specification<Beer> idAfter(long after) {
+        return (root, query, cb) -> cb.greaterThan(root.get("id"), after);
+    }
+
+    public static Specification<Beer> typeIn(Collection<BeerType> types) {
+        return (root, query, cb) -> root.get("type").in(types);
+    }
+
+    // Igualdade exata para aproveitar o índice (brand, id)
+    public static Specification<Beer> brandIs(String brand) {
+        return (root, query, cb) -> cb.equal(root.get("brand"), brand);
+    }
+
+    public static Specification<Beer> quantityAtLeast(int quantity) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("quantity"), quantity);
+    }
+
+    public static Specification<Beer> quantityAtMost(int quantity) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("quantity"), quantity);
+    }
+
+    // quantity >= ratio * max, sem dividir por max (que pode ser 0)
+    public static Specification<Beer> fillRatioAtLeast(double ratio) {
+        return (root, query, cb) -> cb.ge(root.<Integer>get("quantity"), cb.prod(root.<Integer>get("max"), ratio));
+    }
+
+    public static Specification<Beer> fillRatioAtMost(double ratio) {
+        return (root, query, cb) -> cb.le(root.<Integer>get("quantity"), cb.prod(root.<Integer>get("max"), ratio));
+    }
+}
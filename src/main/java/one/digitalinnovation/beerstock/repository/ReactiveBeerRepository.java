@@ -0,0 +1,118 @@
+package one.digitalinnovation.beerstock.repository;
+
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import one.digitalinnovation.beerstock.entity.Beer;
+import one.digitalinnovation.beerstock.entity.StockMovement;
+import one.digitalinnovation.beerstock.enums.BeerType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+// Mesmas tabelas do mapeamento JPA, acessadas por SQL via R2DBC no perfil reactive
+@Repository
+@Profile("reactive")
+public class ReactiveBeerRepository {
+
+    private static final String SELECT_BEER =
+            "SELECT id, name, normalized_name, brand, max, quantity, reserved, type, version FROM beer";
+    private static final String INSERT_BEER =
+            "INSERT INTO beer (id, name, normalized_name, brand, max, quantity, reserved, type, version) "
+                    + "VALUES (:id, :name, :normalizedName, :brand, :max, :quantity, 0, :type, 0)";
+    private static final String ADJUST_QUANTITY_SQL =
+            "UPDATE beer SET quantity = quantity + :delta, version = version + 1 WHERE id = :id AND quantity + :delta BETWEEN reserved AND max";
+    private static final String INSERT_MOVEMENT =
+            "INSERT INTO stock_movement (id, beer_id, delta, resulting_quantity, created_at, source) "
+                    + "VALUES (NEXT VALUE FOR stock_movement_seq, :beerId, :delta, :resultingQuantity, :createdAt, :source)";
+
+    private final DatabaseClient client;
+
+    @Autowired
+    public ReactiveBeerRepository(DatabaseClient client) {
+        this.client = client;
+    }
+
+    public Mono<Beer> findById(Long id) {
+        return client.sql(SELECT_BEER + " WHERE id = :id").bind("id", id).map(ReactiveBeerRepository::toBeer).one();
+    }
+
+    public Mono<Beer> findByNormalizedName(String normalizedName) {
+        return client.sql(SELECT_BEER + " WHERE normalized_name = :normalizedName")
+                .bind("normalizedName", normalizedName)
+                .map(ReactiveBeerRepository::toBeer)
+                .one();
+    }
+
+    // Paginação por chave (keyset), igual ao findPageAfter do repositório JPA
+    public Flux<Beer> findPageAfter(long after, int limit) {
+        return client.sql(SELECT_BEER + " WHERE id > :after ORDER BY id LIMIT :limit")
+                .bind("after", after)
+                .bind("limit", limit)
+                .map(ReactiveBeerRepository::toBeer)
+                .all();
+    }
+
+    // O id é o próximo valor da sequence, sem o bloco pooled do Hibernate; a duplicidade continua barrada pela constraint única
+    public Mono<Beer> insert(Beer beer) {
+        String normalizedName = Beer.normalizeName(beer.getName());
+        return client.sql("SELECT NEXT VALUE FOR beer_seq").map(row -> row.get(0, Long.class)).one()
+                .flatMap(id -> client.sql(INSERT_BEER)
+                        .bind("id", id)
+                        .bind("name", beer.getName())
+                        .bind("normalizedName", normalizedName)
+                        .bind("brand", beer.getBrand())
+                        .bind("max", beer.getMax())
+                        .bind("quantity", beer.getQuantity())
+                        .bind("type", beer.getType().name())
+                        .fetch().rowsUpdated()
+                        .thenReturn(Beer.builder()
+                                .id(id)
+                                .name(beer.getName())
+                                .normalizedName(normalizedName)
+                                .brand(beer.getBrand())
+                                .max(beer.getMax())
+                                .quantity(beer.getQuantity())
+                                .type(beer.getType())
+                                .version(0L)
+                                .build()));
+    }
+
+    public Mono<Integer> deleteById(Long id) {
+        return client.sql("DELETE FROM beer WHERE id = :id").bind("id", id).fetch().rowsUpdated();
+    }
+
+    // Atualização condicional: o limite é verificado no próprio UPDATE, retorna 0 se nada mudou
+    public Mono<Integer> adjustQuantity(Long id, int delta) {
+        return client.sql(ADJUST_QUANTITY_SQL).bind("delta", delta).bind("id", id).fetch().rowsUpdated();
+    }
+
+    public Mono<Integer> insertMovement(StockMovement movement) {
+        return client.sql(INSERT_MOVEMENT)
+                .bind("beerId", movement.getBeerId())
+                .bind("delta", movement.getDelta())
+                .bind("resultingQuantity", movement.getResultingQuantity())
+                .bind("createdAt", LocalDateTime.ofInstant(movement.getCreatedAt(), ZoneId.systemDefault()))
+                .bind("source", movement.getSource().name())
+                .fetch().rowsUpdated();
+    }
+
+    private static Beer toBeer(Row row, RowMetadata metadata) {
+        return Beer.builder()
+                .id(row.get("id", Long.class))
+                .name(row.get("name", String.class))
+                .normalizedName(row.get("normalized_name", String.class))
+                .brand(row.get("brand", String.class))
+                .max(row.get("max", Integer.class))
+                .quantity(row.get("quantity", Integer.class))
+                .reserved(row.get("reserved", Integer.class))
+                .type(BeerType.valueOf(row.get("type", String.class)))
+                .version(row.get("version", Long.class))
+                .build();
+    }
+}
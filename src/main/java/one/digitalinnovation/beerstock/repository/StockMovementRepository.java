@@ -0,0 +1,29 @@
+package one.digitalinnovation.beerstock.repository;
+
+import one.digitalinnovation.beerstock.entity.StockMovement;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface StockMovementRepository extends JpaRepository<StockMovement, Long> {
+
+    // Cursor keyset (created_at, id): movimentos com o mesmo instante não se repetem entre páginas.
+    // Ambas as consultas usam o índice (beer_id, created_at): custo independe do tamanho do ledger
+    @Query("select m from StockMovement m where m.beerId = :beerId " +
+            "and (m.createdAt > :from or (m.createdAt = :from and m.id > :afterId)) and m.createdAt < :to " +
+            "order by m.createdAt, m.id")
+    List<StockMovement> findRange(@Param("beerId") Long beerId, @Param("from") Instant from, @Param("afterId") long afterId,
+                                  @Param("to") Instant to, Pageable pageable);
+
+    // Replay do saldo de abertura: só os deltas entre o snapshot (since) e o cursor, pelo mesmo índice
+    @Query("select sum(m.delta) from StockMovement m where m.beerId = :beerId and m.createdAt >= :since " +
+            "and (m.createdAt < :from or (m.createdAt = :from and m.id <= :afterId))")
+    Long sumDeltas(@Param("beerId") Long beerId, @Param("since") Instant since, @Param("from") Instant from,
+                   @Param("afterId") long afterId);
+
+    boolean existsByBeerId(Long beerId);
+}
@@ -0,0 +1,23 @@
+package one.digitalinnovation.beerstock.repository;
+
+import one.digitalinnovation.beerstock.entity.StockReservation;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface StockReservationRepository extends JpaRepository<StockReservation, Long> {
+
+    // Commit, release e expiração disputam a mesma reserva: só quem remove a linha (retorno 1) segue adiante
+    @Modifying(flushAutomatically = true)
+    @Query("delete from StockReservation r where r.id = :id")
+    int claim(@Param("id") Long id);
+
+    // Varredura de recuperação: usa o índice em expires_at e só lê o que já venceu
+    @Query("select r.id from StockReservation r where r.expiresAt <= :before order by r.expiresAt")
+    List<Long> findExpiredIds(@Param("before") Instant before, Pageable pageable);
+}
@@ -0,0 +1,27 @@
+package one.digitalinnovation.beerstock.repository;
+
+import one.digitalinnovation.beerstock.entity.StockSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Optional;
+
+public interface StockSnapshotRepository extends JpaRepository<StockSnapshot, Long> {
+
+    // Checkpoint do ledger: quantidade = snapshot anterior + deltas dos movimentos ainda não cobertos com created_at < cut.
+    // Só cervejas com movimento novo ganham linha; o snapshot cobre exatamente os movimentos com created_at < taken_at
+    @Modifying
+    @Query(value = "INSERT INTO stock_snapshot (beer_id, quantity, taken_at) " +
+            "SELECT m.beer_id, COALESCE((SELECT s.quantity FROM stock_snapshot s WHERE s.beer_id = m.beer_id " +
+            "AND s.taken_at = (SELECT MAX(l.taken_at) FROM stock_snapshot l WHERE l.beer_id = m.beer_id)), 0) + SUM(m.delta), :cut " +
+            "FROM stock_movement m WHERE m.created_at < :cut " +
+            "AND NOT EXISTS (SELECT 1 FROM stock_snapshot c WHERE c.beer_id = m.beer_id AND c.taken_at > m.created_at) " +
+            "GROUP BY m.beer_id",
+            nativeQuery = true)
+    int snapshotMovements(@Param("cut") Instant cut);
+
+    Optional<StockSnapshot> findFirstByBeerIdAndTakenAtLessThanEqualOrderByTakenAtDesc(Long beerId, Instant at);
+}
@@ -0,0 +1,63 @@
+package one.digitalinnovation.beerstock.reservation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Roda de tempo com hash: agendar é O(1) e cada tick visita só os baldes vencidos.
+// Nunca entrega antes do prazo, até um tick depois; sem cancelamento
+public class TimingWheel<T> {
+
+    private final long tickMillis;
+    private final int mask;
+    private final List<List<Entry<T>>> buckets;
+    private long currentTick;
+    private int size;
+
+    public TimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (tickMillis <= 0) throw new IllegalArgumentException("tickMillis must be positive");
+        if (wheelSize <= 0 || Integer.bitCount(wheelSize) != 1) throw new IllegalArgumentException("wheelSize must be a power of two");
+        this.tickMillis = tickMillis;
+        this.mask = wheelSize - 1;
+        this.buckets = new ArrayList<>(wheelSize);
+        for (int i = 0; i < wheelSize; i++) buckets.add(new ArrayList<>());
+        this.currentTick = Math.floorDiv(startMillis, tickMillis);
+    }
+
+    // Prazo já vencido entra no próximo tick: sai no próximo advance
+    public synchronized void schedule(T item, long deadlineMillis) {
+        long tick = Math.max(Math.floorDiv(deadlineMillis + tickMillis - 1, tickMillis), currentTick + 1);
+        buckets.get((int) (tick & mask)).add(new Entry<>(item, tick));
+        size++;
+    }
+
+    public synchronized List<T> advance(long nowMillis) {
+        long target = Math.floorDiv(nowMillis, tickMillis);
+        List<T> expired = new ArrayList<>();
+        // Depois de uma pausa maior que uma volta, cada balde é visitado uma vez só
+        long steps = Math.min(target - currentTick, mask + 1L);
+        for (long tick = currentTick + 1; tick <= currentTick + steps; tick++) {
+            buckets.get((int) (tick & mask)).removeIf(entry -> {
+                if (entry.tick > target) return false;
+                expired.add(entry.item);
+                return true;
+            });
+        }
+        currentTick = Math.max(currentTick, target);
+        size -= expired.size();
+        return expired;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    private static final class Entry<T> {
+        private final T item;
+        private final long tick;
+
+        private Entry(T item, long tick) {
+            this.item = item;
+            this.tick = tick;
+        }
+    }
+}
@@ -1,62 +1,291 @@
 package one.digitalinnovation.beerstock.service;
 
+import one.digitalinnovation.beerstock.cache.BeerNameCache;
+import one.digitalinnovation.beerstock.datasource.RoutingDataSource;
 import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.dto.BeerPageDTO;
+import one.digitalinnovation.beerstock.dto.BeerSearchDTO;
+import one.digitalinnovation.beerstock.dto.CacheStatsDTO;
+import one.digitalinnovation.beerstock.dto.StockAdjustmentDTO;
+import one.digitalinnovation.beerstock.dto.StockAdjustmentResultDTO;
 import one.digitalinnovation.beerstock.entity.Beer;
+import one.digitalinnovation.beerstock.entity.StockMovement;
+import one.digitalinnovation.beerstock.enums.ChangeType;
+import one.digitalinnovation.beerstock.enums.MovementSource;
+import one.digitalinnovation.beerstock.enums.StockAdjustmentStatus;
 import one.digitalinnovation.beerstock.exception.*;
+import one.digitalinnovation.beerstock.feed.BeerChangedEvent;
+import one.digitalinnovation.beerstock.feed.BeersImportedEvent;
 import one.digitalinnovation.beerstock.mapper.BeerMapper;
+import one.digitalinnovation.beerstock.metrics.BeerStockMetrics;
 import one.digitalinnovation.beerstock.repository.BeerRepository;
+import one.digitalinnovation.beerstock.repository.BeerSpecifications;
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
+@Profile("!reactive")
 public class BeerService {
 
+    public static final int MAX_PAGE_SIZE = 1000;
+
     private final BeerRepository repo;
+    private final EntityManager entityManager;
+    private final BeerNameCache nameCache;
+    private final StockLedgerService ledger;
+    private final ApplicationEventPublisher events;
+    private final BeerStockMetrics metrics;
     private final BeerMapper mapper = BeerMapper.INSTANCE;
 
     @Autowired
-    public BeerService(BeerRepository repo) {
+    public BeerService(BeerRepository repo, EntityManager entityManager, BeerNameCache nameCache,
+                       StockLedgerService ledger, ApplicationEventPublisher events, BeerStockMetrics metrics) {
         this.repo = repo;
+        this.entityManager = entityManager;
+        this.nameCache = nameCache;
+        this.ledger = ledger;
+        this.events = events;
+        this.metrics = metrics;
     }
 
+    // A duplicidade é detectada pela constraint única no insert, sem consulta prévia
+    @Transactional(rollbackFor = BeerAlreadyRegisteredException.class)
     public BeerDTO createBeer(BeerDTO dto) throws BeerAlreadyRegisteredException {
-        if (repo.findByName(dto.getName()).isPresent()) {
-            throw new BeerAlreadyRegisteredException(dto.getName());
+        BeerDTO created;
+        try {
+            Beer beer = mapper.toModel(dto);
+            beer.setId(null);
+            created = mapper.toDTO(repo.saveAndFlush(beer));
+        } catch (DataIntegrityViolationException e) {
+            if (isDuplicateName(e)) throw new BeerAlreadyRegisteredException(dto.getName());
+            throw e;
+        }
+        ledger.record(created.getId(), created.getQuantity(), created.getQuantity(), MovementSource.CREATE);
+        events.publishEvent(new BeerChangedEvent(ChangeType.CREATED, created, created.getQuantity()));
+        nameCache.invalidate(Beer.normalizeName(created.getName()));
+        return created;
+    }
+
+    // Uma única consulta para todos os nomes; os inserts saem em batch (ids de sequence)
+    @Transactional(rollbackFor = BeerAlreadyRegisteredException.class)
+    public List<BeerDTO> createBeers(List<BeerDTO> dtos) throws BeerAlreadyRegisteredException {
+        return insertAll(dtos, false);
+    }
+
+    // Como createBeers, mas o feed recebe um único resumo do bloco em vez de um CREATED por cerveja
+    @Transactional(rollbackFor = BeerAlreadyRegisteredException.class)
+    public List<BeerDTO> importBeers(List<BeerDTO> dtos) throws BeerAlreadyRegisteredException {
+        List<BeerDTO> created = insertAll(dtos, true);
+        events.publishEvent(new BeersImportedEvent(created.size(), created.stream().mapToInt(BeerDTO::getQuantity).sum()));
+        return created;
+    }
+
+    private List<BeerDTO> insertAll(List<BeerDTO> dtos, boolean bulk) throws BeerAlreadyRegisteredException {
+        Set<String> names = new HashSet<>();
+        for (BeerDTO dto : dtos) {
+            if (!names.add(Beer.normalizeName(dto.getName()))) throw new BeerAlreadyRegisteredException(dto.getName());
+        }
+        List<String> existing = repo.findExistingNormalizedNames(names);
+        if (!existing.isEmpty()) throw new BeerAlreadyRegisteredException(existing.get(0));
+
+        List<Beer> beers = dtos.stream().map(mapper::toModel).collect(Collectors.toList());
+        beers.forEach(b -> b.setId(null));
+        List<BeerDTO> created;
+        try {
+            created = repo.saveAll(beers).stream().map(mapper::toDTO).collect(Collectors.toList());
+            repo.flush();
+        } catch (DataIntegrityViolationException e) {
+            // Corrida com outro insert entre a consulta e o flush: o lote inteiro é desfeito
+            if (isDuplicateName(e)) throw new BeerAlreadyRegisteredException(String.join(", ", names));
+            throw e;
         }
-        return mapper.toDTO(repo.save(mapper.toModel(dto)));
+        ledger.recordAll(created.stream()
+                .map(dto -> StockMovement.of(dto.getId(), dto.getQuantity(), dto.getQuantity(), MovementSource.CREATE))
+                .collect(Collectors.toList()));
+        created.forEach(dto -> events.publishEvent(new BeerChangedEvent(ChangeType.CREATED, dto, dto.getQuantity(), bulk)));
+        names.forEach(nameCache::invalidate);
+        return created;
     }
 
     // LINHA 33/35: Deve usar a exceção que aceita String
+    // A falta no cache lê do primário: logo depois de uma invalidação, a réplica atrasada recolocaria o valor antigo
     public BeerDTO findByName(String name) throws BeerNotFoundException {
-        return mapper.toDTO(repo.findByName(name).orElseThrow(() -> new BeerNotFoundException(name)));
+        return nameCache.get(Beer.normalizeName(name),
+                        n -> RoutingDataSource.primary(() -> repo.findByNormalizedName(n)).map(mapper::toDTO))
+                .orElseThrow(() -> new BeerNotFoundException(name));
     }
 
-    public List<BeerDTO> listAll() {
-        return repo.findAll().stream().map(mapper::toDTO).collect(Collectors.toList());
+    public CacheStatsDTO nameCacheStats() {
+        return nameCache.stats();
     }
 
+    @Transactional(readOnly = true)
+    public BeerPageDTO listAll(Long after, int limit) {
+        int size = pageSize(limit);
+        // Busca um registro a mais só para saber se existe próxima página
+        return page(repo.findPageAfter(after == null ? 0L : after, PageRequest.of(0, size + 1)), size);
+    }
+
+    // Mesma paginação por chave do listAll, com os filtros aplicados no banco
+    @Transactional(readOnly = true)
+    public BeerPageDTO search(BeerSearchDTO search, Long after, int limit) {
+        int size = pageSize(limit);
+        Specification<Beer> spec = BeerSpecifications.matching(search).and(BeerSpecifications.idAfter(after == null ? 0L : after));
+        return page(repo.search(spec, size + 1), size);
+    }
+
+    private static int pageSize(int limit) {
+        return Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+    }
+
+    private BeerPageDTO page(List<Beer> beers, int size) {
+        boolean hasNext = beers.size() > size;
+        List<BeerDTO> content = beers.stream().limit(size).map(mapper::toDTO).collect(Collectors.toList());
+        return BeerPageDTO.builder()
+                .content(content)
+                .nextCursor(hasNext ? content.get(size - 1).getId() : null)
+                .build();
+    }
+
+    // Percorre a tabela inteira sem acumular nada: cada entidade é desanexada assim que é escrita
+    @Transactional(readOnly = true)
+    public void exportAll(Consumer<BeerDTO> sink) {
+        try (Stream<Beer> beers = repo.streamAll()) {
+            beers.forEach(b -> {
+                sink.accept(mapper.toDTO(b));
+                entityManager.detach(b);
+            });
+        }
+    }
+
+    @Transactional
     public void deleteById(Long id) throws BeerNotFoundException {
         // Usa a exceção que aceita Long
-        repo.findById(id).orElseThrow(() -> new BeerNotFoundException(id));
-        repo.deleteById(id);
+        Beer b = repo.deleteReturning(id).orElseThrow(() -> new BeerNotFoundException(id));
+        ledger.record(id, -b.getQuantity(), 0, MovementSource.DELETE);
+        events.publishEvent(new BeerChangedEvent(ChangeType.DELETED, mapper.toDTO(b), -b.getQuantity()));
+        nameCache.invalidate(Beer.normalizeName(b.getName()));
     }
 
+    @Transactional
     public BeerDTO increment(Long id, int qty) throws BeerNotFoundException, BeerStockExceededException {
-        Beer b = repo.findById(id).orElseThrow(() -> new BeerNotFoundException(id));
-        int n = b.getQuantity() + qty;
-        if (n > b.getMax()) throw new BeerStockExceededException(id, n); 
-        b.setQuantity(n);
-        return mapper.toDTO(repo.save(b));
+        if (repo.incrementQuantity(id, qty) == 0) throw rejected(id, qty, MovementSource.INCREMENT);
+        return updated(id, qty, MovementSource.INCREMENT);
     }
 
+    @Transactional
     public BeerDTO decrement(Long id, int qty) throws BeerNotFoundException, BeerStockExceededException {
-        Beer b = repo.findById(id).orElseThrow(() -> new BeerNotFoundException(id));
-        int n = b.getQuantity() - qty;
-        if (n < 0) throw new BeerStockExceededException(id, n); 
-        b.setQuantity(n);
-        return mapper.toDTO(repo.save(b));
+        if (repo.decrementQuantity(id, qty) == 0) throw rejected(id, -qty, MovementSource.DECREMENT);
+        return updated(id, -qty, MovementSource.DECREMENT);
+    }
+
+    // Nenhuma linha alterada: ou a cerveja não existe, ou o limite barrou a operação
+    private BeerStockExceededException rejected(Long id, int delta, MovementSource source) throws BeerNotFoundException {
+        Beer b = repo.findById(id).orElse(null);
+        if (b == null) {
+            metrics.rejected(source, BeerStockMetrics.Outcome.NOT_FOUND);
+            throw new BeerNotFoundException(id);
+        }
+        metrics.rejected(source, BeerStockMetrics.Outcome.REJECTED);
+        return new BeerStockExceededException(id, b.getQuantity() + delta);
+    }
+
+    private BeerDTO updated(Long id, int delta, MovementSource source) throws BeerNotFoundException {
+        BeerDTO dto = mapper.toDTO(repo.findById(id).orElseThrow(() -> new BeerNotFoundException(id)));
+        ledger.record(id, delta, dto.getQuantity(), source);
+        metrics.applied(source, delta);
+        events.publishEvent(new BeerChangedEvent(ChangeType.QUANTITY_CHANGED, dto, delta));
+        nameCache.invalidate(Beer.normalizeName(dto.getName()));
+        return dto;
+    }
+
+    // Aplica todos os ajustes em um único batch JDBC; atomic = tudo ou nada, senão resultado por item
+    @Transactional(rollbackFor = {BeerNotFoundException.class, BeerStockExceededException.class})
+    public List<StockAdjustmentResultDTO> adjustStock(List<StockAdjustmentDTO> adjustments, boolean atomic)
+            throws BeerNotFoundException, BeerStockExceededException {
+        int[] counts = repo.adjustQuantities(adjustments);
+        Set<Long> ids = adjustments.stream().map(StockAdjustmentDTO::getId).collect(Collectors.toSet());
+        Map<Long, Beer> beers = repo.findAllById(ids).stream().collect(Collectors.toMap(Beer::getId, Function.identity()));
+
+        int[] quantities = quantitiesAfter(adjustments, counts, beers);
+        List<StockAdjustmentResultDTO> results = new ArrayList<>(adjustments.size());
+        List<StockMovement> movements = new ArrayList<>();
+        for (int i = 0; i < adjustments.size(); i++) {
+            StockAdjustmentDTO adjustment = adjustments.get(i);
+            Beer b = beers.get(adjustment.getId());
+            StockAdjustmentStatus status = counts[i] > 0 ? StockAdjustmentStatus.APPLIED
+                    : b == null ? StockAdjustmentStatus.NOT_FOUND : StockAdjustmentStatus.STOCK_EXCEEDED;
+            if (status != StockAdjustmentStatus.APPLIED) {
+                metrics.rejected(MovementSource.BATCH, b == null ? BeerStockMetrics.Outcome.NOT_FOUND : BeerStockMetrics.Outcome.REJECTED);
+            }
+            if (atomic && status == StockAdjustmentStatus.NOT_FOUND) throw new BeerNotFoundException(adjustment.getId());
+            if (atomic && status == StockAdjustmentStatus.STOCK_EXCEEDED) {
+                throw new BeerStockExceededException(adjustment.getId(), quantities[i] + adjustment.getDelta());
+            }
+            if (status == StockAdjustmentStatus.APPLIED) {
+                nameCache.invalidate(Beer.normalizeName(b.getName()));
+                movements.add(StockMovement.of(adjustment.getId(), adjustment.getDelta(), quantities[i], MovementSource.BATCH));
+            }
+            results.add(StockAdjustmentResultDTO.builder()
+                    .id(adjustment.getId())
+                    .delta(adjustment.getDelta())
+                    .status(status)
+                    .quantity(b == null ? null : quantities[i])
+                    .build());
+        }
+        ledger.recordAll(movements);
+        for (StockMovement movement : movements) {
+            metrics.applied(MovementSource.BATCH, movement.getDelta());
+            BeerDTO dto = mapper.toDTO(beers.get(movement.getBeerId()));
+            dto.setQuantity(movement.getResultingQuantity());
+            events.publishEvent(new BeerChangedEvent(ChangeType.QUANTITY_CHANGED, dto, movement.getDelta()));
+        }
+        return results;
+    }
+
+    // Quantidade logo depois de cada item (a mesma contra a qual um item recusado foi conferido):
+    // parte do valor final e desfaz os ajustes aplicados de trás para frente
+    private static int[] quantitiesAfter(List<StockAdjustmentDTO> adjustments, int[] counts, Map<Long, Beer> beers) {
+        Map<Long, Integer> running = new HashMap<>();
+        beers.forEach((id, b) -> running.put(id, b.getQuantity()));
+        int[] quantities = new int[adjustments.size()];
+        for (int i = adjustments.size() - 1; i >= 0; i--) {
+            StockAdjustmentDTO adjustment = adjustments.get(i);
+            Integer quantity = running.get(adjustment.getId());
+            if (quantity == null) continue;
+            quantities[i] = quantity;
+            if (counts[i] > 0) running.put(adjustment.getId(), quantity - adjustment.getDelta());
+        }
+        return quantities;
+    }
+
+    private static boolean isDuplicateName(DataIntegrityViolationException e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof ConstraintViolationException) {
+                String constraint = ((ConstraintViolationException) t).getConstraintName();
+                return constraint != null && constraint.toLowerCase(Locale.ROOT).contains(Beer.NORMALIZED_NAME_CONSTRAINT);
+            }
+        }
+        return false;
     }
 }
@@ -0,0 +1,142 @@
+package one.digitalinnovation.beerstock.service;
+
+import one.digitalinnovation.beerstock.cache.BeerNameCache;
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.dto.BeerPageDTO;
+import one.digitalinnovation.beerstock.entity.Beer;
+import one.digitalinnovation.beerstock.entity.StockMovement;
+import one.digitalinnovation.beerstock.enums.ChangeType;
+import one.digitalinnovation.beerstock.enums.MovementSource;
+import one.digitalinnovation.beerstock.exception.BeerAlreadyRegisteredException;
+import one.digitalinnovation.beerstock.exception.BeerNotFoundException;
+import one.digitalinnovation.beerstock.exception.BeerStockExceededException;
+import one.digitalinnovation.beerstock.feed.BeerChangedEvent;
+import one.digitalinnovation.beerstock.mapper.BeerMapper;
+import one.digitalinnovation.beerstock.metrics.BeerStockMetrics;
+import one.digitalinnovation.beerstock.repository.ReactiveBeerRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+// Variante não bloqueante do BeerService (perfil reactive); eventos e cache só depois do commit reativo
+@Service
+@Profile("reactive")
+public class ReactiveBeerService {
+
+    private final ReactiveBeerRepository repo;
+    private final TransactionalOperator tx;
+    private final BeerNameCache nameCache;
+    private final ApplicationEventPublisher events;
+    private final BeerStockMetrics metrics;
+    private final BeerMapper mapper = BeerMapper.INSTANCE;
+
+    @Autowired
+    public ReactiveBeerService(ReactiveBeerRepository repo, TransactionalOperator tx, BeerNameCache nameCache,
+                               ApplicationEventPublisher events, BeerStockMetrics metrics) {
+        this.repo = repo;
+        this.tx = tx;
+        this.nameCache = nameCache;
+        this.events = events;
+        this.metrics = metrics;
+    }
+
+    public Mono<BeerDTO> createBeer(BeerDTO dto) {
+        return repo.insert(mapper.toModel(dto))
+                .flatMap(b -> repo.insertMovement(StockMovement.of(b.getId(), b.getQuantity(), b.getQuantity(), MovementSource.CREATE))
+                        .thenReturn(b))
+                .as(tx::transactional)
+                .onErrorMap(DataIntegrityViolationException.class,
+                        e -> isDuplicateName(e) ? new BeerAlreadyRegisteredException(dto.getName()) : e)
+                .map(mapper::toDTO)
+                .doOnNext(created -> {
+                    events.publishEvent(new BeerChangedEvent(ChangeType.CREATED, created, created.getQuantity()));
+                    nameCache.invalidate(Beer.normalizeName(created.getName()));
+                });
+    }
+
+    public Mono<BeerDTO> findByName(String name) {
+        return nameCache.getAsync(Beer.normalizeName(name),
+                        n -> repo.findByNormalizedName(n).map(mapper::toDTO).map(Optional::of).defaultIfEmpty(Optional.empty()))
+                .flatMap(found -> Mono.justOrEmpty(found))
+                .switchIfEmpty(Mono.error(() -> new BeerNotFoundException(name)));
+    }
+
+    public Mono<BeerPageDTO> listAll(Long after, int limit) {
+        int size = Math.min(Math.max(limit, 1), BeerService.MAX_PAGE_SIZE);
+        // Busca um registro a mais só para saber se existe próxima página
+        return repo.findPageAfter(after == null ? 0L : after, size + 1)
+                .map(mapper::toDTO)
+                .collectList()
+                .map(beers -> {
+                    boolean hasNext = beers.size() > size;
+                    List<BeerDTO> content = beers.stream().limit(size).collect(Collectors.toList());
+                    return BeerPageDTO.builder()
+                            .content(content)
+                            .nextCursor(hasNext ? content.get(size - 1).getId() : null)
+                            .build();
+                });
+    }
+
+    public Mono<Void> deleteById(Long id) {
+        return repo.findById(id)
+                .switchIfEmpty(Mono.error(() -> new BeerNotFoundException(id)))
+                .flatMap(b -> repo.deleteById(id)
+                        .then(repo.insertMovement(StockMovement.of(id, -b.getQuantity(), 0, MovementSource.DELETE)))
+                        .thenReturn(b))
+                .as(tx::transactional)
+                .doOnNext(b -> {
+                    events.publishEvent(new BeerChangedEvent(ChangeType.DELETED, mapper.toDTO(b), -b.getQuantity()));
+                    nameCache.invalidate(b.getNormalizedName());
+                })
+                .then();
+    }
+
+    public Mono<BeerDTO> increment(Long id, int qty) {
+        return adjust(id, qty, MovementSource.INCREMENT);
+    }
+
+    public Mono<BeerDTO> decrement(Long id, int qty) {
+        return adjust(id, -qty, MovementSource.DECREMENT);
+    }
+
+    private Mono<BeerDTO> adjust(Long id, int delta, MovementSource source) {
+        return repo.adjustQuantity(id, delta)
+                .flatMap(count -> count == 0 ? rejected(id, delta, source) : repo.findById(id))
+                .flatMap(b -> repo.insertMovement(StockMovement.of(id, delta, b.getQuantity(), source)).thenReturn(b))
+                .as(tx::transactional)
+                .map(mapper::toDTO)
+                .doOnNext(dto -> {
+                    metrics.applied(source, delta);
+                    events.publishEvent(new BeerChangedEvent(ChangeType.QUANTITY_CHANGED, dto, delta));
+                    nameCache.invalidate(Beer.normalizeName(dto.getName()));
+                });
+    }
+
+    // Nenhuma linha alterada: ou a cerveja não existe, ou o limite barrou a operação
+    private Mono<Beer> rejected(Long id, int delta, MovementSource source) {
+        return repo.findById(id)
+                .switchIfEmpty(Mono.defer(() -> {
+                    metrics.rejected(source, BeerStockMetrics.Outcome.NOT_FOUND);
+                    return Mono.error(new BeerNotFoundException(id));
+                }))
+                .flatMap(b -> {
+                    metrics.rejected(source, BeerStockMetrics.Outcome.REJECTED);
+                    return Mono.error(new BeerStockExceededException(id, b.getQuantity() + delta));
+                });
+    }
+
+    // O driver R2DBC não expõe o nome da constraint separado, só na mensagem
+    private static boolean isDuplicateName(DataIntegrityViolationException e) {
+        String message = e.getMessage();
+        return message != null && message.toLowerCase(Locale.ROOT).contains(Beer.NORMALIZED_NAME_CONSTRAINT);
+    }
+}
@@ -0,0 +1,232 @@
+package one.digitalinnovation.beerstock.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import one.digitalinnovation.beerstock.cache.BeerNameCache;
+import one.digitalinnovation.beerstock.datasource.RoutingDataSource;
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.dto.ReservationDTO;
+import one.digitalinnovation.beerstock.entity.Beer;
+import one.digitalinnovation.beerstock.entity.StockReservation;
+import one.digitalinnovation.beerstock.enums.ChangeType;
+import one.digitalinnovation.beerstock.enums.MovementSource;
+import one.digitalinnovation.beerstock.exception.BeerNotFoundException;
+import one.digitalinnovation.beerstock.exception.InsufficientStockException;
+import one.digitalinnovation.beerstock.exception.ReservationNotFoundException;
+import one.digitalinnovation.beerstock.feed.BeerChangedEvent;
+import one.digitalinnovation.beerstock.mapper.BeerMapper;
+import one.digitalinnovation.beerstock.metrics.BeerStockMetrics;
+import one.digitalinnovation.beerstock.repository.BeerRepository;
+import one.digitalinnovation.beerstock.repository.StockReservationRepository;
+import one.digitalinnovation.beerstock.reservation.TimingWheel;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Reservas para o checkout: reserve prende unidades, commit baixa do estoque, release devolve.
+// Expiração pela TimingWheel local; a varredura periódica libera as que ficaram para trás
+@Service
+@Profile("!reactive")
+public class ReservationService {
+
+    public static final String RESERVATIONS = "beerstock.reservations";
+    public static final String SCHEDULED = "beerstock.reservations.scheduled";
+
+    static final int WHEEL_SIZE = 512;
+    static final int EXPIRY_BATCH_SIZE = 500;
+
+    public enum Outcome { RESERVED, COMMITTED, RELEASED, EXPIRED }
+
+    private final BeerRepository beerRepo;
+    private final StockReservationRepository reservationRepo;
+    private final StockLedgerService ledger;
+    private final BeerNameCache nameCache;
+    private final ApplicationEventPublisher events;
+    private final BeerStockMetrics stockMetrics;
+    private final TransactionTemplate transaction;
+    private final Duration defaultTtl;
+    private final Duration maxTtl;
+    private final long tickMillis;
+    private final Clock clock;
+    private final TimingWheel<Long> wheel;
+    private final Map<Outcome, Counter> outcomes = new EnumMap<>(Outcome.class);
+    private final BeerMapper mapper = BeerMapper.INSTANCE;
+
+    @Autowired
+    public ReservationService(BeerRepository beerRepo, StockReservationRepository reservationRepo, StockLedgerService ledger,
+                              BeerNameCache nameCache, ApplicationEventPublisher events, BeerStockMetrics stockMetrics,
+                              PlatformTransactionManager transactionManager, MeterRegistry registry,
+                              @Value("${beerstock.reservations.default-ttl:PT15M}") Duration defaultTtl,
+                              @Value("${beerstock.reservations.max-ttl:PT1H}") Duration maxTtl,
+                              @Value("${beerstock.reservations.tick:PT1S}") Duration tick) {
+        this(beerRepo, reservationRepo, ledger, nameCache, events, stockMetrics, transactionManager, registry,
+                defaultTtl, maxTtl, tick, Clock.systemUTC());
+    }
+
+    ReservationService(BeerRepository beerRepo, StockReservationRepository reservationRepo, StockLedgerService ledger,
+                       BeerNameCache nameCache, ApplicationEventPublisher events, BeerStockMetrics stockMetrics,
+                       PlatformTransactionManager transactionManager, MeterRegistry registry,
+                       Duration defaultTtl, Duration maxTtl, Duration tick, Clock clock) {
+        this.beerRepo = beerRepo;
+        this.reservationRepo = reservationRepo;
+        this.ledger = ledger;
+        this.nameCache = nameCache;
+        this.events = events;
+        this.stockMetrics = stockMetrics;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.defaultTtl = defaultTtl;
+        this.maxTtl = maxTtl;
+        this.tickMillis = tick.toMillis();
+        this.clock = clock;
+        this.wheel = new TimingWheel<>(tick.toMillis(), WHEEL_SIZE, clock.millis());
+        for (Outcome outcome : Outcome.values()) {
+            outcomes.put(outcome, Counter.builder(RESERVATIONS)
+                    .description("Reservas de estoque por resultado")
+                    .tag("outcome", outcome.name().toLowerCase(Locale.ROOT))
+                    .register(registry));
+        }
+        Gauge.builder(SCHEDULED, wheel, TimingWheel::size)
+                .description("Reservas na roda de expiração (inclui as já resolvidas que ainda não venceram)")
+                .register(registry);
+    }
+
+    // Reservas que sobreviveram a um restart; as vencidas saem no primeiro tick
+    @PostConstruct
+    public void load() {
+        RoutingDataSource.primary(reservationRepo::findAll)
+                .forEach(r -> wheel.schedule(r.getId(), r.getExpiresAt().toEpochMilli()));
+    }
+
+    @Transactional
+    public ReservationDTO reserve(ReservationDTO request) throws BeerNotFoundException, InsufficientStockException {
+        Long beerId = request.getBeerId();
+        int qty = request.getQuantity();
+        if (beerRepo.reserveQuantity(beerId, qty) == 0) {
+            Beer b = beerRepo.findById(beerId).orElseThrow(() -> new BeerNotFoundException(beerId));
+            throw new InsufficientStockException(beerId, b.getQuantity() - b.getReserved());
+        }
+        Instant expiresAt = clock.instant().plus(ttl(request.getTtlSeconds()));
+        StockReservation reservation = reservationRepo.save(StockReservation.builder()
+                .beerId(beerId)
+                .quantity(qty)
+                .expiresAt(expiresAt)
+                .build());
+        changed(beerId, 0, ChangeType.RESERVATION_CHANGED);
+        // Agendada antes do commit: se a transação for desfeita, a expiração não acha a linha e não faz nada
+        wheel.schedule(reservation.getId(), expiresAt.toEpochMilli());
+        outcomes.get(Outcome.RESERVED).increment();
+        return toDTO(reservation);
+    }
+
+    @Transactional(readOnly = true)
+    public ReservationDTO findById(Long id) throws ReservationNotFoundException {
+        return reservationRepo.findById(id).map(ReservationService::toDTO).orElseThrow(() -> new ReservationNotFoundException(id));
+    }
+
+    @Transactional
+    public BeerDTO commit(Long id) throws ReservationNotFoundException, BeerNotFoundException {
+        StockReservation reservation = claim(id);
+        if (beerRepo.commitReservedQuantity(reservation.getBeerId(), reservation.getQuantity()) == 0) {
+            throw new BeerNotFoundException(reservation.getBeerId());
+        }
+        BeerDTO beer = changed(reservation.getBeerId(), -reservation.getQuantity(), ChangeType.QUANTITY_CHANGED);
+        ledger.record(beer.getId(), -reservation.getQuantity(), beer.getQuantity(), MovementSource.RESERVATION);
+        stockMetrics.applied(MovementSource.RESERVATION, -reservation.getQuantity());
+        outcomes.get(Outcome.COMMITTED).increment();
+        return beer;
+    }
+
+    @Transactional
+    public void release(Long id) throws ReservationNotFoundException {
+        releaseHold(claim(id), Outcome.RELEASED);
+    }
+
+    // Em lotes, cada um na sua transação: uma leva grande de vencimentos não vira uma transação enorme.
+    // A roda já soltou os ids: se um lote falhar, ele e os seguintes voltam para o próximo tick
+    @Scheduled(fixedDelayString = "${beerstock.reservations.tick:PT1S}")
+    public void expireDue() {
+        List<Long> due = wheel.advance(clock.millis());
+        for (int from = 0; from < due.size(); from += EXPIRY_BATCH_SIZE) {
+            List<Long> batch = due.subList(from, Math.min(from + EXPIRY_BATCH_SIZE, due.size()));
+            try {
+                transaction.executeWithoutResult(status -> expire(batch));
+            } catch (RuntimeException e) {
+                long retryAt = clock.millis() + tickMillis;
+                due.subList(from, due.size()).forEach(id -> wheel.schedule(id, retryAt));
+                throw e;
+            }
+        }
+    }
+
+    // Recuperação: reservas que nenhuma roda vai expirar (instância que saiu do ar, falha antes do commit do reserve)
+    @Scheduled(fixedDelayString = "${beerstock.reservations.sweep-interval:PT1M}",
+            initialDelayString = "${beerstock.reservations.sweep-interval:PT1M}")
+    public void sweepExpired() {
+        Instant before = clock.instant().minusMillis(tickMillis);
+        List<Long> expired;
+        do {
+            expired = RoutingDataSource.primary(() -> reservationRepo.findExpiredIds(before, PageRequest.of(0, EXPIRY_BATCH_SIZE)));
+            List<Long> batch = expired;
+            if (!batch.isEmpty()) transaction.executeWithoutResult(status -> expire(batch));
+        } while (expired.size() == EXPIRY_BATCH_SIZE);
+    }
+
+    private void expire(List<Long> ids) {
+        for (StockReservation reservation : reservationRepo.findAllById(ids)) {
+            if (reservationRepo.claim(reservation.getId()) == 1) releaseHold(reservation, Outcome.EXPIRED);
+        }
+    }
+
+    private StockReservation claim(Long id) throws ReservationNotFoundException {
+        StockReservation reservation = reservationRepo.findById(id).orElseThrow(() -> new ReservationNotFoundException(id));
+        if (reservationRepo.claim(id) == 0) throw new ReservationNotFoundException(id);
+        return reservation;
+    }
+
+    // A cerveja pode ter sido removida com a reserva aberta: não há o que devolver
+    private void releaseHold(StockReservation reservation, Outcome outcome) {
+        if (beerRepo.releaseQuantity(reservation.getBeerId(), reservation.getQuantity()) == 1) {
+            changed(reservation.getBeerId(), 0, ChangeType.RESERVATION_CHANGED);
+        }
+        outcomes.get(outcome).increment();
+    }
+
+    private BeerDTO changed(Long beerId, int delta, ChangeType type) {
+        BeerDTO beer = mapper.toDTO(beerRepo.findById(beerId).orElseThrow());
+        events.publishEvent(new BeerChangedEvent(type, beer, delta));
+        nameCache.invalidate(Beer.normalizeName(beer.getName()));
+        return beer;
+    }
+
+    private Duration ttl(Long ttlSeconds) {
+        if (ttlSeconds == null) return defaultTtl;
+        Duration ttl = Duration.ofSeconds(ttlSeconds);
+        return ttl.compareTo(maxTtl) > 0 ? maxTtl : ttl;
+    }
+
+    private static ReservationDTO toDTO(StockReservation reservation) {
+        return ReservationDTO.builder()
+                .id(reservation.getId())
+                .beerId(reservation.getBeerId())
+                .quantity(reservation.getQuantity())
+                .expiresAt(reservation.getExpiresAt())
+                .build();
+    }
+}
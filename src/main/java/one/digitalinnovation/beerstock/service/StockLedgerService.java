@@ -0,0 +1,92 @@
+package one.digitalinnovation.beerstock.service;
+
+import one.digitalinnovation.beerstock.dto.StockHistoryDTO;
+import one.digitalinnovation.beerstock.dto.StockMovementDTO;
+import one.digitalinnovation.beerstock.entity.StockMovement;
+import one.digitalinnovation.beerstock.entity.StockSnapshot;
+import one.digitalinnovation.beerstock.enums.MovementSource;
+import one.digitalinnovation.beerstock.exception.BeerNotFoundException;
+import one.digitalinnovation.beerstock.mapper.StockMovementMapper;
+import one.digitalinnovation.beerstock.repository.BeerRepository;
+import one.digitalinnovation.beerstock.repository.StockMovementRepository;
+import one.digitalinnovation.beerstock.repository.StockSnapshotRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+@Service
+@Profile("!reactive")
+public class StockLedgerService {
+
+    public static final int MAX_HISTORY_SIZE = 1000;
+
+    private final BeerRepository beerRepo;
+    private final StockMovementRepository movementRepo;
+    private final StockSnapshotRepository snapshotRepo;
+    private final StockMovementMapper mapper = StockMovementMapper.INSTANCE;
+    private final Duration snapshotSettle;
+
+    @Autowired
+    public StockLedgerService(BeerRepository beerRepo, StockMovementRepository movementRepo,
+                              StockSnapshotRepository snapshotRepo,
+                              @Value("${beerstock.ledger.snapshot-settle:PT1M}") Duration snapshotSettle) {
+        this.beerRepo = beerRepo;
+        this.movementRepo = movementRepo;
+        this.snapshotRepo = snapshotRepo;
+        this.snapshotSettle = snapshotSettle;
+    }
+
+    // MANDATORY: o movimento só existe junto com a alteração de estoque, na mesma transação
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(Long beerId, int delta, int resultingQuantity, MovementSource source) {
+        movementRepo.save(StockMovement.of(beerId, delta, resultingQuantity, source));
+    }
+
+    // Inserts em batch do Hibernate (sequence pooled + hibernate.jdbc.batch_size)
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAll(List<StockMovement> movements) {
+        if (!movements.isEmpty()) movementRepo.saveAll(movements);
+    }
+
+    // Resolvido pelo ledger, não pela tabela beer: uma cerveja excluída mantém o histórico (o DELETE é o último movimento).
+    // Saldo de abertura = snapshot mais recente até from + deltas depois dele: o replay é limitado ao intervalo
+    // entre snapshots, e a soma não depende da ordem em que commits concorrentes gravaram resulting_quantity
+    @Transactional(readOnly = true)
+    public StockHistoryDTO history(Long beerId, Instant from, long afterId, Instant to, int limit) throws BeerNotFoundException {
+        if (!movementRepo.existsByBeerId(beerId) && !beerRepo.existsById(beerId)) throw new BeerNotFoundException(beerId);
+        int size = Math.min(Math.max(limit, 1), MAX_HISTORY_SIZE);
+        Optional<StockSnapshot> snapshot = snapshotRepo.findFirstByBeerIdAndTakenAtLessThanEqualOrderByTakenAtDesc(beerId, from);
+        Long replayed = movementRepo.sumDeltas(beerId, snapshot.map(StockSnapshot::getTakenAt).orElse(Instant.EPOCH), from, afterId);
+        int opening = snapshot.map(StockSnapshot::getQuantity).orElse(0) + (replayed == null ? 0 : replayed.intValue());
+
+        List<StockMovement> movements = movementRepo.findRange(beerId, from, afterId, to, PageRequest.of(0, size + 1));
+        List<StockMovementDTO> content = movements.stream().limit(size).map(mapper::toDTO).collect(Collectors.toList());
+        StockMovement last = movements.size() > size ? movements.get(size - 1) : null;
+        return StockHistoryDTO.builder()
+                .beerId(beerId)
+                .openingQuantity(opening)
+                .movements(content)
+                .nextFrom(last == null ? null : last.getCreatedAt())
+                .nextAfterId(last == null ? null : last.getId())
+                .build();
+    }
+
+    // O corte fica snapshot-settle no passado: um movimento com created_at antes dele ainda sem commit ficaria de fora
+    @Scheduled(fixedDelayString = "${beerstock.ledger.snapshot-interval:PT1H}",
+            initialDelayString = "${beerstock.ledger.snapshot-interval:PT1H}")
+    @Transactional
+    public int takeSnapshot() {
+        return snapshotRepo.snapshotMovements(Instant.now().minus(snapshotSettle));
+    }
+}
@@ -0,0 +1,109 @@
+package one.digitalinnovation.beerstock.startup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import one.digitalinnovation.beerstock.dto.StartupReportDTO;
+import one.digitalinnovation.beerstock.dto.StartupStepDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+// Relatório de inicialização (JVM, Spring, fases e beans mais lentos); só com BufferingApplicationStartup.
+// Com exit-after-ready encerra logo depois: CI e treino do arquivo CDS
+@Component
+public class StartupReport {
+
+    static final String BEAN_INSTANTIATION = "spring.beans.instantiate";
+
+    private final ObjectMapper objectMapper;
+    private final String reportFile;
+    private final int slowestBeans;
+    private final boolean exitAfterReady;
+
+    @Autowired
+    public StartupReport(ObjectMapper objectMapper,
+                         @Value("${beerstock.startup.report-file:}") String reportFile,
+                         @Value("${beerstock.startup.slowest-beans:10}") int slowestBeans,
+                         @Value("${beerstock.startup.exit-after-ready:false}") boolean exitAfterReady) {
+        this.objectMapper = objectMapper;
+        this.reportFile = reportFile;
+        this.slowestBeans = slowestBeans;
+        this.exitAfterReady = exitAfterReady;
+    }
+
+    @EventListener
+    public void onReady(ApplicationReadyEvent event) throws IOException {
+        ApplicationStartup startup = event.getApplicationContext().getApplicationStartup();
+        if (startup instanceof BufferingApplicationStartup) {
+            StartupReportDTO report = report(((BufferingApplicationStartup) startup).getBufferedTimeline(),
+                    ManagementFactory.getRuntimeMXBean().getUptime(), event.getTimeTaken(), slowestBeans);
+            System.out.print(format(report));
+            if (!reportFile.isEmpty()) {
+                File file = new File(reportFile);
+                if (file.getParentFile() != null) file.getParentFile().mkdirs();
+                objectMapper.writerWithDefaultPrettyPrinter().writeValue(file, report);
+            }
+        }
+        if (exitAfterReady) {
+            System.exit(SpringApplication.exit(event.getApplicationContext()));
+        }
+    }
+
+    static StartupReportDTO report(StartupTimeline timeline, long uptimeMillis, Duration timeTaken, int slowestBeans) {
+        List<StartupStepDTO> phases = timeline.getEvents().stream()
+                .filter(e -> e.getStartupStep().getParentId() == null)
+                .map(e -> new StartupStepDTO(e.getStartupStep().getName(), e.getDuration().toMillis()))
+                .collect(Collectors.toList());
+        List<StartupStepDTO> beans = timeline.getEvents().stream()
+                .filter(e -> BEAN_INSTANTIATION.equals(e.getStartupStep().getName()))
+                .sorted(Comparator.comparing(StartupTimeline.TimelineEvent::getDuration).reversed())
+                .limit(slowestBeans)
+                .map(e -> new StartupStepDTO(beanName(e.getStartupStep()), e.getDuration().toMillis()))
+                .collect(Collectors.toList());
+        long contextMillis = timeTaken.toMillis();
+        return StartupReportDTO.builder()
+                .jvmMillis(Math.max(0, uptimeMillis - contextMillis))
+                .contextMillis(contextMillis)
+                .readyMillis(uptimeMillis)
+                .phases(phases)
+                .slowestBeans(beans)
+                .build();
+    }
+
+    static String format(StartupReportDTO report) {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format("Startup: ready in %d ms since JVM start (jvm %d ms, spring %d ms)%n",
+                report.getReadyMillis(), report.getJvmMillis(), report.getContextMillis()));
+        for (StartupStepDTO phase : report.getPhases()) {
+            out.append(String.format("  %-48s %6d ms%n", phase.getName(), phase.getMillis()));
+        }
+        out.append(String.format("Slowest beans:%n"));
+        for (StartupStepDTO bean : report.getSlowestBeans()) {
+            out.append(String.format("  %-48s %6d ms%n", bean.getName(), bean.getMillis()));
+        }
+        return out.toString();
+    }
+
+    private static String beanName(StartupStep step) {
+        return StreamSupport.stream(step.getTags().spliterator(), false)
+                .filter(tag -> "beanName".equals(tag.getKey()))
+                .map(StartupStep.Tag::getValue)
+                .findFirst()
+                .orElse(step.getName());
+    }
+}
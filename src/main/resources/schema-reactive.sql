@@ -0,0 +1,17 @@
+-- Schema do modo reativo (R2DBC não usa o ddl-auto do Hibernate); manter igual ao mapeamento JPA das entidades.
+-- Idempotente, mas só para bancos do próprio modo reativo: aqui o valor da sequence vira o id direto, enquanto o
+-- otimizador pooled do Hibernate (allocationSize 50) o trata como topo de um bloco; num banco compartilhado com o
+-- modo servlet os ids colidiriam
+create sequence if not exists beer_seq start with 1 increment by 50;
+create sequence if not exists stock_movement_seq start with 1 increment by 50;
+create sequence if not exists stock_reservation_seq start with 1 increment by 50;
+create table if not exists beer (id bigint not null, brand varchar(255) not null, max integer not null, name varchar(255) not null, normalized_name varchar(255) not null, quantity integer not null, reserved integer not null, type varchar(255) not null, version bigint not null, primary key (id));
+create table if not exists stock_movement (id bigint not null, beer_id bigint not null, created_at timestamp not null, delta integer not null, resulting_quantity integer not null, source varchar(255) not null, primary key (id));
+create table if not exists stock_reservation (id bigint not null, beer_id bigint not null, expires_at timestamp not null, quantity integer not null, primary key (id));
+create table if not exists stock_snapshot (id bigint generated by default as identity, beer_id bigint not null, quantity integer not null, taken_at timestamp not null, primary key (id));
+alter table beer add constraint if not exists uk_beer_normalized_name unique (normalized_name);
+create index if not exists idx_beer_brand on beer (brand, id);
+create index if not exists idx_beer_type_brand on beer (type, brand, id);
+create index if not exists idx_stock_reservation_expires_at on stock_reservation (expires_at);
+create index if not exists idx_stock_movement_beer_time on stock_movement (beer_id, created_at);
+create index if not exists idx_stock_snapshot_beer_time on stock_snapshot (beer_id, taken_at);
@@ -0,0 +1,51 @@
+package one.digitalinnovation.beerstock.admission;
+
+import one.digitalinnovation.beerstock.dto.QuantityDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import static one.digitalinnovation.beerstock.utils.JsonConvertionUtils.asJsonString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Uma escrita a cada 1000 s por cliente: a segunda já passa do orçamento
+@SpringBootTest(properties = {"beerstock.admission.write.rate=0.001", "beerstock.admission.write.burst=1"})
+@AutoConfigureMockMvc
+public class AdmissionControlTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void whenClientExceedsItsWriteBudgetThenStockMutationsAreShedButReadsAndOtherClientsPass() throws Exception {
+        // given
+        String increment = "/api/v1/beers/" + Long.MAX_VALUE + "/increment";
+        String body = asJsonString(QuantityDTO.builder().quantity(1).build());
+        mockMvc.perform(patch(increment).with(from("10.1.1.1")).contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isNotFound());
+
+        // then
+        mockMvc.perform(patch(increment).with(from("10.1.1.1")).header("X-Client-Id", "spoofed")
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "1000"));
+        mockMvc.perform(get("/api/v1/beers").with(from("10.1.1.1")))
+                .andExpect(status().isOk());
+        mockMvc.perform(patch(increment).with(from("10.1.1.2")).contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isNotFound());
+    }
+
+    private static RequestPostProcessor from(String remoteAddr) {
+        return request -> {
+            request.setRemoteAddr(remoteAddr);
+            return request;
+        };
+    }
+}
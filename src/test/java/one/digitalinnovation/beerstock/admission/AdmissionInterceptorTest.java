@@ -0,0 +1,163 @@
+package one.digitalinnovation.beerstock.admission;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import one.digitalinnovation.beerstock.enums.RequestBudget;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.DispatcherType;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class AdmissionInterceptorTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ConcurrencyLimiter readConcurrency = new ConcurrencyLimiter(2, 2);
+    private final ConcurrencyLimiter writeConcurrency = new ConcurrencyLimiter(2, 2);
+    private final ConcurrencyLimiter exportConcurrency = new ConcurrencyLimiter(1, 1);
+    // Leitura: 1 por segundo com burst 2; escrita e export: 1 por segundo com burst 1. O proxy confiável é 10.0.0.100
+    private final AdmissionInterceptor interceptor = new AdmissionInterceptor(new ClientIdentity("X-Client-Id", Set.of(PROXY)),
+            Duration.ofSeconds(2), meterRegistry,
+            Map.of(RequestBudget.READ, new RateLimiter(1, 2, Duration.ofMinutes(1), 100, now::get),
+                    RequestBudget.WRITE, new RateLimiter(1, 1, Duration.ofMinutes(1), 100, now::get),
+                    RequestBudget.EXPORT, new RateLimiter(1, 1, Duration.ofMinutes(1), 100, now::get)),
+            Map.of(RequestBudget.READ, readConcurrency, RequestBudget.WRITE, writeConcurrency,
+                    RequestBudget.EXPORT, exportConcurrency));
+
+    private static final String PROXY = "10.0.0.100";
+
+    private static MockHttpServletRequest request(String method, String client) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/api/v1/beers");
+        request.setRemoteAddr(PROXY);
+        if (client != null) request.addHeader("X-Client-Id", client);
+        return request;
+    }
+
+    private double rejected(String budget, String reason) {
+        return meterRegistry.get(AdmissionInterceptor.REJECTED).tag("budget", budget).tag("reason", reason).counter().count();
+    }
+
+    @Test
+    void whenClientExceedsItsRateThenTooManyRequestsIsReturnedWithRetryAfter() {
+        // given
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        interceptor.preHandle(request("PATCH", "flooder"), new MockHttpServletResponse(), null);
+
+        // when
+        boolean admitted = interceptor.preHandle(request("PATCH", "flooder"), response, null);
+
+        // then
+        assertThat(admitted, is(false));
+        assertThat(response.getStatus(), is(429));
+        assertThat(response.getHeader("Retry-After"), is("1"));
+        assertThat(rejected("write", "rate"), is(1.0));
+    }
+
+    @Test
+    void whenWriteBudgetIsSpentThenReadsAndOtherClientsAreStillAdmitted() {
+        // given
+        interceptor.preHandle(request("POST", "flooder"), new MockHttpServletResponse(), null);
+
+        // then
+        assertThat(interceptor.preHandle(request("POST", "flooder"), new MockHttpServletResponse(), null), is(false));
+        assertThat(interceptor.preHandle(request("GET", "flooder"), new MockHttpServletResponse(), null), is(true));
+        assertThat(interceptor.preHandle(request("POST", "other"), new MockHttpServletResponse(), null), is(true));
+    }
+
+    @Test
+    void whenConcurrencyLimitIsReachedThenServiceUnavailableIsReturnedUntilARequestCompletes() {
+        // given
+        MockHttpServletRequest first = request("GET", "a");
+        interceptor.preHandle(first, new MockHttpServletResponse(), null);
+        interceptor.preHandle(request("GET", "b"), new MockHttpServletResponse(), null);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // when
+        boolean admitted = interceptor.preHandle(request("GET", "c"), response, null);
+
+        // then
+        assertThat(admitted, is(false));
+        assertThat(response.getStatus(), is(503));
+        assertThat(response.getHeader("Retry-After"), is("2"));
+        assertThat(rejected("read", "concurrency"), is(1.0));
+
+        // when
+        interceptor.afterCompletion(first, new MockHttpServletResponse(), null, null);
+
+        // then
+        assertThat(readConcurrency.inFlight(), is(1));
+        assertThat(interceptor.preHandle(request("GET", "c"), new MockHttpServletResponse(), null), is(true));
+    }
+
+    @Test
+    void whenAsyncRequestIsRedispatchedThenItIsNotAdmittedTwice() {
+        // given
+        MockHttpServletRequest request = request("GET", "a");
+        interceptor.preHandle(request, new MockHttpServletResponse(), null);
+
+        // when
+        request.setDispatcherType(DispatcherType.ASYNC);
+        interceptor.preHandle(request, new MockHttpServletResponse(), null);
+        interceptor.afterCompletion(request, new MockHttpServletResponse(), null, null);
+
+        // then
+        assertThat(readConcurrency.inFlight(), is(0));
+    }
+
+    @Test
+    void whenClientHeaderIsMissingThenRemoteAddressIdentifiesTheClient() {
+        // given
+        MockHttpServletRequest first = request("DELETE", null);
+        first.setRemoteAddr("10.0.0.1");
+        MockHttpServletRequest second = request("DELETE", null);
+        second.setRemoteAddr("10.0.0.1");
+        MockHttpServletRequest otherHost = request("DELETE", null);
+        otherHost.setRemoteAddr("10.0.0.2");
+
+        // then
+        assertThat(interceptor.preHandle(first, new MockHttpServletResponse(), null), is(true));
+        assertThat(interceptor.preHandle(second, new MockHttpServletResponse(), null), is(false));
+        assertThat(interceptor.preHandle(otherHost, new MockHttpServletResponse(), null), is(true));
+    }
+
+    @Test
+    void whenClientHeaderComesFromAnUntrustedAddressThenItIsIgnored() {
+        // given
+        MockHttpServletRequest first = request("DELETE", "id-1");
+        first.setRemoteAddr("10.0.0.1");
+        MockHttpServletRequest spoofed = request("DELETE", "id-2");
+        spoofed.setRemoteAddr("10.0.0.1");
+
+        // then
+        assertThat(interceptor.preHandle(first, new MockHttpServletResponse(), null), is(true));
+        assertThat(interceptor.preHandle(spoofed, new MockHttpServletResponse(), null), is(false));
+    }
+
+    @Test
+    void whenExportIsRequestedThenItUsesItsOwnBudgetAndReadsAreStillAdmitted() {
+        // given
+        MockHttpServletRequest export = request("GET", "a");
+        export.setRequestURI(AdmissionInterceptor.EXPORT_PATH);
+        interceptor.preHandle(export, new MockHttpServletResponse(), null);
+        MockHttpServletRequest secondExport = request("GET", "b");
+        secondExport.setRequestURI(AdmissionInterceptor.EXPORT_PATH);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // when
+        boolean admitted = interceptor.preHandle(secondExport, response, null);
+
+        // then
+        assertThat(admitted, is(false));
+        assertThat(response.getStatus(), is(503));
+        assertThat(exportConcurrency.inFlight(), is(1));
+        assertThat(interceptor.preHandle(request("GET", "b"), new MockHttpServletResponse(), null), is(true));
+        assertThat(readConcurrency.inFlight(), is(1));
+    }
+}
@@ -0,0 +1,88 @@
+package one.digitalinnovation.beerstock.admission;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ConcurrencyLimiterTest {
+
+    @Test
+    void whenStripesAreFullThenOtherStripesAreUsedUntilTheExactLimit() {
+        // given
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(10, 4);
+        List<Integer> stripes = new ArrayList<>();
+
+        // when
+        for (int i = 0; i < 10; i++) stripes.add(limiter.tryAcquire());
+
+        // then
+        assertThat(stripes.contains(-1), is(false));
+        assertThat(limiter.tryAcquire(), is(-1));
+        assertThat(limiter.inFlight(), is(10));
+        limiter.release(stripes.get(0));
+        assertThat(limiter.tryAcquire(), is(stripes.get(0)));
+    }
+
+    @Test
+    void whenThereAreMoreStripesThanPermitsThenLimitIsStillExact() {
+        // given
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(3, 8);
+
+        // then
+        for (int i = 0; i < 3; i++) assertThat(limiter.tryAcquire() >= 0, is(true));
+        assertThat(limiter.tryAcquire(), is(-1));
+    }
+
+    @Test
+    void whenThreadsAcquireAndReleaseConcurrentlyThenLimitIsNeverExceeded() throws Exception {
+        // given
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(5, 4);
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        // when
+        try {
+            for (int t = 0; t < 16; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < 2000; i++) {
+                        int stripe = limiter.tryAcquire();
+                        if (stripe < 0) continue;
+                        peak.accumulateAndGet(active.incrementAndGet(), Math::max);
+                        active.decrementAndGet();
+                        limiter.release(stripe);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) future.get(30, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // then
+        assertThat(peak.get(), lessThanOrEqualTo(5));
+        assertThat(limiter.inFlight(), is(0));
+    }
+
+    @Test
+    void whenLimitIsNotPositiveThenItIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new ConcurrencyLimiter(0, 4));
+    }
+}
@@ -0,0 +1,91 @@
+package one.digitalinnovation.beerstock.admission;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class RateLimiterTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000_000L);
+    // 10 por segundo (uma ficha a cada 100 ms), burst de 3
+    private final RateLimiter limiter = new RateLimiter(10, 3, Duration.ofMinutes(1), 1000, now::get);
+
+    @Test
+    void whenBurstIsSpentThenNextRequestWaitsForOneInterval() {
+        // given
+        for (int i = 0; i < 3; i++) assertThat(limiter.tryAcquire("a"), is(0L));
+
+        // then
+        assertThat(limiter.tryAcquire("a"), is(100_000_000L));
+        now.addAndGet(40_000_000L);
+        assertThat(limiter.tryAcquire("a"), is(60_000_000L));
+        now.addAndGet(60_000_000L);
+        assertThat(limiter.tryAcquire("a"), is(0L));
+        assertThat(limiter.tryAcquire("a"), is(100_000_000L));
+    }
+
+    @Test
+    void whenClientIsIdleThenBurstIsRestoredButNeverAccumulatesBeyondIt() {
+        // given
+        for (int i = 0; i < 3; i++) limiter.tryAcquire("a");
+
+        // when
+        now.addAndGet(Duration.ofMinutes(5).toNanos());
+
+        // then
+        for (int i = 0; i < 3; i++) assertThat(limiter.tryAcquire("a"), is(0L));
+        assertThat(limiter.tryAcquire("a") > 0, is(true));
+    }
+
+    @Test
+    void whenOneClientFloodsThenOtherClientsKeepTheirOwnBudget() {
+        // given
+        for (int i = 0; i < 10; i++) limiter.tryAcquire("flooder");
+
+        // then
+        assertThat(limiter.tryAcquire("flooder") > 0, is(true));
+        assertThat(limiter.tryAcquire("quiet"), is(0L));
+    }
+
+    @Test
+    void whenManyThreadsCompeteForOneClientThenExactlyTheBurstIsAdmitted() throws Exception {
+        // given
+        RateLimiter limiter = new RateLimiter(10, 50, Duration.ofMinutes(1), 1000, () -> 0L);
+        AtomicInteger admitted = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        // when
+        try {
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < 100; i++) {
+                        if (limiter.tryAcquire("shared") == 0) admitted.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) future.get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // then
+        assertThat(admitted.get(), is(50));
+    }
+}
@@ -0,0 +1,132 @@
+package one.digitalinnovation.beerstock.aggregate;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import one.digitalinnovation.beerstock.dto.AggregateReconciliationDTO;
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.dto.StockAggregateDTO;
+import one.digitalinnovation.beerstock.dto.StockAggregatesDTO;
+import one.digitalinnovation.beerstock.enums.BeerType;
+import one.digitalinnovation.beerstock.enums.ChangeType;
+import one.digitalinnovation.beerstock.feed.BeerChangedEvent;
+import one.digitalinnovation.beerstock.repository.BeerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class StockAggregatesTest {
+
+    @Mock
+    private BeerRepository beerRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private StockAggregates stockAggregates;
+
+    @BeforeEach
+    void setUp() {
+        when(beerRepository.aggregateByType()).thenReturn(List.of(new StockAggregateDTO("LAGER", 2L, 30L, 100L)));
+        when(beerRepository.aggregateByBrand()).thenReturn(List.of(new StockAggregateDTO("Ambev", 2L, 30L, 100L)));
+        stockAggregates = new StockAggregates(beerRepository, meterRegistry);
+        stockAggregates.load();
+    }
+
+    private static BeerDTO beer(BeerType type, String brand, int max, int quantity) {
+        return BeerDTO.builder().id(10L).name("Colorado Indica").brand(brand).max(max).quantity(quantity).type(type).build();
+    }
+
+    @Test
+    void whenBeersChangeThenOnlyTheirGroupsAreUpdated() {
+        // given
+        BeerDTO ipa = beer(BeerType.IPA, "Colorado", 50, 20);
+
+        // when
+        stockAggregates.onChange(new BeerChangedEvent(ChangeType.CREATED, ipa, 20));
+        stockAggregates.onChange(new BeerChangedEvent(ChangeType.QUANTITY_CHANGED, ipa, -5));
+        StockAggregatesDTO aggregates = stockAggregates.aggregates();
+
+        // then
+        assertThat(aggregates.getByType(), contains(
+                new StockAggregateDTO("IPA", 1L, 15L, 50L),
+                new StockAggregateDTO("LAGER", 2L, 30L, 100L)));
+        assertThat(aggregates.getByBrand(), contains(
+                new StockAggregateDTO("Ambev", 2L, 30L, 100L),
+                new StockAggregateDTO("Colorado", 1L, 15L, 50L)));
+    }
+
+    @Test
+    void whenTheLastBeerOfAGroupIsDeletedThenTheGroupDisappears() {
+        // given
+        BeerDTO ipa = beer(BeerType.IPA, "Colorado", 50, 20);
+        stockAggregates.onChange(new BeerChangedEvent(ChangeType.CREATED, ipa, 20));
+
+        // when
+        stockAggregates.onChange(new BeerChangedEvent(ChangeType.DELETED, ipa, -20));
+
+        // then
+        assertThat(stockAggregates.aggregates().getByType(), contains(new StockAggregateDTO("LAGER", 2L, 30L, 100L)));
+    }
+
+    @Test
+    void whenMemoryMatchesTheRecomputeThenReconciliationIsConsistent() {
+        // when
+        AggregateReconciliationDTO reconciliation = stockAggregates.reconcile(false);
+
+        // then
+        assertThat(reconciliation.isConsistent(), is(true));
+        assertThat(reconciliation.getDrift(), is(empty()));
+        assertThat(meterRegistry.get(StockAggregates.DRIFT).gauge().value(), is(0.0));
+    }
+
+    @Test
+    void whenMemoryDriftedThenReconciliationReportsAndRepairsIt() {
+        // given
+        when(beerRepository.aggregateByType()).thenReturn(List.of(new StockAggregateDTO("LAGER", 2L, 25L, 100L)));
+        when(beerRepository.aggregateByBrand()).thenReturn(Collections.emptyList());
+
+        // when
+        AggregateReconciliationDTO reconciliation = stockAggregates.reconcile(true);
+
+        // then
+        assertThat(reconciliation.isConsistent(), is(false));
+        assertThat(reconciliation.isRepaired(), is(true));
+        assertThat(reconciliation.getDrift(), hasSize(2));
+        assertThat(reconciliation.getDrift().get(0).getExpected().getQuantity(), is(25L));
+        assertThat(reconciliation.getDrift().get(1).getExpected(), is(nullValue()));
+        assertThat(meterRegistry.get(StockAggregates.DRIFT).gauge().value(), is(2.0));
+        assertThat(stockAggregates.reconcile(false).isConsistent(), is(true));
+    }
+
+    @Test
+    void whenBeerChangesDuringRepairThenTheDeltaIsAppliedOnTopOfTheRecompute() throws Exception {
+        // given
+        BeerDTO lager = beer(BeerType.LAGER, "Ambev", 50, 10);
+        Thread[] writer = new Thread[1];
+        when(beerRepository.aggregateByType()).thenAnswer(invocation -> {
+            writer[0] = new Thread(() -> stockAggregates.onChange(new BeerChangedEvent(ChangeType.QUANTITY_CHANGED, lager, 5)));
+            writer[0].start();
+            writer[0].join(200);
+            // O delta espera a troca dos mapas em vez de cair no mapa que vai ser descartado
+            assertThat(writer[0].isAlive(), is(true));
+            return List.of(new StockAggregateDTO("LAGER", 2L, 25L, 100L));
+        });
+        when(beerRepository.aggregateByBrand()).thenReturn(List.of(new StockAggregateDTO("Ambev", 2L, 25L, 100L)));
+
+        // when
+        stockAggregates.reconcile(true);
+        writer[0].join();
+
+        // then
+        assertThat(stockAggregates.aggregates().getByType(), contains(new StockAggregateDTO("LAGER", 2L, 30L, 100L)));
+        assertThat(stockAggregates.aggregates().getByBrand(), contains(new StockAggregateDTO("Ambev", 2L, 30L, 100L)));
+    }
+}
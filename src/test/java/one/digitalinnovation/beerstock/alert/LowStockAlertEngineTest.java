@@ -0,0 +1,191 @@
+package one.digitalinnovation.beerstock.alert;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import one.digitalinnovation.beerstock.dto.AlertRuleDTO;
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.entity.Beer;
+import one.digitalinnovation.beerstock.enums.AlertScope;
+import one.digitalinnovation.beerstock.enums.AlertState;
+import one.digitalinnovation.beerstock.enums.BeerType;
+import one.digitalinnovation.beerstock.enums.ChangeType;
+import one.digitalinnovation.beerstock.exception.InvalidAlertRuleException;
+import one.digitalinnovation.beerstock.feed.BeerChangedEvent;
+import one.digitalinnovation.beerstock.repository.BeerRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class LowStockAlertEngineTest {
+
+    private final List<Object> published = new ArrayList<>();
+    private final AtomicLong clock = new AtomicLong();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final BeerRepository beerRepository = mock(BeerRepository.class);
+    private final LowStockAlertEngine engine = new LowStockAlertEngine(published::add, meterRegistry, beerRepository,
+            0.2, 0.05, Duration.ofSeconds(30), clock::get);
+    private long version;
+
+    private void change(long id, BeerType type, int quantity) {
+        BeerDTO beer = BeerDTO.builder().id(id).name("Beer " + id).brand("Ambev").max(100).quantity(quantity)
+                .type(type).version(version++).build();
+        engine.onChange(new BeerChangedEvent(ChangeType.QUANTITY_CHANGED, beer, 0));
+    }
+
+    private Beer stored(long id, BeerType type, int quantity) {
+        return Beer.builder().id(id).name("Beer " + id).brand("Ambev").max(100).quantity(quantity)
+                .type(type).version(version).build();
+    }
+
+    private void advanceSeconds(long seconds) {
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(seconds));
+    }
+
+    private List<AlertState> states() {
+        return published.stream().map(e -> ((LowStockAlertEvent) e).getState()).collect(Collectors.toList());
+    }
+
+    @Test
+    void whenQuantityCrossesTheThresholdThenOnlyTheCrossingIsNotified() {
+        // when
+        change(1L, BeerType.LAGER, 50);
+        change(1L, BeerType.LAGER, 20);
+        change(1L, BeerType.LAGER, 10);
+        change(1L, BeerType.LAGER, 5);
+
+        // then
+        assertThat(states(), contains(AlertState.RAISED));
+        assertThat(engine.activeAlerts(), hasSize(1));
+        assertThat(engine.activeAlerts().get(0).getQuantity(), is(5));
+        assertThat(meterRegistry.get(LowStockAlertEngine.ACTIVE).gauge().value(), is(1.0));
+    }
+
+    @Test
+    void whenQuantityRisesAboveTheClearMarginThenTheAlertIsCleared() {
+        // given
+        change(1L, BeerType.LAGER, 10);
+        advanceSeconds(60);
+
+        // when
+        change(1L, BeerType.LAGER, 24);
+        change(1L, BeerType.LAGER, 26);
+
+        // then
+        assertThat(states(), contains(AlertState.RAISED, AlertState.CLEARED));
+        assertThat(engine.activeAlerts(), is(empty()));
+    }
+
+    @Test
+    void whenABeerFlapsWithinTheDebounceThenConsumersAreNotFlooded() {
+        // given
+        change(1L, BeerType.LAGER, 10);
+
+        // when
+        for (int i = 0; i < 10; i++) {
+            advanceSeconds(1);
+            change(1L, BeerType.LAGER, 90);
+            change(1L, BeerType.LAGER, 10);
+        }
+        change(1L, BeerType.LAGER, 90);
+        engine.flushPending();
+
+        // then
+        assertThat(states(), contains(AlertState.RAISED));
+
+        advanceSeconds(30);
+        engine.flushPending();
+        assertThat(states(), contains(AlertState.RAISED, AlertState.CLEARED));
+        assertThat(meterRegistry.get(LowStockAlertEngine.SUPPRESSED).counter().count(), is(greaterThan(0.0)));
+    }
+
+    @Test
+    void whenRulesOverlapThenTheMostSpecificOneApplies() throws InvalidAlertRuleException {
+        // given
+        engine.putRule(AlertRuleDTO.builder().scope(AlertScope.TYPE).type(BeerType.IPA).threshold(0.5).build());
+        engine.putRule(AlertRuleDTO.builder().scope(AlertScope.BEER).beerId(2L).threshold(0.1).build());
+
+        // when
+        change(1L, BeerType.IPA, 40);
+        change(2L, BeerType.IPA, 40);
+        change(3L, BeerType.LAGER, 40);
+
+        // then
+        assertThat(engine.activeAlerts(), hasSize(1));
+        assertThat(engine.activeAlerts().get(0).getBeerId(), is(1L));
+        assertThat(engine.activeAlerts().get(0).getThreshold(), is(0.5));
+    }
+
+    @Test
+    void whenARuleIsLoweredThenTrackedBeersAreReevaluatedRightAway() throws InvalidAlertRuleException {
+        // given
+        change(1L, BeerType.LAGER, 12);
+        advanceSeconds(30);
+        when(beerRepository.findAllById(Set.of(1L))).thenReturn(List.of(stored(1L, BeerType.LAGER, 12)));
+
+        // when
+        engine.putRule(AlertRuleDTO.builder().scope(AlertScope.GLOBAL).threshold(0.05).build());
+
+        // then
+        assertThat(states(), contains(AlertState.RAISED, AlertState.CLEARED));
+        assertThat(engine.activeAlerts(), is(empty()));
+    }
+
+    @Test
+    void whenARuleIsRaisedThenCoveredBeersAreAlertedWithoutAnotherChange() throws InvalidAlertRuleException {
+        // given
+        when(beerRepository.findLowStock(0.5, BeerType.IPA, null)).thenReturn(List.of(stored(1L, BeerType.IPA, 40)));
+
+        // when
+        engine.putRule(AlertRuleDTO.builder().scope(AlertScope.TYPE).type(BeerType.IPA).threshold(0.5).build());
+
+        // then
+        assertThat(states(), contains(AlertState.RAISED));
+        assertThat(engine.activeAlerts().get(0).getThreshold(), is(0.5));
+    }
+
+    @Test
+    void whenAnOlderVersionArrivesLateThenItIsIgnored() {
+        // given
+        change(1L, BeerType.LAGER, 10);
+        BeerDTO stale = BeerDTO.builder().id(1L).name("Beer 1").max(100).quantity(90).type(BeerType.LAGER).version(-1L).build();
+
+        // when
+        engine.onChange(new BeerChangedEvent(ChangeType.QUANTITY_CHANGED, stale, 80));
+
+        // then
+        assertThat(engine.activeAlerts(), hasSize(1));
+        assertThat(states(), contains(AlertState.RAISED));
+    }
+
+    @Test
+    void whenAnAlertingBeerIsDeletedThenTheAlertIsCleared() {
+        // given
+        change(1L, BeerType.LAGER, 10);
+        BeerDTO deleted = BeerDTO.builder().id(1L).name("Beer 1").max(100).quantity(10).type(BeerType.LAGER).build();
+
+        // when
+        engine.onChange(new BeerChangedEvent(ChangeType.DELETED, deleted, -10));
+
+        // then
+        assertThat(states(), contains(AlertState.RAISED, AlertState.CLEARED));
+        assertThat(engine.activeAlerts(), is(empty()));
+    }
+
+    @Test
+    void whenGlobalRuleIsRemovedThenAnExceptionIsThrown() {
+        assertThrows(InvalidAlertRuleException.class, () -> engine.removeRule(AlertScope.GLOBAL, null, null));
+        assertThrows(InvalidAlertRuleException.class, () -> engine.putRule(
+                AlertRuleDTO.builder().scope(AlertScope.BEER).threshold(0.1).build()));
+    }
+}
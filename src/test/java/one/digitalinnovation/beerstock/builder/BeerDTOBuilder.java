@@ -13,6 +13,8 @@ public class BeerDTOBuilder {
     @Builder.Default private Integer max = 50;
     @Builder.Default private Integer quantity = 10;
     @Builder.Default private BeerType type = BeerType.LAGER;
+    @Builder.Default private Integer reserved = 0;
+    private Long version;
 
     public BeerDTO toBeerDTO() {
         return new BeerDTO(id,
@@ -20,6 +22,8 @@ public class BeerDTOBuilder {
                 brand,
                 max,
                 quantity,
-                type);
+                type,
+                reserved,
+                version);
     }
 }
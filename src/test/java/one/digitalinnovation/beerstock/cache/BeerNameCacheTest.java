@@ -0,0 +1,195 @@
+package one.digitalinnovation.beerstock.cache;
+
+import one.digitalinnovation.beerstock.builder.BeerDTOBuilder;
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class BeerNameCacheTest {
+
+    private final BeerDTO beerDTO = BeerDTOBuilder.builder().build().toBeerDTO();
+
+    @Test
+    void whenMissesAreCachedThenNotFoundIsServedFromCache() {
+        // given
+        BeerNameCache cache = new BeerNameCache(10, Duration.ofMinutes(1), true);
+        AtomicInteger loads = new AtomicInteger();
+
+        // when
+        cache.get("Skol", n -> { loads.incrementAndGet(); return Optional.empty(); });
+        Optional<BeerDTO> found = cache.get("Skol", n -> { loads.incrementAndGet(); return Optional.empty(); });
+
+        // then
+        assertThat(found.isPresent(), is(false));
+        assertThat(loads.get(), is(1));
+    }
+
+    @Test
+    void whenMissesAreNotCachedThenNotFoundIsLoadedAgain() {
+        // given
+        BeerNameCache cache = new BeerNameCache(10, Duration.ofMinutes(1), false);
+        AtomicInteger loads = new AtomicInteger();
+
+        // when
+        cache.get("Skol", n -> { loads.incrementAndGet(); return Optional.empty(); });
+        cache.get("Skol", n -> { loads.incrementAndGet(); return Optional.empty(); });
+
+        // then
+        assertThat(loads.get(), is(2));
+    }
+
+    @Test
+    void whenInvalidatedDuringALoadThenTheLoadedValueIsNotCached() {
+        // given
+        BeerNameCache cache = new BeerNameCache(10, Duration.ofMinutes(1), true);
+
+        // when
+        cache.get(beerDTO.getName(), n -> {
+            cache.invalidate(n);
+            return Optional.of(beerDTO);
+        });
+        cache.get(beerDTO.getName(), n -> Optional.of(beerDTO));
+
+        // then
+        assertThat(cache.stats().getMissCount(), is(2L));
+        assertThat(cache.stats().getHitCount(), is(0L));
+    }
+
+    @Test
+    void whenAnotherNameIsInvalidatedDuringALoadThenTheLoadedValueIsStillCached() {
+        // given
+        BeerNameCache cache = new BeerNameCache(10, Duration.ofMinutes(1), true);
+        assertThat(BeerNameCache.stripe("brahma"), is(not(BeerNameCache.stripe("skol"))));
+
+        // when
+        cache.get("brahma", n -> {
+            cache.invalidate("skol");
+            return Optional.of(beerDTO);
+        });
+        cache.get("brahma", n -> Optional.of(beerDTO));
+
+        // then
+        assertThat(cache.stats().getMissCount(), is(1L));
+        assertThat(cache.stats().getHitCount(), is(1L));
+        assertThat(cache.stats().getLoadCount(), is(1L));
+    }
+
+    @Test
+    void whenCallerArrivesAfterAnInvalidationThenItDoesNotJoinTheOlderLoad() throws Exception {
+        // given
+        BeerNameCache cache = new BeerNameCache(10, Duration.ofMinutes(1), true);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        BeerDTO updated = BeerDTOBuilder.builder().quantity(1).build().toBeerDTO();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        // when
+        try {
+            Future<Optional<BeerDTO>> stale = executor.submit(() -> cache.get(beerDTO.getName(), n -> {
+                loading.countDown();
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return Optional.of(beerDTO);
+            }));
+            loading.await(10, TimeUnit.SECONDS);
+            cache.invalidate(beerDTO.getName());
+            Optional<BeerDTO> fresh = cache.get(beerDTO.getName(), n -> Optional.of(updated));
+            release.countDown();
+
+            // then
+            assertThat(fresh, is(Optional.of(updated)));
+            assertThat(stale.get(10, TimeUnit.SECONDS), is(Optional.of(beerDTO)));
+            assertThat(cache.stats().getLoadCount(), is(2L));
+            assertThat(cache.stats().getCoalescedCount(), is(0L));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void whenLoadedAsynchronouslyThenTheValueIsServedFromCache() {
+        // given
+        BeerNameCache cache = new BeerNameCache(10, Duration.ofMinutes(1), true);
+        AtomicInteger loads = new AtomicInteger();
+
+        // when
+        cache.getAsync(beerDTO.getName(), n -> Mono.fromSupplier(() -> { loads.incrementAndGet(); return Optional.of(beerDTO); })).block();
+        Optional<BeerDTO> found = cache.getAsync(beerDTO.getName(), n -> Mono.fromSupplier(() -> { loads.incrementAndGet(); return Optional.empty(); })).block();
+
+        // then
+        assertThat(found, is(Optional.of(beerDTO)));
+        assertThat(loads.get(), is(1));
+    }
+
+    @Test
+    void whenAsynchronousMissesOverlapThenOneLoadIsShared() {
+        // given
+        BeerNameCache cache = new BeerNameCache(10, Duration.ofMinutes(1), true);
+        AtomicInteger loads = new AtomicInteger();
+        CompletableFuture<Optional<BeerDTO>> pending = new CompletableFuture<>();
+
+        // when
+        CompletableFuture<Optional<BeerDTO>> first = cache.getAsync(beerDTO.getName(),
+                n -> Mono.fromFuture(pending).doOnSubscribe(s -> loads.incrementAndGet())).toFuture();
+        CompletableFuture<Optional<BeerDTO>> second = cache.getAsync(beerDTO.getName(),
+                n -> Mono.fromFuture(pending).doOnSubscribe(s -> loads.incrementAndGet())).toFuture();
+        pending.complete(Optional.of(beerDTO));
+
+        // then
+        assertThat(first.join(), is(Optional.of(beerDTO)));
+        assertThat(second.join(), is(Optional.of(beerDTO)));
+        assertThat(first.join().get(), is(not(sameInstance(second.join().get()))));
+        assertThat(loads.get(), is(1));
+        assertThat(cache.stats().getCoalescedCount(), is(1L));
+    }
+
+    @Test
+    void whenACallerMutatesTheReturnedBeerThenTheCachedValueIsUnchanged() {
+        // given
+        BeerNameCache cache = new BeerNameCache(10, Duration.ofMinutes(1), true);
+        BeerDTO loaded = beerDTO.toBuilder().build();
+        cache.get(loaded.getName(), n -> Optional.of(loaded)).get().setQuantity(0);
+        loaded.setVersion(99L);
+
+        // when
+        BeerDTO cached = cache.get(beerDTO.getName(), n -> Optional.empty()).get();
+        cached.setQuantity(1);
+
+        // then
+        assertThat(cache.get(beerDTO.getName(), n -> Optional.empty()), is(Optional.of(beerDTO)));
+    }
+
+    @Test
+    void whenMaximumSizeIsExceededThenEntriesAreEvicted() {
+        // given
+        BeerNameCache cache = new BeerNameCache(2, Duration.ofMinutes(1), true);
+
+        // when
+        for (int i = 0; i < 50; i++) {
+            cache.get("beer-" + i, n -> Optional.of(beerDTO));
+        }
+        for (int i = 0; i < 50; i++) {
+            cache.get("beer-" + i, n -> Optional.of(beerDTO));
+        }
+
+        // then
+        assertThat(cache.stats().getEvictionCount(), is(greaterThan(0L)));
+        assertThat(cache.stats().getSize(), is(lessThanOrEqualTo(2L)));
+    }
+}
@@ -0,0 +1,60 @@
+package one.digitalinnovation.beerstock.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class CatalogVersionTest {
+
+    private static final Duration SETTLE = Duration.ofSeconds(5);
+
+    private final AtomicLong now = new AtomicLong();
+    private final CatalogVersion catalogVersion = new CatalogVersion(SETTLE, now::get);
+
+    private void advance(Duration duration) {
+        now.addAndGet(duration.toNanos());
+    }
+
+    @Test
+    void whenCatalogChangesFasterThanSettleThenOlderVersionsStillSettle() {
+        // when
+        for (int i = 0; i < 10; i++) {
+            catalogVersion.onChange(null);
+            advance(Duration.ofSeconds(1));
+        }
+
+        // then
+        assertThat(catalogVersion.current(), is(10L));
+        assertThat(catalogVersion.settledVersion(), is(6L));
+    }
+
+    @Test
+    void whenSettleHasPassedThenLatestVersionIsSettled() {
+        // given
+        catalogVersion.onChange(null);
+        catalogVersion.onChange(null);
+        assertThat(catalogVersion.settledVersion(), is(0L));
+
+        // when
+        advance(SETTLE);
+
+        // then
+        assertThat(catalogVersion.settledVersion(), is(2L));
+    }
+
+    @Test
+    void whenSettleIsZeroThenEveryVersionIsSettledImmediately() {
+        // given
+        CatalogVersion immediate = new CatalogVersion(Duration.ZERO, now::get);
+
+        // when
+        immediate.onChange(null);
+
+        // then
+        assertThat(immediate.settledVersion(), is(1L));
+    }
+}
@@ -0,0 +1,124 @@
+package one.digitalinnovation.beerstock.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class SingleFlightTest {
+
+    private static final int CALLERS = 8;
+
+    private final SingleFlight<String, String> flights = new SingleFlight<>();
+    private final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // Dispara CALLERS chamadas com a mesma chave e só libera a execução quando todas as outras estão esperando
+    private List<Future<String>> runTogether(CountDownLatch release, Supplier<String> supplier) throws InterruptedException {
+        List<Future<String>> futures = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            futures.add(executor.submit(() -> flights.execute("Brahma", supplier)));
+        }
+        while (flights.coalesced() < CALLERS - 1) Thread.sleep(1);
+        release.countDown();
+        return futures;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test
+    void whenCallsOverlapThenOneExecutionIsSharedByAll() throws Exception {
+        // given
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger executions = new AtomicInteger();
+
+        // when
+        List<Future<String>> futures = runTogether(release, () -> {
+            executions.incrementAndGet();
+            await(release);
+            return "found";
+        });
+
+        // then
+        for (Future<String> future : futures) assertThat(future.get(10, TimeUnit.SECONDS), is("found"));
+        assertThat(executions.get(), is(1));
+        assertThat(flights.executions(), is(1L));
+        assertThat(flights.coalesced(), is((long) CALLERS - 1));
+    }
+
+    @Test
+    void whenExecutionFailsThenEveryCallerGetsTheSameException() throws Exception {
+        // given
+        CountDownLatch release = new CountDownLatch(1);
+        IllegalStateException failure = new IllegalStateException("database unavailable");
+
+        // when
+        List<Future<String>> futures = runTogether(release, () -> {
+            await(release);
+            throw failure;
+        });
+
+        // then
+        for (Future<String> future : futures) {
+            ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(10, TimeUnit.SECONDS));
+            assertThat(e.getCause(), is(sameInstance(failure)));
+        }
+    }
+
+    @Test
+    void whenExecutionIsOverThenTheNextCallRunsAgain() {
+        // given
+        AtomicInteger executions = new AtomicInteger();
+
+        // when
+        flights.execute("Brahma", () -> "v" + executions.incrementAndGet());
+        String second = flights.execute("Brahma", () -> "v" + executions.incrementAndGet());
+
+        // then
+        assertThat(second, is("v2"));
+        assertThat(flights.coalesced(), is(0L));
+    }
+
+    @Test
+    void whenOneAsyncCallerCancelsThenTheOthersStillGetTheSharedResult() {
+        // given
+        CompletableFuture<String> execution = new CompletableFuture<>();
+        AtomicInteger executions = new AtomicInteger();
+
+        // when
+        CompletableFuture<String> first = flights.executeAsync("Brahma", () -> { executions.incrementAndGet(); return execution; });
+        CompletableFuture<String> second = flights.executeAsync("Brahma", () -> { executions.incrementAndGet(); return execution; });
+        first.cancel(true);
+        execution.complete("v1");
+
+        // then
+        assertThat(second.join(), is("v1"));
+        assertThat(executions.get(), is(1));
+        assertThat(flights.coalesced(), is(1L));
+    }
+}
@@ -0,0 +1,97 @@
+package one.digitalinnovation.beerstock.controller;
+
+import one.digitalinnovation.beerstock.alert.LowStockAlertEngine;
+import one.digitalinnovation.beerstock.dto.AlertRuleDTO;
+import one.digitalinnovation.beerstock.dto.LowStockAlertDTO;
+import one.digitalinnovation.beerstock.enums.AlertScope;
+import one.digitalinnovation.beerstock.enums.BeerType;
+import one.digitalinnovation.beerstock.exception.InvalidAlertRuleException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+
+import static one.digitalinnovation.beerstock.utils.JsonConvertionUtils.asJsonString;
+import static org.hamcrest.core.Is.is;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+public class AlertControllerTest {
+
+    private static final String ALERT_API_URL_PATH = "/api/v1/alerts";
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private LowStockAlertEngine alertEngine;
+
+    @InjectMocks
+    private AlertController alertController;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(alertController).build();
+    }
+
+    @Test
+    void whenGETIsCalledThenActiveAlertsAreReturned() throws Exception {
+        // when
+        when(alertEngine.activeAlerts()).thenReturn(List.of(LowStockAlertDTO.builder()
+                .beerId(1L).name("Brahma").type(BeerType.LAGER).quantity(5).max(50).threshold(0.2).build()));
+
+        // then
+        mockMvc.perform(get(ALERT_API_URL_PATH))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].beerId", is(1)))
+                .andExpect(jsonPath("$[0].quantity", is(5)));
+    }
+
+    @Test
+    void whenPUTRuleIsCalledThenTheRuleIsStored() throws Exception {
+        // given
+        AlertRuleDTO rule = AlertRuleDTO.builder().scope(AlertScope.TYPE).type(BeerType.IPA).threshold(0.3).build();
+
+        // when
+        when(alertEngine.putRule(rule)).thenReturn(rule);
+
+        // then
+        mockMvc.perform(put(ALERT_API_URL_PATH + "/rules")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(rule)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.threshold", is(0.3)));
+    }
+
+    @Test
+    void whenPUTRuleHasThresholdAboveOneThenBadRequestIsReturned() throws Exception {
+        // given
+        AlertRuleDTO rule = AlertRuleDTO.builder().scope(AlertScope.GLOBAL).threshold(1.5).build();
+
+        // then
+        mockMvc.perform(put(ALERT_API_URL_PATH + "/rules")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(rule)))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(alertEngine);
+    }
+
+    @Test
+    void whenDELETERuleIsInvalidThenBadRequestIsReturned() throws Exception {
+        // when
+        doThrow(InvalidAlertRuleException.class).when(alertEngine).removeRule(AlertScope.GLOBAL, null, null);
+
+        // then
+        mockMvc.perform(delete(ALERT_API_URL_PATH + "/rules").param("scope", "GLOBAL"))
+                .andExpect(status().isBadRequest());
+    }
+}
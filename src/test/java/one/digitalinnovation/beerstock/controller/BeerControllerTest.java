@@ -1,29 +1,60 @@
 package one.digitalinnovation.beerstock.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import one.digitalinnovation.beerstock.admission.ClientIdentity;
 import one.digitalinnovation.beerstock.builder.BeerDTOBuilder;
+import one.digitalinnovation.beerstock.cache.CatalogVersion;
+import one.digitalinnovation.beerstock.dto.BeerBatchDTO;
 import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.dto.BeerPageDTO;
+import one.digitalinnovation.beerstock.dto.BeerSearchDTO;
+import one.digitalinnovation.beerstock.dto.CacheStatsDTO;
 import one.digitalinnovation.beerstock.dto.QuantityDTO;
+import one.digitalinnovation.beerstock.dto.StockAdjustmentDTO;
+import one.digitalinnovation.beerstock.dto.StockAdjustmentResultDTO;
+import one.digitalinnovation.beerstock.dto.StockBatchDTO;
+import one.digitalinnovation.beerstock.enums.BeerType;
+import one.digitalinnovation.beerstock.enums.StockAdjustmentStatus;
 import one.digitalinnovation.beerstock.exception.BeerNotFoundException;
+import one.digitalinnovation.beerstock.exception.BeerStockExceededException;
+import one.digitalinnovation.beerstock.feed.BeerChangeFeed;
+import one.digitalinnovation.beerstock.idempotency.IdempotencyStore;
 import one.digitalinnovation.beerstock.service.BeerService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import org.springframework.web.servlet.view.json.MappingJackson2JsonView;
 
+import java.time.Duration;
 import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 import static one.digitalinnovation.beerstock.utils.JsonConvertionUtils.asJsonString;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.core.Is.is;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ExtendWith(MockitoExtension.class)
@@ -34,12 +65,35 @@ public class BeerControllerTest {
     private static final long INVALID_BEER_ID = 2L;
     private static final String BEER_API_SUBPATH_INCREMENT = "/increment";
     private static final String BEER_API_SUBPATH_DECREMENT = "/decrement";
+    private static final String BEER_API_SUBPATH_STOCK = "/stock";
+    private static final String BEER_API_SUBPATH_BATCH = "/batch";
+    private static final String BEER_API_SUBPATH_EXPORT = "/export";
+    private static final String BEER_API_SUBPATH_EVENTS = "/events";
+    private static final String BEER_API_SUBPATH_SEARCH = "/search";
 
     private MockMvc mockMvc;
 
     @Mock
     private BeerService beerService;
 
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @Spy
+    private IdempotencyStore idempotencyStore = new IdempotencyStore(100, Duration.ofMinutes(1));
+
+    @Spy
+    private ClientIdentity clientIdentity = new ClientIdentity("X-Client-Id", Set.of());
+
+    @Mock
+    private BeerChangeFeed changeFeed;
+
+    @Captor
+    private ArgumentCaptor<Predicate<BeerDTO>> feedFilter;
+
+    @Spy
+    private CatalogVersion catalogVersion = new CatalogVersion(Duration.ZERO);
+
     @InjectMocks
     private BeerController beerController;
 
@@ -89,6 +143,49 @@ public class BeerControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void whenPOSTIsCalledWithAReservedRouteNameThenBadRequestStatusIsReturned() throws Exception {
+        // given
+        BeerDTO beerDTO = createFakeDTO();
+        beerDTO.setName(" Export ");
+
+        // then
+        mockMvc.perform(post(BEER_API_URL_PATH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(beerDTO)))
+                .andExpect(status().isBadRequest());
+        verify(beerService, never()).createBeer(any(BeerDTO.class));
+    }
+
+    @Test
+    void whenPOSTIsCalledToCreateBeerBatchThenCreatedStatusIsReturned() throws Exception {
+        // given
+        BeerDTO beerDTO = createFakeDTO();
+
+        // when
+        when(beerService.createBeers(List.of(beerDTO))).thenReturn(List.of(beerDTO));
+
+        // then
+        mockMvc.perform(post(BEER_API_URL_PATH + BEER_API_SUBPATH_BATCH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(BeerBatchDTO.builder().beers(List.of(beerDTO)).build())))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$[0].name", is(beerDTO.getName())));
+    }
+
+    @Test
+    void whenPOSTIsCalledToCreateBeerBatchWithAnInvalidBeerThenBadRequestStatusIsReturned() throws Exception {
+        // given
+        BeerDTO beerDTO = createFakeDTO();
+        beerDTO.setBrand(null);
+
+        // then
+        mockMvc.perform(post(BEER_API_URL_PATH + BEER_API_SUBPATH_BATCH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(BeerBatchDTO.builder().beers(List.of(beerDTO)).build())))
+                .andExpect(status().isBadRequest());
+    }
+
     // --- TESTES: GET (CONSULTA POR NOME) ---
 
     @Test
@@ -109,6 +206,27 @@ public class BeerControllerTest {
 
     }
 
+    @Test
+    void whenGETIsCalledWithCurrentETagThenNotModifiedStatusIsReturned() throws Exception {
+        // given
+        BeerDTO beerDTO = createFakeDTO();
+        beerDTO.setVersion(3L);
+        String etag = "\"" + beerDTO.getId() + "-3-json\"";
+
+        // when
+        when(beerService.findByName(beerDTO.getName())).thenReturn(beerDTO);
+
+        // then
+        mockMvc.perform(get(BEER_API_URL_PATH + "/" + beerDTO.getName()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+
+        mockMvc.perform(get(BEER_API_URL_PATH + "/" + beerDTO.getName())
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
     @Test
     void whenGETIsCalledWithInvalidNameThenNotFoundStatusIsReturned() throws Exception {
         // given
@@ -123,6 +241,18 @@ public class BeerControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    void whenGETCacheStatsIsCalledThenOkStatusIsReturned() throws Exception {
+        // when
+        when(beerService.nameCacheStats()).thenReturn(CacheStatsDTO.builder().size(1).hitCount(3).missCount(1).hitRate(0.75).build());
+
+        // then
+        mockMvc.perform(get(BEER_API_URL_PATH + "/cache/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hitCount", is(3)))
+                .andExpect(jsonPath("$.hitRate", is(0.75)));
+    }
+
     // --- TESTES: GET (LISTAGEM) ---
 
     @Test
@@ -131,25 +261,153 @@ public class BeerControllerTest {
         BeerDTO beerDTO = createFakeDTO();
 
         // when
-        when(beerService.listAll()).thenReturn(Collections.singletonList(beerDTO));
+        when(beerService.listAll(null, 50)).thenReturn(BeerPageDTO.builder()
+                .content(Collections.singletonList(beerDTO))
+                .nextCursor(beerDTO.getId())
+                .build());
 
         // then
         mockMvc.perform(get(BEER_API_URL_PATH)
                 .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].name", is(beerDTO.getName())))
-                .andExpect(jsonPath("$[0].brand", is(beerDTO.getBrand())));
+                .andExpect(jsonPath("$.content[0].name", is(beerDTO.getName())))
+                .andExpect(jsonPath("$.content[0].brand", is(beerDTO.getBrand())))
+                .andExpect(jsonPath("$.nextCursor", is(beerDTO.getId().intValue())));
+    }
+
+    @Test
+    void whenGETListIsCalledWithCurrentETagThenCatalogIsNotQueried() throws Exception {
+        // given
+        String etag = mockMvc.perform(get(BEER_API_URL_PATH))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // then
+        mockMvc.perform(get(BEER_API_URL_PATH)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        verify(beerService, times(1)).listAll(null, 50);
+
+        catalogVersion.onChange(null);
+        mockMvc.perform(get(BEER_API_URL_PATH)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+        verify(beerService, times(2)).listAll(null, 50);
     }
 
     @Test
     void whenGETListIsCalledThenEmptyListStatusIsReturned() throws Exception {
         // when
-        when(beerService.listAll()).thenReturn(Collections.emptyList());
+        when(beerService.listAll(VALID_BEER_ID, 10)).thenReturn(BeerPageDTO.builder()
+                .content(Collections.emptyList())
+                .build());
 
         // then
         mockMvc.perform(get(BEER_API_URL_PATH)
+                .param("after", String.valueOf(VALID_BEER_ID))
+                .param("limit", "10")
                 .contentType(MediaType.APPLICATION_JSON))
-                .andExpect(status().isOk());
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(0)));
+    }
+
+    // --- TESTES: GET (BUSCA) ---
+
+    @Test
+    void whenGETSearchIsCalledThenFiltersAreBoundFromTheQueryString() throws Exception {
+        // given
+        BeerDTO beerDTO = createFakeDTO();
+        BeerSearchDTO expectedSearch = BeerSearchDTO.builder()
+                .type(Set.of(BeerType.IPA, BeerType.LAGER))
+                .brand("Ambev")
+                .maxFillRatio(0.2)
+                .build();
+
+        // when
+        when(beerService.search(expectedSearch, null, 20)).thenReturn(BeerPageDTO.builder()
+                .content(Collections.singletonList(beerDTO))
+                .build());
+
+        // then
+        mockMvc.perform(get(BEER_API_URL_PATH + BEER_API_SUBPATH_SEARCH)
+                .param("type", "IPA", "LAGER")
+                .param("brand", "Ambev")
+                .param("maxFillRatio", "0.2")
+                .param("limit", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].name", is(beerDTO.getName())));
+    }
+
+    @Test
+    void whenGETSearchIsCalledWithInvalidFillRatioThenBadRequestIsReturned() throws Exception {
+        mockMvc.perform(get(BEER_API_URL_PATH + BEER_API_SUBPATH_SEARCH)
+                .param("minFillRatio", "1.5"))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(beerService);
+    }
+
+    @Test
+    void whenGETSearchIsCalledWithInvertedRangeThenBadRequestIsReturned() throws Exception {
+        mockMvc.perform(get(BEER_API_URL_PATH + BEER_API_SUBPATH_SEARCH)
+                .param("minQuantity", "10")
+                .param("maxQuantity", "5"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get(BEER_API_URL_PATH + BEER_API_SUBPATH_SEARCH)
+                .param("minFillRatio", "0.8")
+                .param("maxFillRatio", "0.2"))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(beerService);
+    }
+
+    // --- TESTES: GET (EXPORTAÇÃO NDJSON) ---
+
+    @Test
+    void whenGETExportIsCalledThenOneJsonLinePerBeerIsStreamed() throws Exception {
+        // given
+        BeerDTO brahma = createFakeDTO();
+        BeerDTO skol = BeerDTOBuilder.builder().id(2L).name("Skol").build().toBeerDTO();
+
+        // when
+        doAnswer(invocation -> {
+            Consumer<BeerDTO> sink = invocation.getArgument(0);
+            sink.accept(brahma);
+            sink.accept(skol);
+            return null;
+        }).when(beerService).exportAll(any());
+
+        // then
+        MvcResult result = mockMvc.perform(get(BEER_API_URL_PATH + BEER_API_SUBPATH_EXPORT))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(body, is(asJsonString(brahma) + "\n" + asJsonString(skol) + "\n"));
+    }
+
+    // --- TESTES: GET (FEED DE ALTERAÇÕES) ---
+
+    @Test
+    void whenGETEventsIsCalledThenTheFeedIsSubscribedWithFilterAndResumePoint() throws Exception {
+        // given
+        BeerDTO brahma = createFakeDTO();
+        BeerDTO skol = BeerDTOBuilder.builder().id(INVALID_BEER_ID).name("Skol").build().toBeerDTO();
+
+        // when
+        when(changeFeed.subscribe(feedFilter.capture(), eq(5L))).thenReturn(new SseEmitter());
+
+        // then
+        mockMvc.perform(get(BEER_API_URL_PATH + BEER_API_SUBPATH_EVENTS)
+                        .param("id", String.valueOf(VALID_BEER_ID))
+                        .param("type", brahma.getType().name())
+                        .header(BeerController.LAST_EVENT_ID_HEADER, "5"))
+                .andExpect(request().asyncStarted());
+
+        assertThat(feedFilter.getValue().test(brahma), is(true));
+        assertThat(feedFilter.getValue().test(skol), is(false));
     }
 
     // --- TESTES: DELETE (EXCLUSÃO) ---
@@ -198,6 +456,19 @@ public class BeerControllerTest {
                 .andExpect(jsonPath("$.quantity", is(beerDTO.getQuantity())));
     }
     
+    @Test
+    void whenPATCHIsCalledToIncrementWithNegativeQuantityThenBadRequestStatusIsReturned() throws Exception {
+        // given
+        QuantityDTO quantityDTO = QuantityDTO.builder().quantity(-5).build();
+
+        // then
+        mockMvc.perform(patch(BEER_API_URL_PATH + "/" + VALID_BEER_ID + BEER_API_SUBPATH_INCREMENT)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(quantityDTO)))
+                .andExpect(status().isBadRequest());
+        verify(beerService, never()).increment(anyLong(), anyInt());
+    }
+
     @Test
     void whenPATCHIsCalledToIncrementWithInvalidIdThenNotFoundStatusIsReturned() throws Exception {
         // given
@@ -213,6 +484,73 @@ public class BeerControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    void whenPATCHIsRetriedWithTheSameIdempotencyKeyThenStockIsIncrementedOnce() throws Exception {
+        // given
+        QuantityDTO quantityDTO = QuantityDTO.builder().quantity(10).build();
+        BeerDTO beerDTO = createFakeDTO();
+        beerDTO.setQuantity(beerDTO.getQuantity() + quantityDTO.getQuantity());
+
+        // when
+        when(beerService.increment(VALID_BEER_ID, quantityDTO.getQuantity())).thenReturn(beerDTO);
+
+        // then
+        for (int attempt = 0; attempt < 2; attempt++) {
+            mockMvc.perform(patch(BEER_API_URL_PATH + "/" + VALID_BEER_ID + BEER_API_SUBPATH_INCREMENT)
+                    .header(BeerController.IDEMPOTENCY_KEY_HEADER, "retry-1")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(asJsonString(quantityDTO)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.quantity", is(beerDTO.getQuantity())));
+        }
+        verify(beerService, times(1)).increment(VALID_BEER_ID, quantityDTO.getQuantity());
+    }
+
+    @Test
+    void whenAnotherClientSendsTheSameIdempotencyKeyThenItsRequestIsExecuted() throws Exception {
+        // given
+        QuantityDTO quantityDTO = QuantityDTO.builder().quantity(10).build();
+
+        // when
+        when(beerService.increment(VALID_BEER_ID, quantityDTO.getQuantity())).thenReturn(createFakeDTO());
+
+        // then
+        for (String client : List.of("10.0.0.1", "10.0.0.2")) {
+            mockMvc.perform(patch(BEER_API_URL_PATH + "/" + VALID_BEER_ID + BEER_API_SUBPATH_INCREMENT)
+                    .with(request -> {
+                        request.setRemoteAddr(client);
+                        return request;
+                    })
+                    .header(BeerController.IDEMPOTENCY_KEY_HEADER, "shared")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(asJsonString(quantityDTO)))
+                    .andExpect(status().isOk());
+        }
+        verify(beerService, times(2)).increment(VALID_BEER_ID, quantityDTO.getQuantity());
+    }
+
+    @Test
+    void whenIdempotencyKeyIsReusedForAnotherRequestThenUnprocessableEntityStatusIsReturned() throws Exception {
+        // given
+        QuantityDTO quantityDTO = QuantityDTO.builder().quantity(10).build();
+
+        // when
+        when(beerService.increment(VALID_BEER_ID, quantityDTO.getQuantity())).thenReturn(createFakeDTO());
+
+        // then
+        mockMvc.perform(patch(BEER_API_URL_PATH + "/" + VALID_BEER_ID + BEER_API_SUBPATH_INCREMENT)
+                .header(BeerController.IDEMPOTENCY_KEY_HEADER, "reused")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(quantityDTO)))
+                .andExpect(status().isOk());
+        mockMvc.perform(patch(BEER_API_URL_PATH + "/" + VALID_BEER_ID + BEER_API_SUBPATH_DECREMENT)
+                .header(BeerController.IDEMPOTENCY_KEY_HEADER, "reused")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(quantityDTO)))
+                .andExpect(status().isUnprocessableEntity());
+        verify(beerService, never()).decrement(anyLong(), anyInt());
+    }
+
     // --- TESTES: PATCH (DECREMENTO) ---
     
     @Test
@@ -247,4 +585,50 @@ public class BeerControllerTest {
                 .content(asJsonString(quantityDTO)))
                 .andExpect(status().isNotFound());
     }
+
+    // --- TESTES: PATCH (AJUSTE EM LOTE) ---
+
+    @Test
+    void whenPATCHIsCalledToAdjustStockBatchThenOkStatusIsReturned() throws Exception {
+        // given
+        List<StockAdjustmentDTO> adjustments = List.of(StockAdjustmentDTO.builder().id(VALID_BEER_ID).delta(5).build());
+        StockAdjustmentResultDTO result = StockAdjustmentResultDTO.builder()
+                .id(VALID_BEER_ID).delta(5).status(StockAdjustmentStatus.APPLIED).quantity(15).build();
+
+        // when
+        when(beerService.adjustStock(adjustments, false)).thenReturn(List.of(result));
+
+        // then
+        mockMvc.perform(patch(BEER_API_URL_PATH + BEER_API_SUBPATH_STOCK)
+                .param("atomic", "false")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(StockBatchDTO.builder().adjustments(adjustments).build())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status", is(StockAdjustmentStatus.APPLIED.toString())))
+                .andExpect(jsonPath("$[0].quantity", is(15)));
+    }
+
+    @Test
+    void whenPATCHIsCalledToAdjustStockBatchWithoutItemsThenBadRequestStatusIsReturned() throws Exception {
+        // then
+        mockMvc.perform(patch(BEER_API_URL_PATH + BEER_API_SUBPATH_STOCK)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(StockBatchDTO.builder().adjustments(List.of()).build())))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void whenPATCHIsCalledToAdjustStockBatchAtomicallyAndItFailsThenBadRequestStatusIsReturned() throws Exception {
+        // given
+        List<StockAdjustmentDTO> adjustments = List.of(StockAdjustmentDTO.builder().id(VALID_BEER_ID).delta(500).build());
+
+        // when
+        when(beerService.adjustStock(adjustments, true)).thenThrow(BeerStockExceededException.class);
+
+        // then
+        mockMvc.perform(patch(BEER_API_URL_PATH + BEER_API_SUBPATH_STOCK)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(StockBatchDTO.builder().adjustments(adjustments).build())))
+                .andExpect(status().isBadRequest());
+    }
 }
@@ -0,0 +1,103 @@
+package one.digitalinnovation.beerstock.controller;
+
+import one.digitalinnovation.beerstock.dto.ImportJobDTO;
+import one.digitalinnovation.beerstock.enums.ImportStatus;
+import one.digitalinnovation.beerstock.exception.ImportJobNotFoundException;
+import one.digitalinnovation.beerstock.exception.ImportQueueFullException;
+import one.digitalinnovation.beerstock.exception.InvalidImportFileException;
+import one.digitalinnovation.beerstock.importer.BeerImporter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.hamcrest.core.Is.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+public class BeerImportControllerTest {
+
+    private static final String IMPORT_API_URL_PATH = "/api/v1/beers/import";
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private BeerImporter beerImporter;
+
+    @InjectMocks
+    private BeerImportController beerImportController;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(beerImportController).build();
+    }
+
+    private static MockMultipartFile file() {
+        return new MockMultipartFile("file", "beers.csv", "text/csv", "name,brand,max,quantity,type\n".getBytes());
+    }
+
+    @Test
+    void whenCsvIsUploadedThenJobIsAcceptedWithItsLocation() throws Exception {
+        // when
+        when(beerImporter.start(any())).thenReturn(ImportJobDTO.builder().id("job-1").status(ImportStatus.QUEUED).build());
+
+        // then
+        mockMvc.perform(multipart(IMPORT_API_URL_PATH).file(file()))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "http://localhost/api/v1/beers/import/job-1"))
+                .andExpect(jsonPath("$.status", is("QUEUED")));
+    }
+
+    @Test
+    void whenCsvHeaderIsInvalidThenBadRequestIsReturned() throws Exception {
+        // when
+        when(beerImporter.start(any())).thenThrow(new InvalidImportFileException("The CSV header is missing the columns [type]"));
+
+        // then
+        mockMvc.perform(multipart(IMPORT_API_URL_PATH).file(file()))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void whenImportQueueIsFullThenServiceUnavailableIsReturnedWithRetryAfter() throws Exception {
+        // when
+        when(beerImporter.start(any())).thenThrow(new ImportQueueFullException(4, 30));
+
+        // then
+        mockMvc.perform(multipart(IMPORT_API_URL_PATH).file(file()))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "30"));
+    }
+
+    @Test
+    void whenJobIsPolledThenProgressIsReturned() throws Exception {
+        // when
+        when(beerImporter.find("job-1")).thenReturn(ImportJobDTO.builder().id("job-1").status(ImportStatus.RUNNING).imported(2000).build());
+
+        // then
+        mockMvc.perform(get(IMPORT_API_URL_PATH + "/job-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported", is(2000)));
+    }
+
+    @Test
+    void whenJobIsUnknownThenNotFoundIsReturned() throws Exception {
+        // when
+        when(beerImporter.find("missing")).thenThrow(new ImportJobNotFoundException("missing"));
+
+        // then
+        mockMvc.perform(get(IMPORT_API_URL_PATH + "/missing"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,144 @@
+package one.digitalinnovation.beerstock.controller;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import one.digitalinnovation.beerstock.dto.BeerBatchDTO;
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.dto.BeerPageDTO;
+import one.digitalinnovation.beerstock.enums.BeerType;
+import one.digitalinnovation.beerstock.repository.BeerRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.endsWith;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class BinaryContentNegotiationTest {
+
+    private static final String BEER_API_URL_PATH = "/api/v1/beers";
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BeerRepository beerRepository;
+
+    private final ObjectMapper cbor = new CBORMapper();
+    private final ObjectMapper smile = new SmileMapper();
+
+    @AfterEach
+    void cleanup() {
+        beerRepository.deleteAll();
+    }
+
+    private BeerDTO beer(String name) {
+        return BeerDTO.builder().name(name).brand("Ambev").max(50).quantity(10).type(BeerType.LAGER).build();
+    }
+
+    @Test
+    void whenBeerIsPostedAsCborThenItIsReturnedAsCbor() throws Exception {
+        // when
+        byte[] body = mockMvc.perform(post(BEER_API_URL_PATH)
+                .contentType(MediaType.APPLICATION_CBOR)
+                .accept(MediaType.APPLICATION_CBOR)
+                .content(cbor.writeValueAsBytes(beer("Cbor Brahma"))))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // then
+        // Em árvore: como DTO, o version (READ_ONLY) seria ignorados na leitura
+        JsonNode created = cbor.readTree(body);
+        assertThat(created.get("name").asText(), is("Cbor Brahma"));
+        assertThat(created.get("version").asLong(), is(0L));
+    }
+
+    @Test
+    void whenListIsPostedAsSmileThenPageIsReturnedAsSmileAndJsonStaysTheDefault() throws Exception {
+        // given
+        BeerBatchDTO batch = BeerBatchDTO.builder().beers(List.of(beer("Smile Skol"), beer("Smile Bohemia"))).build();
+
+        // when
+        byte[] created = mockMvc.perform(post(BEER_API_URL_PATH + "/batch")
+                .contentType(SMILE)
+                .accept(SMILE)
+                .content(smile.writeValueAsBytes(batch)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsByteArray();
+        byte[] page = mockMvc.perform(get(BEER_API_URL_PATH).accept(SMILE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(SMILE))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)))
+                .andReturn().getResponse().getContentAsByteArray();
+        byte[] json = mockMvc.perform(get(BEER_API_URL_PATH))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // then
+        List<BeerDTO> beers = smile.readValue(created, new TypeReference<List<BeerDTO>>() { });
+        assertThat(beers.size(), is(2));
+        assertThat(smile.readValue(page, BeerPageDTO.class).getContent(), is(beers));
+        assertThat(page.length, lessThan(json.length));
+    }
+
+    @Test
+    void whenTheSameBeerIsServedInTwoFormatsThenEachHasItsOwnStrongEtagAndEveryRouteVariesByAccept() throws Exception {
+        // given
+        mockMvc.perform(post(BEER_API_URL_PATH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(new ObjectMapper().writeValueAsBytes(beer("Strong Brahma"))))
+                .andExpect(status().isCreated());
+        String json = mockMvc.perform(get(BEER_API_URL_PATH + "/Strong Brahma"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String cbor = mockMvc.perform(get(BEER_API_URL_PATH + "/Strong Brahma").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // then
+        assertThat(json.startsWith("\""), is(true));
+        assertThat(json.endsWith("-json\""), is(true));
+        assertThat(cbor.endsWith("-cbor\""), is(true));
+        mockMvc.perform(get(BEER_API_URL_PATH + "/Strong Brahma")
+                .accept(MediaType.APPLICATION_CBOR)
+                .header(HttpHeaders.IF_NONE_MATCH, json))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR));
+        mockMvc.perform(get(BEER_API_URL_PATH + "/Strong Brahma")
+                .accept(MediaType.APPLICATION_CBOR)
+                .header(HttpHeaders.IF_NONE_MATCH, cbor))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get(BEER_API_URL_PATH).accept(SMILE))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, endsWith("-smile\"")));
+        for (String path : List.of(BEER_API_URL_PATH + "/aggregates/reconciliation", "/api/v1/alerts/rules")) {
+            mockMvc.perform(get(path).accept(MediaType.APPLICATION_CBOR))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                    .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)));
+        }
+    }
+}
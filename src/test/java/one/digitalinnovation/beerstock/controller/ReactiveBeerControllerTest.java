@@ -0,0 +1,111 @@
+package one.digitalinnovation.beerstock.controller;
+
+import one.digitalinnovation.beerstock.builder.BeerDTOBuilder;
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.dto.BeerPageDTO;
+import one.digitalinnovation.beerstock.dto.QuantityDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+
+// O tipo de aplicação do teste é decidido antes de ler application-reactive.properties
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "spring.main.web-application-type=reactive")
+@ActiveProfiles("reactive")
+public class ReactiveBeerControllerTest {
+
+    private static final String BEER_API_URL_PATH = "/api/v1/beers";
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    private BeerDTO create(String name, int quantity) {
+        BeerDTO beerDTO = BeerDTOBuilder.builder().build().toBeerDTO();
+        beerDTO.setId(null);
+        beerDTO.setName(name);
+        beerDTO.setQuantity(quantity);
+        return webTestClient.post().uri(BEER_API_URL_PATH).bodyValue(beerDTO)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(BeerDTO.class).returnResult().getResponseBody();
+    }
+
+    @Test
+    void whenBeerIsCreatedThenItIsFoundByNameAndListed() {
+        // given
+        BeerDTO created = create("Reactive Brahma", 10);
+
+        // then
+        webTestClient.get().uri(BEER_API_URL_PATH + "/{name}", "REACTIVE brahma")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(created.getId())
+                .jsonPath("$.version").isEqualTo(0);
+        BeerPageDTO page = webTestClient.get().uri(BEER_API_URL_PATH + "?limit=1000")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(BeerPageDTO.class).returnResult().getResponseBody();
+        assertThat(page.getContent(), hasItem(created));
+    }
+
+    @Test
+    void whenBeerNameIsAlreadyRegisteredThenBadRequestIsReturned() {
+        // given
+        create("Reactive Skol", 10);
+        BeerDTO duplicate = BeerDTOBuilder.builder().build().toBeerDTO();
+        duplicate.setName(" reactive  SKOL");
+
+        // then
+        webTestClient.post().uri(BEER_API_URL_PATH).bodyValue(duplicate)
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void whenUnknownBeerIsRequestedThenNotFoundIsReturned() {
+        webTestClient.get().uri(BEER_API_URL_PATH + "/{name}", "Reactive Unknown")
+                .exchange()
+                .expectStatus().isNotFound();
+        webTestClient.delete().uri(BEER_API_URL_PATH + "/{id}", Long.MAX_VALUE)
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void whenStockIsAdjustedThenLimitsAreEnforced() {
+        // given
+        BeerDTO created = create("Reactive Antarctica", 10);
+        QuantityDTO five = QuantityDTO.builder().quantity(5).build();
+        QuantityDTO twenty = QuantityDTO.builder().quantity(20).build();
+
+        // then
+        webTestClient.patch().uri(BEER_API_URL_PATH + "/{id}/increment", created.getId()).bodyValue(five)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.quantity").isEqualTo(15)
+                .jsonPath("$.version").isEqualTo(1);
+        webTestClient.patch().uri(BEER_API_URL_PATH + "/{id}/decrement", created.getId()).bodyValue(twenty)
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void whenBeerIsDeletedThenNoContentIsReturnedAndItIsGone() {
+        // given
+        BeerDTO created = create("Reactive Bohemia", 10);
+
+        // then
+        webTestClient.delete().uri(BEER_API_URL_PATH + "/{id}", created.getId())
+                .exchange()
+                .expectStatus().isNoContent();
+        webTestClient.get().uri(BEER_API_URL_PATH + "/{name}", created.getName())
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+}
@@ -0,0 +1,107 @@
+package one.digitalinnovation.beerstock.controller;
+
+import one.digitalinnovation.beerstock.builder.BeerDTOBuilder;
+import one.digitalinnovation.beerstock.dto.ReservationDTO;
+import one.digitalinnovation.beerstock.exception.InsufficientStockException;
+import one.digitalinnovation.beerstock.exception.ReservationNotFoundException;
+import one.digitalinnovation.beerstock.service.ReservationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Instant;
+
+import static one.digitalinnovation.beerstock.utils.JsonConvertionUtils.asJsonString;
+import static org.hamcrest.core.Is.is;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+public class ReservationControllerTest {
+
+    private static final String RESERVATION_API_URL_PATH = "/api/v1/reservations";
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private ReservationService reservationService;
+
+    @InjectMocks
+    private ReservationController reservationController;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(reservationController).build();
+    }
+
+    @Test
+    void whenPOSTIsCalledThenReservationIsCreated() throws Exception {
+        // given
+        ReservationDTO request = ReservationDTO.builder().beerId(1L).quantity(2).build();
+        ReservationDTO created = ReservationDTO.builder().id(7L).beerId(1L).quantity(2)
+                .expiresAt(Instant.parse("2024-01-01T10:15:00Z")).build();
+
+        // when
+        when(reservationService.reserve(request)).thenReturn(created);
+
+        // then
+        mockMvc.perform(post(RESERVATION_API_URL_PATH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id", is(7)))
+                .andExpect(jsonPath("$.quantity", is(2)));
+    }
+
+    @Test
+    void whenPOSTIsCalledWithoutQuantityThenBadRequestIsReturned() throws Exception {
+        mockMvc.perform(post(RESERVATION_API_URL_PATH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(ReservationDTO.builder().beerId(1L).build())))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void whenStockIsNotAvailableThenBadRequestIsReturned() throws Exception {
+        // given
+        ReservationDTO request = ReservationDTO.builder().beerId(1L).quantity(20).build();
+
+        // when
+        when(reservationService.reserve(request)).thenThrow(new InsufficientStockException(1L, 4));
+
+        // then
+        mockMvc.perform(post(RESERVATION_API_URL_PATH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void whenCommitIsCalledThenUpdatedBeerIsReturned() throws Exception {
+        // when
+        when(reservationService.commit(7L)).thenReturn(BeerDTOBuilder.builder().quantity(8).build().toBeerDTO());
+
+        // then
+        mockMvc.perform(post(RESERVATION_API_URL_PATH + "/7/commit"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.quantity", is(8)));
+    }
+
+    @Test
+    void whenDELETEIsCalledForAResolvedReservationThenNotFoundIsReturned() throws Exception {
+        // when
+        doThrow(new ReservationNotFoundException(7L)).when(reservationService).release(7L);
+
+        // then
+        mockMvc.perform(delete(RESERVATION_API_URL_PATH + "/7"))
+                .andExpect(status().isNotFound());
+    }
+}
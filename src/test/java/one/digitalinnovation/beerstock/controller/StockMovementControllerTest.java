@@ -0,0 +1,108 @@
+package one.digitalinnovation.beerstock.controller;
+
+import one.digitalinnovation.beerstock.dto.StockHistoryDTO;
+import one.digitalinnovation.beerstock.dto.StockMovementDTO;
+import one.digitalinnovation.beerstock.enums.MovementSource;
+import one.digitalinnovation.beerstock.exception.BeerNotFoundException;
+import one.digitalinnovation.beerstock.service.StockLedgerService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.view.json.MappingJackson2JsonView;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.hamcrest.core.Is.is;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+public class StockMovementControllerTest {
+
+    private static final String MOVEMENTS_API_URL_PATH = "/api/v1/beers/1/movements";
+    private static final long VALID_BEER_ID = 1L;
+    private static final long INVALID_BEER_ID = 2L;
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private StockLedgerService ledgerService;
+
+    @InjectMocks
+    private StockMovementController stockMovementController;
+
+    @BeforeEach
+    void setup() {
+        mockMvc = MockMvcBuilders.standaloneSetup(stockMovementController)
+                .setViewResolvers((s, locale) -> new MappingJackson2JsonView())
+                .build();
+    }
+
+    @Test
+    void whenGETHistoryIsCalledThenOpeningQuantityAndMovementsAreReturned() throws Exception {
+        // given
+        Instant from = Instant.parse("2024-01-01T00:00:00Z");
+        Instant to = Instant.parse("2024-01-02T00:00:00Z");
+        StockHistoryDTO history = StockHistoryDTO.builder()
+                .beerId(VALID_BEER_ID)
+                .openingQuantity(10)
+                .movements(List.of(StockMovementDTO.builder()
+                        .id(1L)
+                        .beerId(VALID_BEER_ID)
+                        .delta(5)
+                        .resultingQuantity(15)
+                        .source(MovementSource.INCREMENT)
+                        .build()))
+                .build();
+
+        // when
+        when(ledgerService.history(VALID_BEER_ID, from, 0L, to, 20)).thenReturn(history);
+
+        // then
+        mockMvc.perform(get(MOVEMENTS_API_URL_PATH)
+                        .param("from", from.toString())
+                        .param("to", to.toString())
+                        .param("limit", "20")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.openingQuantity", is(10)))
+                .andExpect(jsonPath("$.movements[0].resultingQuantity", is(15)))
+                .andExpect(jsonPath("$.movements[0].source", is(MovementSource.INCREMENT.toString())));
+    }
+
+    @Test
+    void whenGETHistoryIsCalledWithoutRangeThenTheWholeLedgerIsQueried() throws Exception {
+        // when
+        when(ledgerService.history(eq(VALID_BEER_ID), eq(Instant.EPOCH), eq(0L), Mockito.any(Instant.class), eq(100)))
+                .thenReturn(StockHistoryDTO.builder().beerId(VALID_BEER_ID).openingQuantity(0).movements(List.of()).build());
+
+        // then
+        mockMvc.perform(get(MOVEMENTS_API_URL_PATH)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.openingQuantity", is(0)));
+    }
+
+    @Test
+    void whenGETHistoryIsCalledWithUnknownBeerThenNotFoundStatusIsReturned() throws Exception {
+        // when
+        when(ledgerService.history(eq(INVALID_BEER_ID), eq(Instant.EPOCH), eq(0L), Mockito.any(Instant.class), eq(100)))
+                .thenThrow(BeerNotFoundException.class);
+
+        // then
+        mockMvc.perform(get("/api/v1/beers/" + INVALID_BEER_ID + "/movements")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,51 @@
+package one.digitalinnovation.beerstock.datasource;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class ReplicaPositionTest {
+
+    private final AtomicLong now = new AtomicLong(10_000);
+    private final ReplicaPosition position = new ReplicaPosition(Duration.ofSeconds(5), now::get);
+
+    @Test
+    void whenNothingWasAppliedYetThenLagIsUnknownAndNoReadIsCovered() {
+        // then
+        assertThat(position.lagMillis(), is(Long.MAX_VALUE));
+        assertThat(position.covers(Long.MIN_VALUE / 2), is(false));
+    }
+
+    @Test
+    void whenWriteIsInFlightThenTheAppliedPointDoesNotPassIt() {
+        // given
+        long stamp = position.beginWrite();
+        now.addAndGet(1000);
+
+        // when
+        position.applied(position.consistentPoint());
+
+        // then
+        assertThat(position.covers(stamp), is(false));
+        position.endWrite(stamp);
+        position.applied(position.consistentPoint());
+        assertThat(position.covers(stamp), is(true));
+    }
+
+    @Test
+    void whenMeasuredLagExceedsMaxLagThenReadsWithoutLastWriteAreNotCovered() {
+        // given
+        position.applied(position.consistentPoint());
+
+        // when
+        now.addAndGet(5001);
+
+        // then
+        assertThat(position.lagMillis(), is(5001L));
+        assertThat(position.covers(Long.MIN_VALUE / 2), is(false));
+    }
+}
@@ -0,0 +1,118 @@
+package one.digitalinnovation.beerstock.datasource;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import one.digitalinnovation.beerstock.builder.BeerDTOBuilder;
+import one.digitalinnovation.beerstock.cache.CatalogVersion;
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static one.digitalinnovation.beerstock.utils.JsonConvertionUtils.asJsonString;
+import static org.hamcrest.Matchers.endsWith;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Dois H2 (beerstock e beerstock_replica); a réplica só é atualizada quando o teste chama sync()
+@SpringBootTest(properties = "beerstock.datasource.replica.sync-interval=PT1H")
+@AutoConfigureMockMvc
+@ActiveProfiles("replica")
+public class ReplicaRoutingTest {
+
+    private static final String BEER_API_URL_PATH = "/api/v1/beers";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private LocalReplicaSync replicaSync;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CatalogVersion catalogVersion;
+
+    private MvcResult create(String name) throws Exception {
+        BeerDTO beerDTO = BeerDTOBuilder.builder().build().toBeerDTO();
+        beerDTO.setId(null);
+        beerDTO.setName(name);
+        return mockMvc.perform(post(BEER_API_URL_PATH)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(beerDTO)))
+                .andExpect(status().isCreated())
+                .andExpect(header().exists(ReadYourWritesInterceptor.LAST_WRITE_HEADER))
+                .andReturn();
+    }
+
+    private long idOf(MvcResult result) throws Exception {
+        return objectMapper.readValue(result.getResponse().getContentAsString(), BeerDTO.class).getId();
+    }
+
+    @Test
+    void whenClientSendsItsLastWriteThenReadsGoToPrimaryUntilReplicaCatchesUp() throws Exception {
+        // given
+        replicaSync.sync();
+        MvcResult created = create("Replica Lager");
+        long id = idOf(created);
+        String lastWrite = created.getResponse().getHeader(ReadYourWritesInterceptor.LAST_WRITE_HEADER);
+        String page = BEER_API_URL_PATH + "?after=" + (id - 1) + "&limit=1";
+
+        // then
+        mockMvc.perform(get(page))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(0)));
+        mockMvc.perform(get(page).header(ReadYourWritesInterceptor.LAST_WRITE_HEADER, lastWrite))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id", is((int) id)));
+
+        // when
+        replicaSync.sync();
+
+        // then
+        mockMvc.perform(get(page))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id", is((int) id)));
+    }
+
+    @Test
+    void whenBeerIsLookedUpByNameBeforeReplicationThenCacheMissIsServedByPrimary() throws Exception {
+        // given
+        create("Replica Stout");
+
+        // then
+        mockMvc.perform(get(BEER_API_URL_PATH + "/{name}", "replica stout"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name", is("Replica Stout")));
+    }
+
+    @Test
+    void whenCatalogChangedWithinMaxLagThenListKeepsSettledEtag() throws Exception {
+        // given
+        replicaSync.sync();
+        MvcResult created = create("Replica Pilsen");
+        String lastWrite = created.getResponse().getHeader(ReadYourWritesInterceptor.LAST_WRITE_HEADER);
+        String current = "-" + catalogVersion.current() + "-json\"";
+
+        // then
+        mockMvc.perform(get(BEER_API_URL_PATH))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(endsWith(current))));
+        mockMvc.perform(get(BEER_API_URL_PATH)
+                        .header(ReadYourWritesInterceptor.LAST_WRITE_HEADER, lastWrite))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, endsWith(current)));
+    }
+}
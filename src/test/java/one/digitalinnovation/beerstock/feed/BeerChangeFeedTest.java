@@ -0,0 +1,170 @@
+package one.digitalinnovation.beerstock.feed;
+
+import one.digitalinnovation.beerstock.builder.BeerDTOBuilder;
+import one.digitalinnovation.beerstock.dto.BeerChangeDTO;
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.enums.ChangeType;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+public class BeerChangeFeedTest {
+
+    private static final long BRAHMA_ID = 1L;
+    private static final long SKOL_ID = 2L;
+
+    private final BeerDTO brahma = BeerDTOBuilder.builder().id(BRAHMA_ID).build().toBeerDTO();
+    private final BeerDTO skol = BeerDTOBuilder.builder().id(SKOL_ID).name("Skol").build().toBeerDTO();
+
+    // Executa o envio na própria thread que publica, o que deixa a ordem dos eventos determinística
+    private BeerChangeFeed directFeed(int historySize, int queueSize) {
+        return new BeerChangeFeed(historySize, queueSize, BeerChangeFeed.OverflowPolicy.DISCONNECT, Duration.ofMinutes(1), Runnable::run);
+    }
+
+    private void publish(BeerChangeFeed feed, BeerDTO beer, int delta) {
+        feed.onChange(new BeerChangedEvent(ChangeType.QUANTITY_CHANGED, beer, delta));
+    }
+
+    @Test
+    void whenChangesArePublishedThenOnlyMatchingSubscribersReceiveThem() {
+        // given
+        BeerChangeFeed feed = directFeed(16, 16);
+        RecordingEmitter all = new RecordingEmitter();
+        RecordingEmitter onlySkol = new RecordingEmitter();
+        feed.subscribe(all, beer -> true, null);
+        feed.subscribe(onlySkol, beer -> beer.getId() == SKOL_ID, null);
+
+        // when
+        publish(feed, brahma, 1);
+        publish(feed, skol, 2);
+
+        // then
+        assertThat(all.sequences(), contains(1L, 2L));
+        assertThat(onlySkol.sequences(), contains(2L));
+        assertThat(onlySkol.changes.get(0).getDelta(), is(2));
+    }
+
+    @Test
+    void whenChunkIsImportedThenSubscribersReceiveOneSummaryInsteadOfEveryRow() {
+        // given
+        BeerChangeFeed feed = directFeed(16, 2);
+        RecordingEmitter onlySkol = new RecordingEmitter();
+        feed.subscribe(onlySkol, beer -> beer.getId() == SKOL_ID, null);
+
+        // when
+        for (int i = 0; i < 5; i++) feed.onChange(new BeerChangedEvent(ChangeType.CREATED, skol, 10, true));
+        feed.onImport(new BeersImportedEvent(5, 50));
+
+        // then
+        assertThat(onlySkol.sequences(), contains(1L));
+        assertThat(onlySkol.changes.get(0).getType(), is(ChangeType.IMPORTED));
+        assertThat(onlySkol.changes.get(0).getCount(), is(5));
+        assertThat(onlySkol.changes.get(0).getDelta(), is(50));
+        assertThat(feed.subscriberCount(), is(1));
+    }
+
+    @Test
+    void whenSubscriberResumesThenMissedEventsAreReplayedBeforeNewOnes() {
+        // given
+        BeerChangeFeed feed = directFeed(16, 16);
+        publish(feed, brahma, 1);
+        publish(feed, brahma, 2);
+        publish(feed, brahma, 3);
+        RecordingEmitter resumed = new RecordingEmitter();
+
+        // when
+        feed.subscribe(resumed, beer -> true, 1L);
+        publish(feed, brahma, 4);
+
+        // then
+        assertThat(resumed.sequences(), contains(2L, 3L, 4L));
+    }
+
+    @Test
+    void whenResumePointIsNoLongerBufferedThenResetIsSent() {
+        // given
+        BeerChangeFeed feed = directFeed(2, 16);
+        publish(feed, brahma, 1);
+        publish(feed, brahma, 2);
+        publish(feed, brahma, 3);
+        RecordingEmitter resumed = new RecordingEmitter();
+
+        // when
+        feed.subscribe(resumed, beer -> true, 0L);
+
+        // then
+        assertThat(resumed.resets, is(1));
+        assertThat(resumed.changes.isEmpty(), is(true));
+    }
+
+    @Test
+    void whenSubscriberFallsBehindThenItIsDisconnected() throws Exception {
+        // given
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        CountDownLatch release = new CountDownLatch(1);
+        BeerChangeFeed feed = new BeerChangeFeed(16, 2, BeerChangeFeed.OverflowPolicy.DISCONNECT, Duration.ofMinutes(1), executor);
+        RecordingEmitter slow = new RecordingEmitter(release);
+        RecordingEmitter fast = new RecordingEmitter();
+        feed.subscribe(slow, beer -> true, null);
+
+        try {
+            // when
+            for (int i = 1; i <= 5; i++) publish(feed, brahma, i);
+            feed.subscribe(fast, beer -> true, null);
+            publish(feed, brahma, 6);
+
+            // then
+            assertThat(feed.subscriberCount(), equalTo(1));
+            assertThat(feed.currentSequence(), equalTo(6L));
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    // Guarda o que seria escrito na resposta; com latch, simula um cliente lento
+    private static class RecordingEmitter extends SseEmitter {
+        private final List<BeerChangeDTO> changes = new CopyOnWriteArrayList<>();
+        private final CountDownLatch release;
+        private int resets;
+
+        RecordingEmitter() {
+            this(new CountDownLatch(0));
+        }
+
+        RecordingEmitter(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            }
+            builder.build().forEach(part -> {
+                if (part.getData() instanceof BeerChangeDTO) changes.add((BeerChangeDTO) part.getData());
+                else if (part.getData().toString().contains("event:" + BeerChangeFeed.RESET_EVENT)) resets++;
+            });
+        }
+
+        List<Long> sequences() {
+            return changes.stream().map(BeerChangeDTO::getSequence).collect(Collectors.toList());
+        }
+    }
+}
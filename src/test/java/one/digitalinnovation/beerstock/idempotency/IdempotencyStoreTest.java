@@ -0,0 +1,170 @@
+package one.digitalinnovation.beerstock.idempotency;
+
+import one.digitalinnovation.beerstock.exception.BeerStockExceededException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class IdempotencyStoreTest {
+
+    private static final String CLIENT = "10.0.0.1";
+
+    private final IdempotencyStore store = new IdempotencyStore(100, Duration.ofMinutes(1));
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test
+    void whenConcurrentRequestsShareAKeyThenTheOperationRunsOnce() throws Exception {
+        // given
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            // when
+            Future<Integer> first = executor.submit(() -> store.execute(CLIENT, "key", List.of(1), () -> {
+                running.countDown();
+                awaitUninterruptibly(release);
+                return executions.incrementAndGet();
+            }));
+            running.await(5, TimeUnit.SECONDS);
+            Future<Integer> retry = executor.submit(() -> store.execute(CLIENT, "key", List.of(1), executions::incrementAndGet));
+            release.countDown();
+
+            // then
+            assertThat(first.get(5, TimeUnit.SECONDS), is(1));
+            assertThat(retry.get(5, TimeUnit.SECONDS), is(1));
+            assertThat(executions.get(), is(1));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void whenTheOperationFailsThenARetryExecutesItAgain() throws Exception {
+        // given
+        AtomicInteger executions = new AtomicInteger();
+
+        // when
+        assertThrows(BeerStockExceededException.class, () -> store.execute(CLIENT, "key", List.of(1), () -> {
+            executions.incrementAndGet();
+            throw new BeerStockExceededException(1L, 60);
+        }));
+        int result = store.execute(CLIENT, "key", List.of(1), executions::incrementAndGet);
+
+        // then
+        assertThat(result, is(2));
+    }
+
+    @Test
+    void whenTheOperationThrowsAnErrorThenWaitersAreReleasedAndARetryExecutesAgain() throws Exception {
+        // given
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            // when
+            Future<Integer> first = executor.submit(() -> store.execute(CLIENT, "key", List.of(1), () -> {
+                running.countDown();
+                awaitUninterruptibly(release);
+                executions.incrementAndGet();
+                throw new StackOverflowError();
+            }));
+            running.await(5, TimeUnit.SECONDS);
+            Future<Integer> waiter = executor.submit(() -> store.execute(CLIENT, "key", List.of(1), executions::incrementAndGet));
+            release.countDown();
+
+            // then
+            ExecutionException failed = assertThrows(ExecutionException.class, () -> first.get(5, TimeUnit.SECONDS));
+            assertThat(failed.getCause() instanceof StackOverflowError, is(true));
+            try {
+                // Entrou antes da falha (recebe o Error) ou depois (executa de novo): nunca fica preso
+                assertThat(waiter.get(5, TimeUnit.SECONDS), is(2));
+            } catch (ExecutionException e) {
+                assertThat(e.getCause() instanceof StackOverflowError, is(true));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void whenNoKeyIsGivenThenEveryCallExecutes() throws Exception {
+        // given
+        AtomicInteger executions = new AtomicInteger();
+
+        // when
+        store.execute(CLIENT, null, List.of(1), executions::incrementAndGet);
+        store.execute(CLIENT, null, List.of(1), executions::incrementAndGet);
+
+        // then
+        assertThat(executions.get(), is(2));
+    }
+
+    @Test
+    void whenTwoClientsUseTheSameKeyThenEachOperationExecutes() throws Exception {
+        // given
+        AtomicInteger executions = new AtomicInteger();
+
+        // when
+        int first = store.execute(CLIENT, "key", List.of(1), executions::incrementAndGet);
+        int second = store.execute("10.0.0.2", "key", List.of(1), executions::incrementAndGet);
+
+        // then
+        assertThat(first, is(1));
+        assertThat(second, is(2));
+    }
+
+    @Test
+    void whenTheStoreIsFullThenAnInFlightKeyIsNotEvictedAndItsRetryWaits() throws Exception {
+        // given
+        IdempotencyStore small = new IdempotencyStore(1, Duration.ofMinutes(1));
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            // when
+            Future<Integer> first = executor.submit(() -> small.execute(CLIENT, "slow", List.of(1), () -> {
+                running.countDown();
+                awaitUninterruptibly(release);
+                return executions.incrementAndGet();
+            }));
+            running.await(5, TimeUnit.SECONDS);
+            for (int i = 0; i < 100; i++) {
+                small.execute(CLIENT, "other-" + i, List.of(i), () -> 0);
+            }
+            Future<Integer> retry = executor.submit(() -> small.execute(CLIENT, "slow", List.of(1), executions::incrementAndGet));
+            release.countDown();
+
+            // then
+            assertThat(first.get(5, TimeUnit.SECONDS), is(1));
+            assertThat(retry.get(5, TimeUnit.SECONDS), is(1));
+            assertThat(executions.get(), is(1));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
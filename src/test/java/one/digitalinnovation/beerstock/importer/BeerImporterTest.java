@@ -0,0 +1,180 @@
+package one.digitalinnovation.beerstock.importer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.dto.ImportJobDTO;
+import one.digitalinnovation.beerstock.dto.ImportRowErrorDTO;
+import one.digitalinnovation.beerstock.enums.BeerType;
+import one.digitalinnovation.beerstock.enums.ImportStatus;
+import one.digitalinnovation.beerstock.exception.BeerAlreadyRegisteredException;
+import one.digitalinnovation.beerstock.exception.ImportJobNotFoundException;
+import one.digitalinnovation.beerstock.exception.ImportQueueFullException;
+import one.digitalinnovation.beerstock.exception.InvalidImportFileException;
+import one.digitalinnovation.beerstock.repository.BeerRepository;
+import one.digitalinnovation.beerstock.service.BeerService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+
+import javax.validation.Validation;
+import javax.validation.ValidatorFactory;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class BeerImporterTest {
+
+    private static final String HEADER = "name,brand,max,quantity,type\n";
+    private static final ValidatorFactory VALIDATION = Validation.buildDefaultValidatorFactory();
+
+    @Mock
+    private BeerService beerService;
+
+    @Mock
+    private BeerRepository beerRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private BeerImporter beerImporter;
+
+    @BeforeEach
+    void setUp() {
+        // Executor síncrono: o job termina dentro do start
+        beerImporter = new BeerImporter(beerService, beerRepository, VALIDATION.getValidator(), meterRegistry,
+                2, 2, 10, 4, Duration.ofSeconds(30), Runnable::run);
+    }
+
+    @AfterAll
+    static void closeValidation() {
+        VALIDATION.close();
+    }
+
+    private static MockMultipartFile csv(String content) {
+        return new MockMultipartFile("file", "beers.csv", "text/csv", content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void whenRowsAreValidThenTheyAreInsertedInChunks() throws Exception {
+        // given
+        String content = HEADER + "Brahma,Ambev,50,10,lager\nSkol,Ambev,50,10,LAGER\nColorado,Ambev,30,5,IPA\n";
+
+        // when
+        ImportJobDTO job = beerImporter.start(csv(content));
+
+        // then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<BeerDTO>> chunks = ArgumentCaptor.forClass(List.class);
+        verify(beerService, times(2)).importBeers(chunks.capture());
+        assertThat(chunks.getAllValues().get(0).stream().map(BeerDTO::getName).collect(Collectors.toList()), contains("Brahma", "Skol"));
+        assertThat(chunks.getAllValues().get(1).get(0).getType(), is(BeerType.IPA));
+        ImportJobDTO finished = beerImporter.find(job.getId());
+        assertThat(finished.getStatus(), is(ImportStatus.COMPLETED));
+        assertThat(finished.getRowsRead(), is(3L));
+        assertThat(finished.getImported(), is(3L));
+        assertThat(finished.getBytesRead(), is((long) content.length()));
+        assertThat(meterRegistry.get(BeerImporter.ROWS).tag("outcome", "imported").counter().count(), is(3.0));
+    }
+
+    @Test
+    void whenRowsAreInvalidThenTheyAreReportedByLineAndTheRestIsImported() throws Exception {
+        // given
+        when(beerRepository.findExistingNormalizedNames(anyCollection())).thenReturn(List.of("bohemia"));
+        String content = HEADER
+                + "Brahma,Ambev,abc,10,LAGER\n"
+                + "Skol,Ambev,50,101,PILSEN\n"
+                + "Bohemia,Ambev,50,10,LAGER\n"
+                + "Colorado,Ambev,30,5,IPA\n"
+                + "Original,Ambev\n";
+
+        // when
+        ImportJobDTO job = beerImporter.find(beerImporter.start(csv(content)).getId());
+
+        // then
+        assertThat(job.getStatus(), is(ImportStatus.COMPLETED));
+        assertThat(job.getImported(), is(1L));
+        assertThat(job.getRejected(), is(4L));
+        // max-errors = 2: as demais rejeições só contam
+        assertThat(job.isErrorsTruncated(), is(true));
+        List<ImportRowErrorDTO> errors = job.getErrors();
+        assertThat(errors.get(0).getLine(), is(2L));
+        assertThat(errors.get(0).getMessage(), containsString("max: must be a whole number"));
+        assertThat(errors.get(1).getLine(), is(3L));
+        assertThat(errors.get(1).getMessage(), containsString("quantity: must be less than or equal to 100"));
+        assertThat(errors.get(1).getMessage(), containsString("type: must be one of"));
+    }
+
+    @Test
+    void whenNameIsTakenConcurrentlyThenChunkFallsBackToOneRowAtATime() throws Exception {
+        // given
+        when(beerService.importBeers(anyList())).thenThrow(new BeerAlreadyRegisteredException("Skol"));
+        when(beerService.createBeer(any(BeerDTO.class)))
+                .thenReturn(new BeerDTO())
+                .thenThrow(new BeerAlreadyRegisteredException("Skol"));
+
+        // when
+        ImportJobDTO job = beerImporter.find(beerImporter.start(csv(HEADER + "Brahma,Ambev,50,10,LAGER\nSkol,Ambev,50,10,LAGER\n")).getId());
+
+        // then
+        assertThat(job.getImported(), is(1L));
+        assertThat(job.getRejected(), is(1L));
+        assertThat(job.getErrors().get(0).getName(), is("Skol"));
+    }
+
+    @Test
+    void whenNameRepeatsInsideTheFileThenOnlyTheFirstRowIsImported() throws Exception {
+        // when
+        ImportJobDTO job = beerImporter.find(beerImporter.start(csv(HEADER + "Brahma,Ambev,50,10,LAGER\n BRAHMA ,Ambev,50,10,LAGER\n")).getId());
+
+        // then
+        verify(beerService).importBeers(List.of(BeerDTO.builder().name("Brahma").brand("Ambev").max(50).quantity(10).type(BeerType.LAGER).build()));
+        assertThat(job.getRejected(), is(1L));
+        assertThat(job.getErrors().get(0).getLine(), is(3L));
+    }
+
+    @Test
+    void whenHeaderLacksColumnsThenInvalidImportFileExceptionIsThrown() throws Exception {
+        InvalidImportFileException e = assertThrows(InvalidImportFileException.class,
+                () -> beerImporter.start(csv("name,brand,max\nBrahma,Ambev,50\n")));
+        assertThat(e.getMessage(), containsString("[quantity, type]"));
+        verify(beerService, never()).importBeers(anyList());
+    }
+
+    @Test
+    void whenQueueIsFullThenImportQueueFullExceptionIsThrown() {
+        // given
+        BeerImporter full = new BeerImporter(beerService, beerRepository, VALIDATION.getValidator(), meterRegistry,
+                2, 2, 10, 4, Duration.ofSeconds(30), task -> {
+                    throw new RejectedExecutionException();
+                });
+
+        // then
+        ImportQueueFullException e = assertThrows(ImportQueueFullException.class,
+                () -> full.start(csv(HEADER + "Brahma,Ambev,50,10,LAGER\n")));
+        assertThat(e.getRetryAfterSeconds(), is(30L));
+    }
+
+    @Test
+    void whenJobIsUnknownThenImportJobNotFoundExceptionIsThrown() {
+        assertThrows(ImportJobNotFoundException.class, () -> beerImporter.find("missing"));
+    }
+}
@@ -0,0 +1,79 @@
+package one.digitalinnovation.beerstock.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import one.digitalinnovation.beerstock.dto.ImportJobDTO;
+import one.digitalinnovation.beerstock.enums.ImportStatus;
+import one.digitalinnovation.beerstock.repository.BeerRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "beerstock.import.chunk-size=500")
+@AutoConfigureMockMvc
+public class CsvImportTest {
+
+    private static final int ROWS = 2_500;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private BeerRepository beerRepository;
+
+    @AfterEach
+    void cleanup() {
+        beerRepository.deleteAll();
+    }
+
+    @Test
+    void whenCatalogIsUploadedThenValidRowsAreCommittedInChunksAndBadRowsAreReported() throws Exception {
+        // given
+        StringBuilder csv = new StringBuilder("type,name,brand,max,quantity\n");
+        for (int i = 0; i < ROWS; i++) {
+            // Cada centésima linha tem quantity acima do @Max(100)
+            csv.append("LAGER,\"Import ").append(i).append(", Lata\",Ambev,200,").append(i % 100 == 0 ? 150 : 10).append('\n');
+        }
+        MockMultipartFile file = new MockMultipartFile("file", "catalog.csv", "text/csv", csv.toString().getBytes(StandardCharsets.UTF_8));
+
+        // when
+        String location = mockMvc.perform(multipart("/api/v1/beers/import").file(file))
+                .andExpect(status().isAccepted())
+                .andReturn().getResponse().getHeader("Location");
+        ImportJobDTO job = poll(location);
+
+        // then
+        assertThat(job.getStatus(), is(ImportStatus.COMPLETED));
+        assertThat(job.getRowsRead(), is((long) ROWS));
+        assertThat(job.getRejected(), is(ROWS / 100L));
+        assertThat(job.getImported(), is(ROWS - ROWS / 100L));
+        assertThat(job.getErrors().get(0).getLine(), is(2L));
+        assertThat(beerRepository.count(), is(ROWS - ROWS / 100L));
+        assertThat(beerRepository.findByNormalizedName("import 1, lata").isPresent(), is(true));
+    }
+
+    private ImportJobDTO poll(String location) throws Exception {
+        for (int attempt = 0; attempt < 600; attempt++) {
+            String body = mockMvc.perform(get(location)).andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            ImportJobDTO job = objectMapper.readValue(body, ImportJobDTO.class);
+            if (job.getStatus() == ImportStatus.COMPLETED || job.getStatus() == ImportStatus.FAILED) return job;
+            Thread.sleep(100);
+        }
+        throw new AssertionError("Import job did not finish in 60 seconds");
+    }
+}
@@ -0,0 +1,64 @@
+package one.digitalinnovation.beerstock.importer;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class CsvReaderTest {
+
+    private static CsvReader reader(String csv) {
+        return new CsvReader(new StringReader(csv));
+    }
+
+    @Test
+    void whenFieldsAreQuotedThenCommasQuotesAndLineBreaksAreKept() throws IOException {
+        // given
+        CsvReader csv = reader("name,brand\r\n\"Brahma, Extra\",\"Am\"\"bev\"\n\"Two\nLines\",Ambev\nLast,Row");
+
+        // then
+        assertThat(csv.next(), contains("name", "brand"));
+        assertThat(csv.next(), contains("Brahma, Extra", "Am\"bev"));
+        assertThat(csv.recordLine(), is(2L));
+        assertThat(csv.next(), contains("Two\nLines", "Ambev"));
+        assertThat(csv.recordLine(), is(3L));
+        assertThat(csv.next(), contains("Last", "Row"));
+        assertThat(csv.recordLine(), is(5L));
+        assertThat(csv.next(), is(nullValue()));
+    }
+
+    @Test
+    void whenFileHasBomAndBlankLinesThenBomIsSkippedAndBlankLinesComeBackEmpty() throws IOException {
+        // given
+        CsvReader csv = reader("\uFEFFname\n\nSkol\n");
+
+        // then
+        assertThat(csv.next(), contains("name"));
+        assertThat(csv.next(), contains(""));
+        assertThat(csv.next(), contains("Skol"));
+        assertThat(csv.next(), is(nullValue()));
+    }
+
+    @Test
+    void whenQuoteIsNeverClosedThenReadingStopsAtTheRecordLimit() {
+        // given
+        CsvReader csv = reader("\"" + "x".repeat(CsvReader.MAX_RECORD_CHARS + 1));
+
+        // then
+        IOException e = assertThrows(IOException.class, csv::next);
+        assertThat(e.getMessage().startsWith("Line 1 is longer than"), is(true));
+    }
+
+    @Test
+    void whenRecordEndsWithEmptyFieldThenItIsKept() throws IOException {
+        List<String> record = reader("Brahma,Ambev,\n").next();
+        assertThat(record, contains("Brahma", "Ambev", ""));
+    }
+}
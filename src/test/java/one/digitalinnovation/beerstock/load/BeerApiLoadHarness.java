@@ -0,0 +1,292 @@
+package one.digitalinnovation.beerstock.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.dto.BeerPageDTO;
+import one.digitalinnovation.beerstock.dto.QuantityDTO;
+import one.digitalinnovation.beerstock.dto.StockAdjustmentDTO;
+import one.digitalinnovation.beerstock.dto.StockBatchDTO;
+import one.digitalinnovation.beerstock.enums.BeerType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+
+// Carga HTTP ponta a ponta em modelo aberto: as requisições saem na taxa configurada, independente das respostas,
+// e a latência é medida a partir do instante planejado de envio (sem coordinated omission).
+// Não roda no ciclo normal de testes, execute com:
+// mvn test -Dtest=BeerApiLoadHarness -Dload.rate=500 -Dload.duration=PT60S -Dload.warmup=PT10S \
+//     -Dload.mix=lookup:40,list:20,increment:15,decrement:15,create:5,stock:5 -Dload.report=target/load-report.json
+// Rotas disponíveis no mix: create, batch, lookup, list, search, export, increment, decrement, stock, delete, cachestats, movements.
+// ReactiveBeerApiLoadHarness roda o mesmo cenário contra o perfil reactive para comparação.
+// Um único cliente na taxa configurada: o controle de admissão recusaria o excesso em vez de medir a aplicação
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "beerstock.admission.enabled=false")
+public class BeerApiLoadHarness {
+
+    private static final double RATE = Double.parseDouble(System.getProperty("load.rate", "200"));
+    private static final Duration DURATION = Duration.parse(System.getProperty("load.duration", "PT20S"));
+    private static final Duration WARMUP = Duration.parse(System.getProperty("load.warmup", "PT10S"));
+    private static final boolean POISSON = "poisson".equals(System.getProperty("load.arrival", "poisson"));
+    private static final int SEED_BEERS = Integer.getInteger("load.seed", 500);
+    private static final int MAX_IN_FLIGHT = Integer.getInteger("load.max-in-flight", 2000);
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private final AtomicLong createdNames = new AtomicLong();
+    private final ConcurrentLinkedQueue<Long> createdIds = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger dropped = new AtomicInteger();
+    private final String mix = System.getProperty("load.mix", defaultMix());
+    private List<BeerDTO> seeded;
+
+    protected String defaultMix() {
+        return "lookup:40,list:20,increment:15,decrement:15,create:5,stock:5";
+    }
+
+    protected String defaultReport() {
+        return "target/load-report.json";
+    }
+
+    // Sem a rota de lote as cervejas iniciais são criadas uma a uma
+    protected boolean batchSeeding() {
+        return true;
+    }
+
+    private String url(String path) {
+        return "http://localhost:" + port + "/api/v1/beers" + path;
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(url(path))).timeout(REQUEST_TIMEOUT).header("Content-Type", "application/json");
+    }
+
+    private HttpRequest.BodyPublisher json(Object body) {
+        try {
+            return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static BeerDTO newBeer(String name) {
+        return BeerDTO.builder().name(name).brand("Ambev").max(500).quantity(100).type(BeerType.LAGER).build();
+    }
+
+    private BeerDTO randomSeeded() {
+        return seeded.get(ThreadLocalRandom.current().nextInt(seeded.size()));
+    }
+
+    // Cada rota sabe montar uma requisição; as que criam cervejas guardam o id para o delete
+    private Map<String, Supplier<HttpRequest>> routes() {
+        Map<String, Supplier<HttpRequest>> routes = new LinkedHashMap<>();
+        routes.put("create", () -> request("").POST(json(newBeer("load-" + createdNames.incrementAndGet()))).build());
+        routes.put("batch", () -> request("/batch").POST(json(Map.of("beers", IntStream.range(0, 10)
+                .mapToObj(i -> newBeer("load-" + createdNames.incrementAndGet()))
+                .collect(Collectors.toList())))).build());
+        routes.put("lookup", () -> request("/" + randomSeeded().getName().replace(" ", "%20")).GET().build());
+        routes.put("list", () -> request("?limit=50&after=" + ThreadLocalRandom.current().nextLong(randomSeeded().getId())).GET().build());
+        routes.put("search", () -> request("/search?type=LAGER&brand=Ambev&maxFillRatio=0.5&limit=50").GET().build());
+        routes.put("export", () -> request("/export").GET().build());
+        routes.put("increment", () -> request("/" + randomSeeded().getId() + "/increment")
+                .method("PATCH", json(QuantityDTO.builder().quantity(1).build())).build());
+        routes.put("decrement", () -> request("/" + randomSeeded().getId() + "/decrement")
+                .method("PATCH", json(QuantityDTO.builder().quantity(1).build())).build());
+        routes.put("stock", () -> request("/stock?atomic=false").method("PATCH", json(StockBatchDTO.builder()
+                .adjustments(IntStream.range(0, 10)
+                        .mapToObj(i -> StockAdjustmentDTO.builder().id(randomSeeded().getId()).delta(i % 2 == 0 ? 1 : -1).build())
+                        .collect(Collectors.toList()))
+                .build())).build());
+        routes.put("delete", () -> {
+            Long id = createdIds.poll();
+            return id == null ? null : request("/" + id).DELETE().build();
+        });
+        routes.put("cachestats", () -> request("/cache/stats").GET().build());
+        routes.put("movements", () -> request("/" + randomSeeded().getId() + "/movements?limit=20").GET().build());
+        return routes;
+    }
+
+    private void seed() throws Exception {
+        seeded = new ArrayList<>();
+        if (!batchSeeding()) {
+            for (int i = 0; i < SEED_BEERS; i++) {
+                HttpResponse<byte[]> response = client.send(request("").POST(json(newBeer("seed " + i))).build(),
+                        HttpResponse.BodyHandlers.ofByteArray());
+                seeded.add(objectMapper.readValue(response.body(), BeerDTO.class));
+            }
+            return;
+        }
+        for (int from = 0; from < SEED_BEERS; from += 1000) {
+            List<BeerDTO> beers = IntStream.range(from, Math.min(from + 1000, SEED_BEERS))
+                    .mapToObj(i -> newBeer("seed " + i))
+                    .collect(Collectors.toList());
+            HttpResponse<byte[]> response = client.send(request("/batch").POST(json(Map.of("beers", beers))).build(),
+                    HttpResponse.BodyHandlers.ofByteArray());
+            seeded.addAll(List.of(objectMapper.readValue(response.body(), BeerDTO[].class)));
+        }
+    }
+
+    // Rota sorteada pelo peso do mix: o array tem uma entrada por unidade de peso
+    private String[] weightedRoutes(Map<String, Supplier<HttpRequest>> routes) {
+        List<String> wheel = new ArrayList<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (!routes.containsKey(parts[0])) throw new IllegalArgumentException("Unknown route in load.mix: " + parts[0]);
+            for (int i = 0; i < Integer.parseInt(parts[1]); i++) wheel.add(parts[0]);
+        }
+        return wheel.toArray(new String[0]);
+    }
+
+    private void send(String route, HttpRequest request, long intendedStart, LatencyRecorder recorder) {
+        inFlight.incrementAndGet();
+        client.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray()).whenComplete((response, error) -> {
+            recorder.record(System.nanoTime() - intendedStart, error == null ? response.statusCode() : 0);
+            if (error == null && response.statusCode() == 201 && ("create".equals(route) || "batch".equals(route))) {
+                rememberCreated(response.body());
+            }
+            inFlight.decrementAndGet();
+        });
+    }
+
+    private void rememberCreated(byte[] body) {
+        try {
+            if (body.length > 0 && body[0] == '[') {
+                for (BeerDTO beer : objectMapper.readValue(body, BeerDTO[].class)) createdIds.add(beer.getId());
+            } else {
+                createdIds.add(objectMapper.readValue(body, BeerDTO.class).getId());
+            }
+        } catch (IOException ignored) {
+            // só serve para alimentar a rota de delete
+        }
+    }
+
+    @Test
+    void runLoad() throws Exception {
+        seed();
+        Map<String, Supplier<HttpRequest>> routes = routes();
+        String[] wheel = weightedRoutes(routes);
+
+        // Aquecimento com o mesmo mix e taxa; as amostras são descartadas
+        drive(routes, wheel, WARMUP, new LinkedHashMap<>());
+        dropped.set(0);
+
+        Map<String, LatencyRecorder> recorders = new LinkedHashMap<>();
+        for (String route : wheel) recorders.putIfAbsent(route, new LatencyRecorder());
+        long start = System.nanoTime();
+        int sent = drive(routes, wheel, DURATION, recorders);
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+        writeReport(recorders, sent, elapsedSeconds);
+        assertThat(sent, greaterThan(0));
+    }
+
+    // Envia na taxa configurada até o fim do período e espera as requisições pendentes; retorna quantas saíram
+    private int drive(Map<String, Supplier<HttpRequest>> routes, String[] wheel, Duration duration,
+                      Map<String, LatencyRecorder> recorders) throws InterruptedException {
+        double meanIntervalNanos = 1e9 / RATE;
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        long next = start;
+        int sent = 0;
+        while (next < end) {
+            long wait = next - System.nanoTime();
+            if (wait > 0) LockSupport.parkNanos(wait);
+
+            String route = wheel[ThreadLocalRandom.current().nextInt(wheel.length)];
+            HttpRequest request = routes.get(route).get();
+            if (request == null) {
+                route = "create";
+                request = routes.get(route).get();
+            }
+            if (inFlight.get() >= MAX_IN_FLIGHT) {
+                dropped.incrementAndGet();
+            } else {
+                send(route, request, next, recorders.computeIfAbsent(route, r -> new LatencyRecorder()));
+                sent++;
+            }
+            next += POISSON ? (long) (-Math.log(1 - ThreadLocalRandom.current().nextDouble()) * meanIntervalNanos)
+                    : (long) meanIntervalNanos;
+        }
+
+        long drainDeadline = System.nanoTime() + REQUEST_TIMEOUT.toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) TimeUnit.MILLISECONDS.sleep(10);
+        return sent;
+    }
+
+    private void writeReport(Map<String, LatencyRecorder> recorders, int sent, double elapsedSeconds) throws IOException {
+        LatencyRecorder total = new LatencyRecorder();
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        recorders.forEach((route, recorder) -> {
+            endpoints.put(route, recorder.summary(elapsedSeconds));
+            total.addAll(recorder);
+        });
+
+        Map<String, Object> config = new LinkedHashMap<>();
+        config.put("targetRatePerSecond", RATE);
+        config.put("duration", DURATION.toString());
+        config.put("warmup", WARMUP.toString());
+        config.put("arrival", POISSON ? "poisson" : "constant");
+        config.put("mix", mix);
+        config.put("seedBeers", SEED_BEERS);
+        config.put("maxInFlight", MAX_IN_FLIGHT);
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("timestamp", Instant.now().toString());
+        report.put("javaVersion", System.getProperty("java.version"));
+        report.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+        report.put("config", config);
+        report.put("sent", sent);
+        report.put("droppedAtClient", dropped.get());
+        report.put("unfinished", inFlight.get());
+        report.put("elapsedSeconds", elapsedSeconds);
+        report.put("total", total.summary(elapsedSeconds));
+        report.put("endpoints", endpoints);
+
+        File file = new File(System.getProperty("load.report", defaultReport()));
+        if (file.getParentFile() != null) file.getParentFile().mkdirs();
+        objectMapper.writer(SerializationFeature.INDENT_OUTPUT).writeValue(file, report);
+
+        System.out.printf("%-12s %8s %7s %10s %9s %9s %9s%n", "route", "count", "errors", "req/s", "p50 ms", "p99 ms", "p99.9 ms");
+        endpoints.forEach((route, summary) -> printRow(route, summary));
+        printRow("total", report.get("total"));
+        System.out.println("report written to " + file.getAbsolutePath());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void printRow(String route, Object summary) {
+        Map<String, Object> s = (Map<String, Object>) summary;
+        System.out.printf("%-12s %8d %7d %10.1f %9.2f %9.2f %9.2f%n", route, s.get("count"), s.get("errors"),
+                s.get("throughputPerSecond"), s.get("p50Millis"), s.get("p99Millis"), s.get("p999Millis"));
+    }
+}
@@ -0,0 +1,55 @@
+package one.digitalinnovation.beerstock.load;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Guarda todas as amostras de uma rota; os percentis são exatos (ordenação no fim da execução)
+class LatencyRecorder {
+
+    private long[] samples = new long[1024];
+    private int count;
+    private int errors;
+    private final Map<Integer, Integer> statusCounts = new TreeMap<>();
+
+    synchronized void record(long latencyNanos, int status) {
+        if (count == samples.length) samples = Arrays.copyOf(samples, count * 2);
+        samples[count++] = latencyNanos;
+        statusCounts.merge(status, 1, Integer::sum);
+        if (status == 0 || status >= 400) errors++;
+    }
+
+    synchronized void addAll(LatencyRecorder other) {
+        synchronized (other) {
+            for (int i = 0; i < other.count; i++) {
+                if (count == samples.length) samples = Arrays.copyOf(samples, count * 2);
+                samples[count++] = other.samples[i];
+            }
+            other.statusCounts.forEach((status, n) -> statusCounts.merge(status, n, Integer::sum));
+            errors += other.errors;
+        }
+    }
+
+    synchronized Map<String, Object> summary(double elapsedSeconds) {
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        Map<String, Object> summary = new TreeMap<>();
+        summary.put("count", count);
+        summary.put("errors", errors);
+        summary.put("statusCounts", new TreeMap<>(statusCounts));
+        summary.put("throughputPerSecond", count / elapsedSeconds);
+        summary.put("p50Millis", percentile(sorted, 0.50));
+        summary.put("p90Millis", percentile(sorted, 0.90));
+        summary.put("p99Millis", percentile(sorted, 0.99));
+        summary.put("p999Millis", percentile(sorted, 0.999));
+        summary.put("maxMillis", sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1e6);
+        return summary;
+    }
+
+    // Nearest-rank: o menor valor que cobre a fração pedida das amostras
+    private static double percentile(long[] sorted, double fraction) {
+        if (sorted.length == 0) return 0;
+        int rank = (int) Math.ceil(fraction * sorted.length);
+        return sorted[Math.max(rank, 1) - 1] / 1e6;
+    }
+}
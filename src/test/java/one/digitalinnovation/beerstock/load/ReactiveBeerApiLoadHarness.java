@@ -0,0 +1,28 @@
+package one.digitalinnovation.beerstock.load;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+// Mesmo cenário do BeerApiLoadHarness contra o perfil reactive (WebFlux + R2DBC). O mix padrão usa só as
+// rotas que existem nos dois modos, então os relatórios podem ser comparados lado a lado:
+// mvn test -Dtest=BeerApiLoadHarness -Dload.mix=lookup:40,list:20,increment:15,decrement:15,create:10
+// mvn test -Dtest=ReactiveBeerApiLoadHarness
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "spring.main.web-application-type=reactive")
+@ActiveProfiles("reactive")
+public class ReactiveBeerApiLoadHarness extends BeerApiLoadHarness {
+
+    @Override
+    protected String defaultMix() {
+        return "lookup:40,list:20,increment:15,decrement:15,create:10";
+    }
+
+    @Override
+    protected String defaultReport() {
+        return "target/load-report-reactive.json";
+    }
+
+    @Override
+    protected boolean batchSeeding() {
+        return false;
+    }
+}
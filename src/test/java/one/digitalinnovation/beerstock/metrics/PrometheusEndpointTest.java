@@ -0,0 +1,41 @@
+package one.digitalinnovation.beerstock.metrics;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureMetrics
+public class PrometheusEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void whenPrometheusIsScrapedThenStockPersistenceAndHttpMetricsAreExposed() throws Exception {
+        // given
+        mockMvc.perform(get("/api/v1/beers")).andExpect(status().isOk());
+
+        // when
+        String body = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        // then
+        assertThat(body, containsString("beerstock_stock_operations_total{application=\"beerstock\",operation=\"increment\",outcome=\"rejected\""));
+        assertThat(body, containsString("http_server_requests_seconds_bucket{application=\"beerstock\",exception=\"None\",method=\"GET\""));
+        assertThat(body, containsString("spring_data_repository_invocations_seconds_bucket"));
+        assertThat(body, containsString("hikaricp_connections_pending"));
+        assertThat(body, containsString("hibernate_sessions_open_total"));
+        assertThat(body, containsString("beerstock_cache_by_name_lookups_total{application=\"beerstock\",result=\"coalesced\""));
+    }
+}
@@ -0,0 +1,192 @@
+package one.digitalinnovation.beerstock.repository;
+
+import one.digitalinnovation.beerstock.dto.BeerSearchDTO;
+import one.digitalinnovation.beerstock.dto.StockAdjustmentDTO;
+import one.digitalinnovation.beerstock.dto.StockAggregateDTO;
+import one.digitalinnovation.beerstock.entity.Beer;
+import one.digitalinnovation.beerstock.enums.BeerType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DataJpaTest
+public class BeerRepositoryTest {
+
+    @Autowired
+    private BeerRepository beerRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Beer saveBeer(String name, int max, int quantity) {
+        return saveBeer(name, "Ambev", BeerType.LAGER, max, quantity);
+    }
+
+    private Beer saveBeer(String name, String brand, BeerType type, int max, int quantity) {
+        return beerRepository.saveAndFlush(Beer.builder()
+                .name(name)
+                .brand(brand)
+                .max(max)
+                .quantity(quantity)
+                .type(type)
+                .build());
+    }
+
+    private List<Long> ids(List<Beer> beers) {
+        return beers.stream().map(Beer::getId).collect(Collectors.toList());
+    }
+
+    @Test
+    void whenAdjustmentsAreBatchedThenOnlyThoseWithinBoundsAreApplied() {
+        // given
+        Beer brahma = saveBeer("Brahma", 50, 10);
+        Beer skol = saveBeer("Skol", 50, 10);
+        List<StockAdjustmentDTO> adjustments = List.of(
+                StockAdjustmentDTO.builder().id(brahma.getId()).delta(40).build(),
+                StockAdjustmentDTO.builder().id(brahma.getId()).delta(1).build(),
+                StockAdjustmentDTO.builder().id(skol.getId()).delta(-11).build(),
+                StockAdjustmentDTO.builder().id(skol.getId()).delta(-10).build(),
+                StockAdjustmentDTO.builder().id(-1L).delta(1).build());
+
+        // when
+        int[] counts = beerRepository.adjustQuantities(adjustments);
+        entityManager.clear();
+
+        // then
+        assertThat(counts, equalTo(new int[]{1, 0, 0, 1, 0}));
+        assertThat(beerRepository.findById(brahma.getId()).orElseThrow().getQuantity(), equalTo(50));
+        assertThat(beerRepository.findById(skol.getId()).orElseThrow().getQuantity(), equalTo(0));
+    }
+
+    @Test
+    void whenQuantityIsChangedInBulkThenTheVersionIsIncremented() {
+        // given
+        Beer brahma = saveBeer("Brahma", 50, 10);
+        long version = brahma.getVersion();
+
+        // when
+        beerRepository.incrementQuantity(brahma.getId(), 1);
+        beerRepository.decrementQuantity(brahma.getId(), 1);
+        beerRepository.adjustQuantities(List.of(StockAdjustmentDTO.builder().id(brahma.getId()).delta(1).build()));
+        entityManager.clear();
+
+        // then
+        assertThat(beerRepository.findById(brahma.getId()).orElseThrow().getVersion(), equalTo(version + 3));
+    }
+
+    @Test
+    void whenBeerIsDeletedAfterABulkChangeThenTheRemovedRowWithItsCurrentQuantityIsReturned() {
+        // given
+        Beer brahma = saveBeer("Brahma", 50, 10);
+        beerRepository.incrementQuantity(brahma.getId(), 5);
+
+        // when
+        Beer deleted = beerRepository.deleteReturning(brahma.getId()).orElseThrow();
+        entityManager.clear();
+
+        // then
+        assertThat(deleted.getQuantity(), equalTo(15));
+        assertThat(deleted.getName(), equalTo("Brahma"));
+        assertThat(beerRepository.findById(brahma.getId()).isPresent(), is(false));
+        assertThat(beerRepository.deleteReturning(brahma.getId()).isPresent(), is(false));
+    }
+
+    @Test
+    void whenPageAfterIsRequestedThenRowsAfterTheCursorAreReturnedInIdOrder() {
+        // given
+        Beer brahma = saveBeer("Brahma", 50, 10);
+        Beer skol = saveBeer("Skol", 50, 10);
+        Beer antarctica = saveBeer("Antarctica", 50, 10);
+
+        // when
+        List<Beer> page = beerRepository.findPageAfter(brahma.getId(), PageRequest.of(0, 1));
+
+        // then
+        assertThat(page.stream().map(Beer::getId).collect(Collectors.toList()), equalTo(List.of(skol.getId())));
+        assertThat(beerRepository.findPageAfter(antarctica.getId(), PageRequest.of(0, 10)), is(empty()));
+    }
+
+    @Test
+    void whenSearchingByTypeBrandAndFillRatioThenOnlyMatchingBeersAreReturned() {
+        // given
+        Beer lowIpa = saveBeer("Colorado Indica", "Colorado", BeerType.IPA, 100, 15);
+        saveBeer("Colorado Vixnu", "Colorado", BeerType.IPA, 100, 60);
+        saveBeer("Colorado Cauim", "Colorado", BeerType.LAGER, 100, 5);
+        saveBeer("Goose Island IPA", "Goose Island", BeerType.IPA, 100, 5);
+        BeerSearchDTO search = BeerSearchDTO.builder().type(Set.of(BeerType.IPA)).brand("Colorado").maxFillRatio(0.2).build();
+
+        // when
+        List<Beer> found = beerRepository.search(BeerSpecifications.matching(search), 10);
+
+        // then
+        assertThat(ids(found), equalTo(List.of(lowIpa.getId())));
+    }
+
+    @Test
+    void whenSearchingByQuantityRangeThenTheCursorAndLimitAreApplied() {
+        // given
+        saveBeer("Brahma", 50, 10);
+        Beer skol = saveBeer("Skol", 50, 20);
+        Beer antarctica = saveBeer("Antarctica", 50, 30);
+        saveBeer("Bohemia", 50, 40);
+        BeerSearchDTO search = BeerSearchDTO.builder().minQuantity(15).maxQuantity(35).build();
+
+        // when
+        List<Beer> firstPage = beerRepository.search(BeerSpecifications.matching(search), 1);
+        List<Beer> secondPage = beerRepository.search(
+                BeerSpecifications.matching(search).and(BeerSpecifications.idAfter(skol.getId())), 10);
+
+        // then
+        assertThat(ids(firstPage), equalTo(List.of(skol.getId())));
+        assertThat(ids(secondPage), equalTo(List.of(antarctica.getId())));
+    }
+
+    @Test
+    void whenAggregatesAreRecomputedThenTotalsAreGroupedByTypeAndBrand() {
+        // given
+        saveBeer("Colorado Indica", "Colorado", BeerType.IPA, 100, 15);
+        saveBeer("Colorado Vixnu", "Colorado", BeerType.IPA, 50, 40);
+        saveBeer("Brahma", "Ambev", BeerType.LAGER, 50, 10);
+
+        // then
+        assertThat(beerRepository.aggregateByType(), containsInAnyOrder(
+                new StockAggregateDTO("IPA", 2L, 55L, 150L),
+                new StockAggregateDTO("LAGER", 1L, 10L, 50L)));
+        assertThat(beerRepository.aggregateByBrand(), containsInAnyOrder(
+                new StockAggregateDTO("Colorado", 2L, 55L, 150L),
+                new StockAggregateDTO("Ambev", 1L, 10L, 50L)));
+    }
+
+    @Test
+    void whenNameDiffersOnlyInCaseThenItIsFoundByItsNormalizedName() {
+        // given
+        Beer brahma = saveBeer("Brahma  Duplo Malte", 50, 10);
+
+        // then
+        assertThat(brahma.getNormalizedName(), equalTo("brahma duplo malte"));
+        assertThat(beerRepository.findByNormalizedName(Beer.normalizeName(" BRAHMA duplo malte")).isPresent(), is(true));
+    }
+
+    @Test
+    void whenNormalizedNameIsDuplicatedThenTheUniqueConstraintIsViolated() {
+        // given
+        saveBeer("Brahma", 50, 10);
+
+        // then
+        assertThrows(DataIntegrityViolationException.class, () -> saveBeer("BRAHMA", 50, 10));
+    }
+}
@@ -0,0 +1,112 @@
+package one.digitalinnovation.beerstock.repository;
+
+import one.digitalinnovation.beerstock.entity.StockMovement;
+import one.digitalinnovation.beerstock.entity.StockSnapshot;
+import one.digitalinnovation.beerstock.enums.MovementSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+@DataJpaTest
+public class StockMovementRepositoryTest {
+
+    private static final Instant T0 = Instant.parse("2024-01-01T00:00:00Z");
+
+    @Autowired
+    private StockMovementRepository movementRepository;
+
+    @Autowired
+    private StockSnapshotRepository snapshotRepository;
+
+    private StockMovement saveMovement(long beerId, int delta, int resultingQuantity, long secondsAfterT0) {
+        return movementRepository.saveAndFlush(StockMovement.builder()
+                .beerId(beerId)
+                .delta(delta)
+                .resultingQuantity(resultingQuantity)
+                .createdAt(T0.plusSeconds(secondsAfterT0))
+                .source(MovementSource.INCREMENT)
+                .build());
+    }
+
+    @Test
+    void whenRangeIsQueriedThenOnlyMovementsOfTheBeerInsideTheRangeAreReturnedInOrder() {
+        // given
+        saveMovement(1L, 10, 10, 0);
+        StockMovement second = saveMovement(1L, 5, 15, 10);
+        StockMovement third = saveMovement(1L, -3, 12, 20);
+        saveMovement(2L, 7, 7, 15);
+        saveMovement(1L, 1, 13, 30);
+
+        // when
+        List<StockMovement> range = movementRepository.findRange(1L, T0.plusSeconds(5), 0L, T0.plusSeconds(30), PageRequest.of(0, 10));
+
+        // then
+        assertThat(range.stream().map(StockMovement::getId).collect(Collectors.toList()), contains(second.getId(), third.getId()));
+    }
+
+    @Test
+    void whenRangeIsPagedWithKeysetCursorThenMovementsWithTheSameInstantAreNotRepeated() {
+        // given
+        StockMovement first = saveMovement(1L, 1, 1, 10);
+        StockMovement second = saveMovement(1L, 1, 2, 10);
+        StockMovement third = saveMovement(1L, 1, 3, 10);
+
+        // when
+        List<StockMovement> page = movementRepository.findRange(1L, first.getCreatedAt(), first.getId(), T0.plusSeconds(30), PageRequest.of(0, 10));
+
+        // then
+        assertThat(page.stream().map(StockMovement::getId).collect(Collectors.toList()), contains(second.getId(), third.getId()));
+    }
+
+    @Test
+    void whenOpeningBalanceIsReplayedThenOnlyDeltasBetweenSnapshotAndCursorAreSummed() {
+        // given
+        saveMovement(1L, 10, 10, 0);
+        StockMovement second = saveMovement(1L, 5, 15, 10);
+        saveMovement(1L, -3, 12, 10);
+        saveMovement(2L, 7, 7, 5);
+
+        // then
+        assertThat(movementRepository.sumDeltas(1L, Instant.EPOCH, T0.plusSeconds(15), 0L), is(12L));
+        assertThat(movementRepository.sumDeltas(1L, Instant.EPOCH, second.getCreatedAt(), second.getId()), is(15L));
+        assertThat(movementRepository.sumDeltas(1L, T0.plusSeconds(5), T0.plusSeconds(15), 0L), is(2L));
+        assertThat(movementRepository.sumDeltas(1L, Instant.EPOCH, T0, 0L), is(nullValue()));
+    }
+
+    @Test
+    void whenSnapshotIsTakenThenItCheckpointsTheLedgerIncrementallyForBeersWithNewMovements() {
+        // given
+        saveMovement(1L, 10, 10, 0);
+        saveMovement(1L, 5, 15, 10);
+        saveMovement(2L, 7, 7, 10);
+
+        // when
+        int first = snapshotRepository.snapshotMovements(T0.plusSeconds(60));
+        int unchanged = snapshotRepository.snapshotMovements(T0.plusSeconds(120));
+        saveMovement(1L, -3, 12, 130);
+        saveMovement(1L, 1, 13, 200);
+        int changed = snapshotRepository.snapshotMovements(T0.plusSeconds(180));
+
+        // then
+        assertThat(first, equalTo(2));
+        assertThat(unchanged, equalTo(0));
+        assertThat(changed, equalTo(1));
+        assertThat(snapshotRepository.findFirstByBeerIdAndTakenAtLessThanEqualOrderByTakenAtDesc(1L, T0.plusSeconds(179))
+                .map(StockSnapshot::getQuantity).orElseThrow(), is(15));
+        assertThat(snapshotRepository.findFirstByBeerIdAndTakenAtLessThanEqualOrderByTakenAtDesc(1L, T0.plusSeconds(180))
+                .map(StockSnapshot::getQuantity).orElseThrow(), is(12));
+        assertThat(snapshotRepository.findFirstByBeerIdAndTakenAtLessThanEqualOrderByTakenAtDesc(2L, T0.plusSeconds(180))
+                .map(StockSnapshot::getQuantity).orElseThrow(), is(7));
+    }
+}
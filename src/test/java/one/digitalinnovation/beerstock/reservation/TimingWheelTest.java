@@ -0,0 +1,66 @@
+package one.digitalinnovation.beerstock.reservation;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class TimingWheelTest {
+
+    private final TimingWheel<String> wheel = new TimingWheel<>(1000, 8, 0);
+
+    @Test
+    void whenDeadlineIsReachedThenItemIsDeliveredButNeverBefore() {
+        // given
+        wheel.schedule("a", 2500);
+        wheel.schedule("b", 3000);
+
+        // then
+        assertThat(wheel.advance(2999), is(empty()));
+        assertThat(wheel.advance(3000), containsInAnyOrder("a", "b"));
+        assertThat(wheel.advance(10_000), is(empty()));
+        assertThat(wheel.size(), is(0));
+    }
+
+    @Test
+    void whenDeadlineIsBeyondOneRoundThenItStaysInItsBucketUntilItsRound() {
+        // given
+        wheel.schedule("next-round", 11_000);
+        wheel.schedule("this-round", 3_000);
+
+        // then
+        assertThat(wheel.advance(3_000), contains("this-round"));
+        assertThat(wheel.advance(10_999), is(empty()));
+        assertThat(wheel.advance(11_000), contains("next-round"));
+    }
+
+    @Test
+    void whenAdvanceSkipsMoreThanOneRoundThenEveryDueItemIsDelivered() {
+        // given
+        for (int i = 1; i <= 20; i++) wheel.schedule("item-" + i, i * 1000L);
+        wheel.schedule("late", 100_000);
+
+        // then
+        assertThat(wheel.advance(50_000).size(), is(20));
+        assertThat(wheel.size(), is(1));
+    }
+
+    @Test
+    void whenDeadlineIsAlreadyPastThenItIsDeliveredOnTheNextAdvance() {
+        // given
+        wheel.advance(5_000);
+        wheel.schedule("past", 1_000);
+
+        // then
+        assertThat(wheel.advance(6_000), contains("past"));
+    }
+
+    @Test
+    void whenWheelSizeIsNotAPowerOfTwoThenItIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new TimingWheel<String>(1000, 10, 0));
+    }
+}
@@ -0,0 +1,74 @@
+package one.digitalinnovation.beerstock.service;
+
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.enums.BeerType;
+import one.digitalinnovation.beerstock.repository.BeerRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+// Compara inserts linha a linha (createBeer) com o caminho em lote (createBeers).
+// Não roda no ciclo normal de testes, execute com:
+// mvn test -Dtest=BeerBatchInsertBenchmark -Dbenchmark.rows=20000
+@SpringBootTest
+public class BeerBatchInsertBenchmark {
+
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 5000);
+
+    @Autowired
+    private BeerService beerService;
+
+    @Autowired
+    private BeerRepository beerRepository;
+
+    @AfterEach
+    void cleanup() {
+        beerRepository.deleteAllInBatch();
+    }
+
+    private List<BeerDTO> createBeers(String prefix) {
+        return IntStream.range(0, ROWS)
+                .mapToObj(i -> BeerDTO.builder()
+                        .name(prefix + i)
+                        .brand("Ambev")
+                        .max(50)
+                        .quantity(10)
+                        .type(BeerType.LAGER)
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    private static void report(String label, long nanos) {
+        System.out.printf("%-12s %8d rows in %6d ms -> %10.0f rows/s%n",
+                label, ROWS, nanos / 1_000_000, ROWS / (nanos / 1e9));
+    }
+
+    @Test
+    void compareRowByRowAndBatchedInserts() throws Exception {
+        // aquecimento do contexto e do pool de conexões
+        beerService.createBeers(createBeers("warmup-"));
+        beerRepository.deleteAllInBatch();
+
+        List<BeerDTO> single = createBeers("single-");
+        long start = System.nanoTime();
+        for (BeerDTO dto : single) {
+            beerService.createBeer(dto);
+        }
+        report("row-by-row", System.nanoTime() - start);
+
+        List<BeerDTO> batch = createBeers("batch-");
+        start = System.nanoTime();
+        beerService.createBeers(batch);
+        report("batched", System.nanoTime() - start);
+
+        assertThat(beerRepository.count(), equalTo(2L * ROWS));
+    }
+}
@@ -0,0 +1,332 @@
+package one.digitalinnovation.beerstock.service;
+
+import one.digitalinnovation.beerstock.aggregate.StockAggregates;
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.dto.ReservationDTO;
+import one.digitalinnovation.beerstock.entity.Beer;
+import one.digitalinnovation.beerstock.enums.BeerType;
+import one.digitalinnovation.beerstock.exception.BeerAlreadyRegisteredException;
+import one.digitalinnovation.beerstock.exception.BeerNotFoundException;
+import one.digitalinnovation.beerstock.exception.BeerStockExceededException;
+import one.digitalinnovation.beerstock.exception.InsufficientStockException;
+import one.digitalinnovation.beerstock.feed.BeerChangedEvent;
+import one.digitalinnovation.beerstock.repository.BeerRepository;
+import one.digitalinnovation.beerstock.repository.StockMovementRepository;
+import one.digitalinnovation.beerstock.repository.StockReservationRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+@SpringBootTest
+public class BeerServiceConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int OPERATIONS_PER_THREAD = 25;
+
+    @Autowired
+    private BeerService beerService;
+
+    @Autowired
+    private BeerRepository beerRepository;
+
+    @Autowired
+    private StockAggregates stockAggregates;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private StockReservationRepository reservationRepository;
+
+    @Autowired
+    private StockMovementRepository movementRepository;
+
+    @AfterEach
+    void cleanup() {
+        reservationRepository.deleteAll();
+        beerRepository.deleteAll();
+    }
+
+    private Beer saveBeer(String name, int max, int quantity) {
+        return beerRepository.save(Beer.builder()
+                .name(name)
+                .brand("Ambev")
+                .max(max)
+                .quantity(quantity)
+                .type(BeerType.LAGER)
+                .build());
+    }
+
+    // Executa a mesma operação em paralelo, todas as threads liberadas ao mesmo tempo
+    private void runConcurrently(StockOperation operation) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                        operation.run();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void whenParallelIncrementsAreCalledThenNoUpdateIsLost() throws Exception {
+        // given
+        Beer beer = saveBeer("Brahma", THREADS * OPERATIONS_PER_THREAD, 0);
+
+        // when
+        runConcurrently(() -> beerService.increment(beer.getId(), 1));
+
+        // then
+        int quantity = beerRepository.findById(beer.getId()).orElseThrow().getQuantity();
+        assertThat(quantity, equalTo(THREADS * OPERATIONS_PER_THREAD));
+    }
+
+    @Test
+    void whenParallelDecrementsExceedStockThenQuantityNeverGoesNegative() throws Exception {
+        // given
+        int initialQuantity = 100;
+        Beer beer = saveBeer("Skol", initialQuantity, initialQuantity);
+        AtomicInteger rejected = new AtomicInteger();
+
+        // when
+        runConcurrently(() -> {
+            try {
+                beerService.decrement(beer.getId(), 1);
+            } catch (BeerStockExceededException e) {
+                rejected.incrementAndGet();
+            }
+        });
+
+        // then
+        int quantity = beerRepository.findById(beer.getId()).orElseThrow().getQuantity();
+        assertThat(quantity, equalTo(0));
+        assertThat(rejected.get(), equalTo(THREADS * OPERATIONS_PER_THREAD - initialQuantity));
+    }
+
+    @Test
+    void whenDeleteRacesIncrementsThenItNeverFailsAndTheLedgerClosesAtZero() throws Exception {
+        // given
+        Beer beer = saveBeer("Bohemia Weiss", THREADS * OPERATIONS_PER_THREAD, 0);
+        AtomicInteger calls = new AtomicInteger();
+        AtomicInteger missed = new AtomicInteger();
+
+        // when
+        runConcurrently(() -> {
+            try {
+                if (calls.incrementAndGet() == THREADS * OPERATIONS_PER_THREAD / 2) beerService.deleteById(beer.getId());
+                else beerService.increment(beer.getId(), 1);
+            } catch (BeerNotFoundException e) {
+                missed.incrementAndGet();
+            }
+        });
+
+        // then
+        assertThat(beerRepository.existsById(beer.getId()), is(false));
+        assertThat(missed.get() > 0, is(true));
+        assertThat(movementRepository.sumDeltas(beer.getId(), Instant.EPOCH, Instant.now().plusSeconds(60), Long.MAX_VALUE), equalTo(0L));
+    }
+
+    @Test
+    void whenParallelIncrementsExceedMaxThenQuantityStopsAtMax() throws Exception {
+        // given
+        int max = 100;
+        Beer beer = saveBeer("Antarctica", max, 0);
+        AtomicInteger rejected = new AtomicInteger();
+
+        // when
+        runConcurrently(() -> {
+            try {
+                beerService.increment(beer.getId(), 1);
+            } catch (BeerStockExceededException e) {
+                rejected.incrementAndGet();
+            }
+        });
+
+        // then
+        int quantity = beerRepository.findById(beer.getId()).orElseThrow().getQuantity();
+        assertThat(quantity, equalTo(max));
+        assertThat(rejected.get(), equalTo(THREADS * OPERATIONS_PER_THREAD - max));
+    }
+
+    @Test
+    void whenSameNameIsCreatedConcurrentlyThenOnlyOneBeerIsRegistered() throws Exception {
+        // given
+        AtomicInteger created = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        AtomicInteger sequence = new AtomicInteger();
+
+        // when
+        runConcurrently(() -> {
+            String name = sequence.getAndIncrement() % 2 == 0 ? "Bohemia" : "BOHEMIA ";
+            try {
+                beerService.createBeer(BeerDTO.builder().name(name).brand("Ambev").max(50).quantity(10).type(BeerType.LAGER).build());
+                created.incrementAndGet();
+            } catch (BeerAlreadyRegisteredException e) {
+                rejected.incrementAndGet();
+            }
+        });
+
+        // then
+        assertThat(created.get(), equalTo(1));
+        assertThat(rejected.get(), equalTo(THREADS * OPERATIONS_PER_THREAD - 1));
+        assertThat(beerRepository.count(), equalTo(1L));
+    }
+
+    @Test
+    void whenStockChangesConcurrentlyThenAggregatesMatchAFullRecompute() throws Exception {
+        // given
+        // saveBeer e o cleanup passam direto pelo repositório, sem evento: a reconciliação parte do banco
+        Beer beer = saveBeer("Kaiser", THREADS * OPERATIONS_PER_THREAD, 0);
+        stockAggregates.reconcile(true);
+        beerService.increment(beer.getId(), 10);
+        AtomicInteger sequence = new AtomicInteger();
+
+        // when
+        runConcurrently(() -> {
+            int i = sequence.getAndIncrement();
+            try {
+                if (i % 3 == 0) beerService.decrement(beer.getId(), 1);
+                else beerService.increment(beer.getId(), 1);
+            } catch (BeerStockExceededException e) {
+                // o limite vale também aqui; só importa que os totais acompanhem o banco
+            }
+            if (i % 50 == 0) {
+                BeerDTO created = beerService.createBeer(BeerDTO.builder().name("Kaiser " + i).brand("Heineken").max(50).quantity(10).type(BeerType.LAGER).build());
+                beerService.deleteById(created.getId());
+            }
+        });
+
+        // then
+        assertThat(stockAggregates.reconcile(false).getDrift(), is(empty()));
+    }
+
+    @Test
+    void whenRepairRunsWhileACommittedDeltaIsStillInFlightThenItIsNotCountedTwice() throws Exception {
+        // given
+        Beer beer = saveBeer("Bavaria", 100, 10);
+        stockAggregates.reconcile(true);
+        CountDownLatch release = new CountDownLatch(1);
+        CommitHold.held = new CountDownLatch(1);
+        CommitHold.hold = release;
+
+        // when
+        Thread writer = new Thread(() -> {
+            try {
+                beerService.increment(beer.getId(), 5);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        writer.start();
+        assertThat(CommitHold.held.await(5, TimeUnit.SECONDS), is(true));
+        // O commit já está no banco e o delta ainda não entrou nos totais
+        Thread repair = new Thread(() -> stockAggregates.reconcile(true));
+        repair.start();
+        repair.join(500);
+        release.countDown();
+        writer.join(5000);
+        repair.join(5000);
+
+        // then
+        assertThat(stockAggregates.reconcile(false).getDrift(), is(empty()));
+    }
+
+    // Segura o primeiro listener pós-commit (antes do StockAggregates) enquanto o teste pede um reparo
+    @TestConfiguration
+    static class CommitHold {
+        static volatile CountDownLatch hold;
+        static volatile CountDownLatch held;
+
+        @Order(Ordered.HIGHEST_PRECEDENCE)
+        @TransactionalEventListener
+        public void onChange(BeerChangedEvent event) throws InterruptedException {
+            CountDownLatch latch = hold;
+            if (latch == null) return;
+            hold = null;
+            held.countDown();
+            latch.await(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    void whenReservationsAndDecrementsCompeteThenHeldStockIsNeverSold() throws Exception {
+        // given
+        int initialQuantity = 100;
+        Beer beer = saveBeer("Original", initialQuantity, initialQuantity);
+        AtomicInteger reserved = new AtomicInteger();
+        AtomicInteger sold = new AtomicInteger();
+        AtomicInteger sequence = new AtomicInteger();
+        List<Long> reservations = new CopyOnWriteArrayList<>();
+
+        // when
+        runConcurrently(() -> {
+            try {
+                if (sequence.getAndIncrement() % 2 == 0) {
+                    reservations.add(reservationService.reserve(ReservationDTO.builder().beerId(beer.getId()).quantity(1).build()).getId());
+                    reserved.incrementAndGet();
+                } else {
+                    beerService.decrement(beer.getId(), 1);
+                    sold.incrementAndGet();
+                }
+            } catch (InsufficientStockException | BeerStockExceededException e) {
+                // estoque livre esgotado: reservas e vendas disputam as mesmas unidades
+            }
+        });
+
+        // then
+        Beer afterRun = beerRepository.findById(beer.getId()).orElseThrow();
+        assertThat(reserved.get() + sold.get(), equalTo(initialQuantity));
+        assertThat(afterRun.getQuantity(), equalTo(initialQuantity - sold.get()));
+        assertThat(afterRun.getReserved(), equalTo(reserved.get()));
+
+        // when
+        for (int i = 0; i < reservations.size(); i++) {
+            if (i % 2 == 0) reservationService.commit(reservations.get(i));
+            else reservationService.release(reservations.get(i));
+        }
+
+        // then
+        Beer afterCommit = beerRepository.findById(beer.getId()).orElseThrow();
+        assertThat(afterCommit.getReserved(), equalTo(0));
+        assertThat(afterCommit.getQuantity(), equalTo(initialQuantity - sold.get() - (reservations.size() + 1) / 2));
+    }
+
+    @FunctionalInterface
+    private interface StockOperation {
+        void run() throws Exception;
+    }
+}
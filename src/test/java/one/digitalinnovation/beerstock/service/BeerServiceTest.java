@@ -1,23 +1,57 @@
 package one.digitalinnovation.beerstock.service;
 
 import one.digitalinnovation.beerstock.builder.BeerDTOBuilder;
+import one.digitalinnovation.beerstock.cache.BeerNameCache;
 import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.dto.BeerPageDTO;
+import one.digitalinnovation.beerstock.dto.BeerSearchDTO;
+import one.digitalinnovation.beerstock.dto.StockAdjustmentDTO;
+import one.digitalinnovation.beerstock.dto.StockAdjustmentResultDTO;
 import one.digitalinnovation.beerstock.entity.Beer;
+import one.digitalinnovation.beerstock.entity.StockMovement;
+import one.digitalinnovation.beerstock.enums.BeerType;
+import one.digitalinnovation.beerstock.enums.ChangeType;
+import one.digitalinnovation.beerstock.enums.MovementSource;
+import one.digitalinnovation.beerstock.enums.StockAdjustmentStatus;
 import one.digitalinnovation.beerstock.exception.BeerAlreadyRegisteredException;
 import one.digitalinnovation.beerstock.exception.BeerNotFoundException;
 import one.digitalinnovation.beerstock.exception.BeerStockExceededException;
+import one.digitalinnovation.beerstock.feed.BeerChangedEvent;
+import one.digitalinnovation.beerstock.feed.BeersImportedEvent;
 import one.digitalinnovation.beerstock.mapper.BeerMapper;
+import one.digitalinnovation.beerstock.metrics.BeerStockMetrics;
 import one.digitalinnovation.beerstock.repository.BeerRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.hibernate.exception.ConstraintViolationException;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.Mockito; // IMPORTANTE: Adiciona a importação da classe Mockito
 import org.mockito.junit.jupiter.MockitoExtension;
-
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import javax.persistence.EntityManager;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
@@ -32,12 +66,36 @@ public class BeerServiceTest {
     @Mock
     private BeerRepository beerRepository;
 
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private StockLedgerService ledger;
+
+    @Mock
+    private ApplicationEventPublisher events;
+
+    @Captor
+    private ArgumentCaptor<List<StockMovement>> recorded;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private BeerStockMetrics metrics = new BeerStockMetrics(meterRegistry);
+
+    @Spy
+    private BeerNameCache nameCache = new BeerNameCache(100, Duration.ofMinutes(1), true);
+
     @InjectMocks
     private BeerService beerService;
 
     private final BeerMapper beerMapper = BeerMapper.INSTANCE;
 
     // Métodos Auxiliares
+    private double operations(String operation, String outcome) {
+        return meterRegistry.get(BeerStockMetrics.OPERATIONS).tag("operation", operation).tag("outcome", outcome).counter().count();
+    }
+
     private BeerDTO createFakeDTO() {
         return BeerDTOBuilder.builder().build().toBeerDTO();
     }
@@ -55,9 +113,8 @@ public class BeerServiceTest {
         Beer expectedSavedBeer = createFakeModel();
 
         // when
-        when(beerRepository.findByName(expectedBeerDTO.getName())).thenReturn(Optional.empty());
         // CORREÇÃO: Uso explícito de Mockito.any() para resolver a ambiguidade.
-        when(beerRepository.save(Mockito.any(Beer.class))).thenReturn(expectedSavedBeer); 
+        when(beerRepository.saveAndFlush(Mockito.any(Beer.class))).thenReturn(expectedSavedBeer); 
 
         // then
         BeerDTO createdBeerDTO = beerService.createBeer(expectedBeerDTO);
@@ -71,14 +128,90 @@ public class BeerServiceTest {
     void whenAlreadyRegisteredBeerInformedThenAnExceptionShouldBeThrown() {
         // given
         BeerDTO expectedBeerDTO = createFakeDTO();
-        Beer duplicatedBeer = createFakeModel();
+        DataIntegrityViolationException duplicatedName = new DataIntegrityViolationException("duplicated",
+                new ConstraintViolationException("duplicated", null, Beer.NORMALIZED_NAME_CONSTRAINT.toUpperCase()));
 
         // when
-        when(beerRepository.findByName(expectedBeerDTO.getName())).thenReturn(Optional.of(duplicatedBeer));
+        when(beerRepository.saveAndFlush(Mockito.any(Beer.class))).thenThrow(duplicatedName);
 
         // then
         assertThrows(BeerAlreadyRegisteredException.class, () -> beerService.createBeer(expectedBeerDTO));
     }
+
+    @Test
+    void whenAnotherConstraintIsViolatedThenTheOriginalExceptionIsKept() {
+        // given
+        BeerDTO expectedBeerDTO = createFakeDTO();
+        DataIntegrityViolationException nullBrand = new DataIntegrityViolationException("null brand",
+                new ConstraintViolationException("null brand", null, null));
+
+        // when
+        when(beerRepository.saveAndFlush(Mockito.any(Beer.class))).thenThrow(nullBrand);
+
+        // then
+        assertThrows(DataIntegrityViolationException.class, () -> beerService.createBeer(expectedBeerDTO));
+    }
+    @Test
+    void whenBeerBatchInformedThenAllBeersShouldBeCreated() throws BeerAlreadyRegisteredException {
+        // given
+        BeerDTO brahma = createFakeDTO();
+        BeerDTO skol = BeerDTOBuilder.builder().id(2L).name("Skol").build().toBeerDTO();
+        List<Beer> savedBeers = List.of(beerMapper.toModel(brahma), beerMapper.toModel(skol));
+
+        // when
+        when(beerRepository.findExistingNormalizedNames(Mockito.anyCollection())).thenReturn(Collections.emptyList());
+        when(beerRepository.saveAll(Mockito.anyList())).thenReturn(savedBeers);
+
+        // then
+        List<BeerDTO> createdBeers = beerService.createBeers(List.of(brahma, skol));
+
+        assertThat(createdBeers, hasSize(2));
+        assertThat(createdBeers.get(1).getName(), is(equalTo(skol.getName())));
+        verify(beerRepository, times(1)).findExistingNormalizedNames(Mockito.anyCollection());
+    }
+
+    @Test
+    void whenBeersAreImportedThenRowEventsAreBulkAndOneSummaryIsPublished() throws BeerAlreadyRegisteredException {
+        // given
+        BeerDTO brahma = createFakeDTO();
+        BeerDTO skol = BeerDTOBuilder.builder().id(2L).name("Skol").build().toBeerDTO();
+        List<Beer> savedBeers = List.of(beerMapper.toModel(brahma), beerMapper.toModel(skol));
+
+        // when
+        when(beerRepository.findExistingNormalizedNames(Mockito.anyCollection())).thenReturn(Collections.emptyList());
+        when(beerRepository.saveAll(Mockito.anyList())).thenReturn(savedBeers);
+
+        // then
+        beerService.importBeers(List.of(brahma, skol));
+
+        verify(events).publishEvent(new BeerChangedEvent(ChangeType.CREATED, brahma, brahma.getQuantity(), true));
+        verify(events).publishEvent(new BeerChangedEvent(ChangeType.CREATED, skol, skol.getQuantity(), true));
+        verify(events).publishEvent(new BeersImportedEvent(2, brahma.getQuantity() + skol.getQuantity()));
+    }
+
+    @Test
+    void whenBeerBatchHasAnAlreadyRegisteredNameThenAnExceptionShouldBeThrown() {
+        // given
+        BeerDTO brahma = createFakeDTO();
+
+        // when
+        when(beerRepository.findExistingNormalizedNames(Mockito.anyCollection())).thenReturn(List.of(Beer.normalizeName(brahma.getName())));
+
+        // then
+        assertThrows(BeerAlreadyRegisteredException.class, () -> beerService.createBeers(List.of(brahma)));
+        verify(beerRepository, never()).saveAll(Mockito.anyList());
+    }
+
+    @Test
+    void whenBeerBatchRepeatsANameThenAnExceptionShouldBeThrown() {
+        // given
+        BeerDTO brahma = createFakeDTO();
+
+        // then
+        assertThrows(BeerAlreadyRegisteredException.class, () -> beerService.createBeers(List.of(brahma, createFakeDTO())));
+        verifyNoInteractions(beerRepository);
+    }
+
 // RESTO DO CÓDIGO DA CLASSE BeerServiceTest.java (SEM ALTERAÇÕES)
 // ... Certifique-se de que o restante do código da sua classe de teste está aqui!
 // O código é o mesmo do meu post anterior, apenas a seção de import e o teste whenBeerInformedThenItShouldBeCreated foram alterados.
@@ -91,7 +224,7 @@ public class BeerServiceTest {
         Beer expectedFoundBeer = createFakeModel();
 
         // when
-        when(beerRepository.findByName(expectedFoundBeer.getName())).thenReturn(Optional.of(expectedFoundBeer));
+        when(beerRepository.findByNormalizedName(Beer.normalizeName(expectedFoundBeer.getName()))).thenReturn(Optional.of(expectedFoundBeer));
 
         // then
         BeerDTO foundBeerDTO = beerService.findByName(expectedBeerDTO.getName());
@@ -99,18 +232,98 @@ public class BeerServiceTest {
         assertThat(foundBeerDTO, is(equalTo(expectedBeerDTO)));
     }
 
+    @Test
+    void whenSameBeerNameIsGivenTwiceThenRepositoryIsQueriedOnce() throws BeerNotFoundException {
+        // given
+        Beer expectedFoundBeer = createFakeModel();
+
+        // when
+        when(beerRepository.findByNormalizedName(Beer.normalizeName(expectedFoundBeer.getName()))).thenReturn(Optional.of(expectedFoundBeer));
+
+        // then
+        beerService.findByName(expectedFoundBeer.getName());
+        beerService.findByName(expectedFoundBeer.getName());
+
+        verify(beerRepository, times(1)).findByNormalizedName(Beer.normalizeName(expectedFoundBeer.getName()));
+        assertThat(beerService.nameCacheStats().getHitCount(), is(1L));
+    }
+
+    @Test
+    void whenStockChangesThenCachedBeerIsInvalidated() throws BeerNotFoundException, BeerStockExceededException {
+        // given
+        Beer expectedBeer = createFakeModel();
+
+        // when
+        when(beerRepository.findByNormalizedName(Beer.normalizeName(expectedBeer.getName()))).thenReturn(Optional.of(expectedBeer));
+        when(beerRepository.incrementQuantity(expectedBeer.getId(), 1)).thenReturn(1);
+        when(beerRepository.findById(expectedBeer.getId())).thenReturn(Optional.of(expectedBeer));
+
+        // then
+        beerService.findByName(expectedBeer.getName());
+        beerService.increment(expectedBeer.getId(), 1);
+        beerService.findByName(expectedBeer.getName());
+
+        verify(nameCache, times(1)).invalidate(Beer.normalizeName(expectedBeer.getName()));
+        verify(beerRepository, times(2)).findByNormalizedName(Beer.normalizeName(expectedBeer.getName()));
+    }
+
+    @Test
+    void whenBeerNameIsGivenWithDifferentCaseThenReturnTheSameBeer() throws BeerNotFoundException {
+        // given
+        Beer expectedFoundBeer = createFakeModel();
+
+        // when
+        when(beerRepository.findByNormalizedName("brahma")).thenReturn(Optional.of(expectedFoundBeer));
+
+        // then
+        BeerDTO foundBeerDTO = beerService.findByName("  BRAHMA ");
+
+        assertThat(foundBeerDTO.getName(), is(equalTo(expectedFoundBeer.getName())));
+    }
+
     @Test
     void whenNotRegisteredBeerNameIsGivenThenThrowAnException() {
         // given
         BeerDTO expectedBeerDTO = createFakeDTO();
 
         // when
-        when(beerRepository.findByName(expectedBeerDTO.getName())).thenReturn(Optional.empty());
+        when(beerRepository.findByNormalizedName(Beer.normalizeName(expectedBeerDTO.getName()))).thenReturn(Optional.empty());
 
         // then
         assertThrows(BeerNotFoundException.class, () -> beerService.findByName(expectedBeerDTO.getName()));
     }
 
+    @Test
+    void whenSameUnknownNameIsLookedUpConcurrentlyThenOneQueryRunsAndEveryCallerGetsNotFound() throws Exception {
+        // given
+        int callers = 8;
+        String name = createFakeDTO().getName();
+        CountDownLatch release = new CountDownLatch(1);
+        when(beerRepository.findByNormalizedName(Beer.normalizeName(name))).thenAnswer(invocation -> {
+            release.await(10, TimeUnit.SECONDS);
+            return Optional.empty();
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+
+        // when
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < callers; i++) {
+                futures.add(executor.submit(() -> assertThrows(BeerNotFoundException.class, () -> beerService.findByName(name))));
+            }
+            // Solta a consulta só depois que todos os outros chamadores estão esperando por ela
+            while (nameCache.stats().getCoalescedCount() < callers - 1) Thread.sleep(1);
+            release.countDown();
+            for (Future<?> future : futures) future.get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // then
+        verify(beerRepository, times(1)).findByNormalizedName(Beer.normalizeName(name));
+        assertThat(nameCache.stats().getLoadCount(), is(1L));
+    }
+
     @Test
     void whenListBeerIsCalledThenReturnAListOfBeers() {
         // given
@@ -118,24 +331,78 @@ public class BeerServiceTest {
         Beer expectedFoundBeer = createFakeModel();
 
         // when
-        when(beerRepository.findAll()).thenReturn(Collections.singletonList(expectedFoundBeer));
+        when(beerRepository.findPageAfter(eq(0L), Mockito.any(Pageable.class))).thenReturn(Collections.singletonList(expectedFoundBeer));
 
         // then
-        List<BeerDTO> foundListBeersDTO = beerService.listAll();
+        BeerPageDTO foundPage = beerService.listAll(null, 10);
 
-        assertThat(foundListBeersDTO, is(not(empty())));
-        assertThat(foundListBeersDTO.get(0), is(equalTo(expectedBeerDTO)));
+        assertThat(foundPage.getContent(), is(not(empty())));
+        assertThat(foundPage.getContent().get(0), is(equalTo(expectedBeerDTO)));
+        assertThat(foundPage.getNextCursor(), is(nullValue()));
     }
 
     @Test
     void whenListBeerIsCalledThenReturnAnEmptyListOfBeers() {
         // when
-        when(beerRepository.findAll()).thenReturn(Collections.emptyList());
+        when(beerRepository.findPageAfter(eq(0L), Mockito.any(Pageable.class))).thenReturn(Collections.emptyList());
+
+        // then
+        BeerPageDTO foundPage = beerService.listAll(null, 10);
+
+        assertThat(foundPage.getContent(), is(empty()));
+        assertThat(foundPage.getNextCursor(), is(nullValue()));
+    }
+
+    @Test
+    void whenListBeerHasMoreRowsThanTheLimitThenReturnTheNextCursor() {
+        // given
+        Beer first = createFakeModel();
+        Beer second = createFakeModel();
+        second.setId(2L);
+
+        // when
+        when(beerRepository.findPageAfter(0L, PageRequest.of(0, 2))).thenReturn(List.of(first, second));
 
         // then
-        List<BeerDTO> foundListBeersDTO = beerService.listAll();
+        BeerPageDTO foundPage = beerService.listAll(0L, 1);
 
-        assertThat(foundListBeersDTO, is(empty()));
+        assertThat(foundPage.getContent(), hasSize(1));
+        assertThat(foundPage.getNextCursor(), is(equalTo(first.getId())));
+    }
+
+    @Test
+    void whenSearchHasMoreRowsThanTheLimitThenReturnTheNextCursor() {
+        // given
+        Beer first = createFakeModel();
+        Beer second = createFakeModel();
+        second.setId(2L);
+        BeerSearchDTO search = BeerSearchDTO.builder().type(Set.of(BeerType.LAGER)).maxFillRatio(0.2).build();
+
+        // when
+        when(beerRepository.search(Mockito.<Specification<Beer>>any(), eq(2))).thenReturn(List.of(first, second));
+
+        // then
+        BeerPageDTO foundPage = beerService.search(search, null, 1);
+
+        assertThat(foundPage.getContent(), contains(beerMapper.toDTO(first)));
+        assertThat(foundPage.getNextCursor(), is(equalTo(first.getId())));
+    }
+
+    @Test
+    void whenExportIsCalledThenEveryBeerIsSentAndDetached() {
+        // given
+        BeerDTO expectedBeerDTO = createFakeDTO();
+        Beer expectedFoundBeer = createFakeModel();
+        List<BeerDTO> exported = new ArrayList<>();
+
+        // when
+        when(beerRepository.streamAll()).thenReturn(Stream.of(expectedFoundBeer));
+
+        // then
+        beerService.exportAll(exported::add);
+
+        assertThat(exported, contains(expectedBeerDTO));
+        verify(entityManager, times(1)).detach(expectedFoundBeer);
     }
 
     // --- TESTES DE EXCLUSÃO ---
@@ -146,20 +413,20 @@ public class BeerServiceTest {
         Beer expectedDeletedBeer = createFakeModel();
 
         // when
-        when(beerRepository.findById(expectedDeletedBeer.getId())).thenReturn(Optional.of(expectedDeletedBeer));
-        doNothing().when(beerRepository).deleteById(expectedDeletedBeer.getId());
+        when(beerRepository.deleteReturning(expectedDeletedBeer.getId())).thenReturn(Optional.of(expectedDeletedBeer));
 
         // then
         beerService.deleteById(expectedDeletedBeer.getId());
 
-        verify(beerRepository, times(1)).findById(expectedDeletedBeer.getId());
-        verify(beerRepository, times(1)).deleteById(expectedDeletedBeer.getId());
+        verify(beerRepository, times(1)).deleteReturning(expectedDeletedBeer.getId());
+        verify(ledger, times(1)).record(expectedDeletedBeer.getId(), -expectedDeletedBeer.getQuantity(), 0, MovementSource.DELETE);
+        verify(events, times(1)).publishEvent(new BeerChangedEvent(ChangeType.DELETED, beerMapper.toDTO(expectedDeletedBeer), -expectedDeletedBeer.getQuantity()));
     }
 
     @Test
     void whenInvalidBeerIdIsGivenThenThrowException() {
         // when
-        when(beerRepository.findById(INVALID_BEER_ID)).thenReturn(Optional.empty());
+        when(beerRepository.deleteReturning(INVALID_BEER_ID)).thenReturn(Optional.empty());
 
         // then
         assertThrows(BeerNotFoundException.class, () -> beerService.deleteById(INVALID_BEER_ID));
@@ -175,15 +442,22 @@ public class BeerServiceTest {
         int incrementQuantity = 10;
         int expectedQuantityAfterIncrement = expectedBeer.getQuantity() + incrementQuantity;
 
+        Beer incrementedBeer = createFakeModel();
+        incrementedBeer.setQuantity(expectedQuantityAfterIncrement);
+
         // when
-        when(beerRepository.findById(expectedBeer.getId())).thenReturn(Optional.of(expectedBeer));
-        when(beerRepository.save(expectedBeer)).thenReturn(expectedBeer);
+        when(beerRepository.incrementQuantity(expectedBeer.getId(), incrementQuantity)).thenReturn(1);
+        when(beerRepository.findById(expectedBeer.getId())).thenReturn(Optional.of(incrementedBeer));
 
         // then
         BeerDTO incrementedBeerDTO = beerService.increment(expectedBeer.getId(), incrementQuantity);
 
         assertThat(expectedQuantityAfterIncrement, equalTo(incrementedBeerDTO.getQuantity()));
         assertThat(expectedQuantityAfterIncrement, lessThanOrEqualTo(expectedBeer.getMax()));
+        verify(ledger, times(1)).record(expectedBeer.getId(), incrementQuantity, expectedQuantityAfterIncrement, MovementSource.INCREMENT);
+        verify(events, times(1)).publishEvent(new BeerChangedEvent(ChangeType.QUANTITY_CHANGED, incrementedBeerDTO, incrementQuantity));
+        assertThat(operations("increment", "applied"), is(1.0));
+        assertThat(meterRegistry.get(BeerStockMetrics.UNITS).tag("direction", "in").counter().count(), is((double) incrementQuantity));
     }
 
     @Test
@@ -193,10 +467,14 @@ public class BeerServiceTest {
         int incrementQuantity = 60; // Max é 50, quantidade atual é 10. 10 + 60 = 70.
 
         // when
+        when(beerRepository.incrementQuantity(expectedBeer.getId(), incrementQuantity)).thenReturn(0);
         when(beerRepository.findById(expectedBeer.getId())).thenReturn(Optional.of(expectedBeer));
 
         // then
         assertThrows(BeerStockExceededException.class, () -> beerService.increment(expectedBeer.getId(), incrementQuantity));
+        verifyNoInteractions(ledger, events);
+        assertThat(operations("increment", "rejected"), is(1.0));
+        assertThat(operations("increment", "applied"), is(0.0));
     }
     
     @Test
@@ -204,6 +482,7 @@ public class BeerServiceTest {
         int incrementQuantity = 10;
         
         // when
+        when(beerRepository.incrementQuantity(INVALID_BEER_ID, incrementQuantity)).thenReturn(0);
         when(beerRepository.findById(INVALID_BEER_ID)).thenReturn(Optional.empty());
         
         // then
@@ -220,15 +499,19 @@ public class BeerServiceTest {
         int decrementQuantity = 5;
         int expectedQuantityAfterDecrement = expectedBeer.getQuantity() - decrementQuantity;
 
+        Beer decrementedBeer = createFakeModel();
+        decrementedBeer.setQuantity(expectedQuantityAfterDecrement);
+
         // when
-        when(beerRepository.findById(expectedBeer.getId())).thenReturn(Optional.of(expectedBeer));
-        when(beerRepository.save(expectedBeer)).thenReturn(expectedBeer);
+        when(beerRepository.decrementQuantity(expectedBeer.getId(), decrementQuantity)).thenReturn(1);
+        when(beerRepository.findById(expectedBeer.getId())).thenReturn(Optional.of(decrementedBeer));
 
         // then
         BeerDTO decrementedBeerDTO = beerService.decrement(expectedBeer.getId(), decrementQuantity);
 
         assertThat(expectedQuantityAfterDecrement, equalTo(decrementedBeerDTO.getQuantity()));
         assertThat(expectedQuantityAfterDecrement, greaterThanOrEqualTo(0));
+        verify(ledger, times(1)).record(expectedBeer.getId(), -decrementQuantity, expectedQuantityAfterDecrement, MovementSource.DECREMENT);
     }
 
     @Test
@@ -238,6 +521,7 @@ public class BeerServiceTest {
         int decrementQuantity = 15; 
 
         // when
+        when(beerRepository.decrementQuantity(expectedBeer.getId(), decrementQuantity)).thenReturn(0);
         when(beerRepository.findById(expectedBeer.getId())).thenReturn(Optional.of(expectedBeer));
 
         // then
@@ -249,9 +533,133 @@ public class BeerServiceTest {
         int decrementQuantity = 5;
         
         // when
+        when(beerRepository.decrementQuantity(INVALID_BEER_ID, decrementQuantity)).thenReturn(0);
         when(beerRepository.findById(INVALID_BEER_ID)).thenReturn(Optional.empty());
         
         // then
         assertThrows(BeerNotFoundException.class, () -> beerService.decrement(INVALID_BEER_ID, decrementQuantity));
+        assertThat(operations("decrement", "not_found"), is(1.0));
+    }
+
+    // --- TESTES DE AJUSTE EM LOTE ---
+
+    @Test
+    void whenStockBatchIsAppliedPerItemThenEachItemReportsItsStatus() throws BeerNotFoundException, BeerStockExceededException {
+        // given
+        Beer expectedBeer = createFakeModel();
+        List<StockAdjustmentDTO> adjustments = List.of(
+                StockAdjustmentDTO.builder().id(expectedBeer.getId()).delta(5).build(),
+                StockAdjustmentDTO.builder().id(expectedBeer.getId()).delta(-100).build(),
+                StockAdjustmentDTO.builder().id(INVALID_BEER_ID + 1).delta(1).build());
+
+        // when
+        when(beerRepository.adjustQuantities(adjustments)).thenReturn(new int[]{1, 0, 0});
+        when(beerRepository.findAllById(Mockito.anySet())).thenReturn(List.of(expectedBeer));
+
+        // then
+        List<StockAdjustmentResultDTO> results = beerService.adjustStock(adjustments, false);
+
+        assertThat(results, hasSize(3));
+        assertThat(results.get(0).getStatus(), is(StockAdjustmentStatus.APPLIED));
+        assertThat(results.get(1).getStatus(), is(StockAdjustmentStatus.STOCK_EXCEEDED));
+        assertThat(results.get(2).getStatus(), is(StockAdjustmentStatus.NOT_FOUND));
+        assertThat(results.get(0).getQuantity(), is(equalTo(expectedBeer.getQuantity())));
+        assertThat(operations("batch", "applied"), is(1.0));
+        assertThat(operations("batch", "rejected"), is(1.0));
+        assertThat(operations("batch", "not_found"), is(1.0));
+    }
+
+    @Test
+    void whenStockBatchAdjustsTheSameBeerTwiceThenEachResultHasTheQuantityAfterItsOwnItem() throws BeerNotFoundException, BeerStockExceededException {
+        // given
+        Beer expectedBeer = createFakeModel(); // quantidade final após os ajustes
+        int finalQuantity = expectedBeer.getQuantity();
+        List<StockAdjustmentDTO> adjustments = List.of(
+                StockAdjustmentDTO.builder().id(expectedBeer.getId()).delta(5).build(),
+                StockAdjustmentDTO.builder().id(expectedBeer.getId()).delta(-100).build(),
+                StockAdjustmentDTO.builder().id(expectedBeer.getId()).delta(-3).build());
+
+        // when
+        when(beerRepository.adjustQuantities(adjustments)).thenReturn(new int[]{1, 0, 1});
+        when(beerRepository.findAllById(Mockito.anySet())).thenReturn(List.of(expectedBeer));
+
+        // then
+        List<StockAdjustmentResultDTO> results = beerService.adjustStock(adjustments, false);
+
+        assertThat(results.get(0).getQuantity(), is(finalQuantity + 3));
+        assertThat(results.get(1).getQuantity(), is(finalQuantity + 3));
+        assertThat(results.get(2).getQuantity(), is(finalQuantity));
+    }
+
+    @Test
+    void whenAtomicStockBatchRejectsAnItemThenTheExceptionReportsTheQuantityItWasCheckedAgainst() {
+        // given
+        Beer expectedBeer = createFakeModel();
+        List<StockAdjustmentDTO> adjustments = List.of(
+                StockAdjustmentDTO.builder().id(expectedBeer.getId()).delta(-2).build(),
+                StockAdjustmentDTO.builder().id(expectedBeer.getId()).delta(1000).build(),
+                StockAdjustmentDTO.builder().id(expectedBeer.getId()).delta(-3).build());
+
+        // when
+        when(beerRepository.adjustQuantities(adjustments)).thenReturn(new int[]{1, 0, 1});
+        when(beerRepository.findAllById(Mockito.anySet())).thenReturn(List.of(expectedBeer));
+
+        // then
+        BeerStockExceededException e = assertThrows(BeerStockExceededException.class,
+                () -> beerService.adjustStock(adjustments, true));
+        assertThat(e.getMessage(), containsString("Current change: " + (expectedBeer.getQuantity() + 3 + 1000)));
+    }
+
+    @Test
+    void whenAtomicStockBatchHasARejectedItemThenThrowException() {
+        // given
+        Beer expectedBeer = createFakeModel();
+        List<StockAdjustmentDTO> adjustments = List.of(
+                StockAdjustmentDTO.builder().id(expectedBeer.getId()).delta(5).build(),
+                StockAdjustmentDTO.builder().id(expectedBeer.getId()).delta(100).build());
+
+        // when
+        when(beerRepository.adjustQuantities(adjustments)).thenReturn(new int[]{1, 0});
+        when(beerRepository.findAllById(Mockito.anySet())).thenReturn(List.of(expectedBeer));
+
+        // then
+        assertThrows(BeerStockExceededException.class, () -> beerService.adjustStock(adjustments, true));
+        verifyNoInteractions(ledger);
+    }
+
+    @Test
+    void whenStockBatchIsAppliedThenEachAppliedItemIsRecordedWithItsResultingQuantity() throws BeerNotFoundException, BeerStockExceededException {
+        // given
+        Beer expectedBeer = createFakeModel(); // quantidade final após os ajustes
+        List<StockAdjustmentDTO> adjustments = List.of(
+                StockAdjustmentDTO.builder().id(expectedBeer.getId()).delta(5).build(),
+                StockAdjustmentDTO.builder().id(expectedBeer.getId()).delta(-100).build(),
+                StockAdjustmentDTO.builder().id(expectedBeer.getId()).delta(-3).build());
+
+        // when
+        when(beerRepository.adjustQuantities(adjustments)).thenReturn(new int[]{1, 0, 1});
+        when(beerRepository.findAllById(Mockito.anySet())).thenReturn(List.of(expectedBeer));
+
+        // then
+        beerService.adjustStock(adjustments, false);
+
+        verify(ledger, times(1)).recordAll(recorded.capture());
+        assertThat(recorded.getValue().stream().map(StockMovement::getDelta).collect(Collectors.toList()), contains(5, -3));
+        assertThat(recorded.getValue().stream().map(StockMovement::getResultingQuantity).collect(Collectors.toList()),
+                contains(expectedBeer.getQuantity() + 3, expectedBeer.getQuantity()));
+        verify(events, times(2)).publishEvent(Mockito.any(BeerChangedEvent.class));
+    }
+
+    @Test
+    void whenAtomicStockBatchHasAnInvalidIdThenThrowException() {
+        // given
+        List<StockAdjustmentDTO> adjustments = List.of(StockAdjustmentDTO.builder().id(INVALID_BEER_ID).delta(5).build());
+
+        // when
+        when(beerRepository.adjustQuantities(adjustments)).thenReturn(new int[]{0});
+        when(beerRepository.findAllById(Mockito.anySet())).thenReturn(Collections.emptyList());
+
+        // then
+        assertThrows(BeerNotFoundException.class, () -> beerService.adjustStock(adjustments, true));
     }
 }
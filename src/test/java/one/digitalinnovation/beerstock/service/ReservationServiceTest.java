@@ -0,0 +1,251 @@
+package one.digitalinnovation.beerstock.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import one.digitalinnovation.beerstock.cache.BeerNameCache;
+import one.digitalinnovation.beerstock.dto.BeerDTO;
+import one.digitalinnovation.beerstock.dto.ReservationDTO;
+import one.digitalinnovation.beerstock.entity.Beer;
+import one.digitalinnovation.beerstock.entity.StockReservation;
+import one.digitalinnovation.beerstock.enums.BeerType;
+import one.digitalinnovation.beerstock.enums.MovementSource;
+import one.digitalinnovation.beerstock.exception.InsufficientStockException;
+import one.digitalinnovation.beerstock.exception.ReservationNotFoundException;
+import one.digitalinnovation.beerstock.metrics.BeerStockMetrics;
+import one.digitalinnovation.beerstock.repository.BeerRepository;
+import one.digitalinnovation.beerstock.repository.StockReservationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ReservationServiceTest {
+
+    private static final Instant START = Instant.parse("2024-01-01T10:00:00Z");
+
+    @Mock
+    private BeerRepository beerRepository;
+
+    @Mock
+    private StockReservationRepository reservationRepository;
+
+    @Mock
+    private StockLedgerService ledger;
+
+    @Mock
+    private BeerNameCache nameCache;
+
+    @Mock
+    private ApplicationEventPublisher events;
+
+    @Mock
+    private BeerStockMetrics stockMetrics;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final MutableClock clock = new MutableClock(START);
+    private ReservationService reservationService;
+
+    private final Beer beer = Beer.builder().id(1L).name("Brahma").brand("Ambev").max(50).quantity(10).reserved(3)
+            .type(BeerType.LAGER).version(1L).build();
+
+    @BeforeEach
+    void setUp() {
+        reservationService = new ReservationService(beerRepository, reservationRepository, ledger, nameCache, events,
+                stockMetrics, transactionManager, meterRegistry, Duration.ofMinutes(15), Duration.ofHours(1),
+                Duration.ofSeconds(1), clock);
+    }
+
+    private StockReservation reservation(long id, int quantity, Instant expiresAt) {
+        return StockReservation.builder().id(id).beerId(1L).quantity(quantity).expiresAt(expiresAt).build();
+    }
+
+    private double outcome(ReservationService.Outcome outcome) {
+        return meterRegistry.get(ReservationService.RESERVATIONS).tag("outcome", outcome.name().toLowerCase()).counter().count();
+    }
+
+    @Test
+    void whenStockIsAvailableThenHoldIsCreatedAndReleasedWhenItExpires() throws Exception {
+        // given
+        Instant expiresAt = START.plus(Duration.ofMinutes(15));
+        when(beerRepository.reserveQuantity(1L, 3)).thenReturn(1);
+        when(reservationRepository.save(any(StockReservation.class))).thenReturn(reservation(7L, 3, expiresAt));
+        when(beerRepository.findById(1L)).thenReturn(Optional.of(beer));
+
+        // when
+        ReservationDTO created = reservationService.reserve(ReservationDTO.builder().beerId(1L).quantity(3).build());
+
+        // then
+        assertThat(created.getId(), is(7L));
+        assertThat(created.getExpiresAt(), is(expiresAt));
+
+        // when
+        when(reservationRepository.findAllById(List.of(7L))).thenReturn(List.of(reservation(7L, 3, expiresAt)));
+        when(reservationRepository.claim(7L)).thenReturn(1);
+        when(beerRepository.releaseQuantity(1L, 3)).thenReturn(1);
+        clock.set(expiresAt.minusMillis(1));
+        reservationService.expireDue();
+        verify(beerRepository, never()).releaseQuantity(anyLong(), anyInt());
+        clock.set(expiresAt);
+        reservationService.expireDue();
+
+        // then
+        verify(beerRepository).releaseQuantity(1L, 3);
+        assertThat(outcome(ReservationService.Outcome.EXPIRED), is(1.0));
+    }
+
+    @Test
+    void whenExpiryBatchFailsThenItIsRetriedOnTheNextTick() throws Exception {
+        // given
+        Instant expiresAt = START.plus(Duration.ofMinutes(15));
+        when(beerRepository.reserveQuantity(1L, 3)).thenReturn(1);
+        when(reservationRepository.save(any(StockReservation.class))).thenReturn(reservation(7L, 3, expiresAt));
+        when(beerRepository.findById(1L)).thenReturn(Optional.of(beer));
+        reservationService.reserve(ReservationDTO.builder().beerId(1L).quantity(3).build());
+        when(reservationRepository.findAllById(List.of(7L)))
+                .thenThrow(new QueryTimeoutException("timeout"))
+                .thenReturn(List.of(reservation(7L, 3, expiresAt)));
+        when(reservationRepository.claim(7L)).thenReturn(1);
+        when(beerRepository.releaseQuantity(1L, 3)).thenReturn(1);
+
+        // when
+        clock.set(expiresAt);
+        assertThrows(QueryTimeoutException.class, () -> reservationService.expireDue());
+        clock.set(expiresAt.plusSeconds(1));
+        reservationService.expireDue();
+
+        // then
+        verify(beerRepository).releaseQuantity(1L, 3);
+        assertThat(outcome(ReservationService.Outcome.EXPIRED), is(1.0));
+    }
+
+    @Test
+    void whenSweepRunsThenReservationsMissingFromTheWheelAreExpired() {
+        // given
+        when(reservationRepository.findExpiredIds(eq(START.minusSeconds(1)), any(Pageable.class))).thenReturn(List.of(9L));
+        when(reservationRepository.findAllById(List.of(9L))).thenReturn(List.of(reservation(9L, 2, START.minusSeconds(30))));
+        when(reservationRepository.claim(9L)).thenReturn(1);
+        when(beerRepository.releaseQuantity(1L, 2)).thenReturn(1);
+        when(beerRepository.findById(1L)).thenReturn(Optional.of(beer));
+
+        // when
+        reservationService.sweepExpired();
+
+        // then
+        verify(beerRepository).releaseQuantity(1L, 2);
+        assertThat(outcome(ReservationService.Outcome.EXPIRED), is(1.0));
+    }
+
+    @Test
+    void whenStockIsNotAvailableThenInsufficientStockExceptionIsThrown() {
+        // given
+        when(beerRepository.reserveQuantity(1L, 8)).thenReturn(0);
+        when(beerRepository.findById(1L)).thenReturn(Optional.of(beer));
+
+        // then
+        InsufficientStockException e = assertThrows(InsufficientStockException.class,
+                () -> reservationService.reserve(ReservationDTO.builder().beerId(1L).quantity(8).build()));
+        assertThat(e.getMessage().contains("only 7 units"), is(true));
+        verify(reservationRepository, never()).save(any());
+    }
+
+    @Test
+    void whenTtlIsAboveTheMaximumThenItIsCapped() throws Exception {
+        // given
+        when(beerRepository.reserveQuantity(1L, 1)).thenReturn(1);
+        when(reservationRepository.save(any(StockReservation.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(beerRepository.findById(1L)).thenReturn(Optional.of(beer));
+
+        // when
+        ReservationDTO created = reservationService.reserve(ReservationDTO.builder().beerId(1L).quantity(1).ttlSeconds(86_400L).build());
+
+        // then
+        assertThat(created.getExpiresAt(), is(START.plus(Duration.ofHours(1))));
+    }
+
+    @Test
+    void whenReservationIsCommittedThenStockIsDecrementedAndLaterExpiryIsIgnored() throws Exception {
+        // given
+        Instant expiresAt = START.plusSeconds(60);
+        Beer committed = Beer.builder().id(1L).name("Brahma").brand("Ambev").max(50).quantity(7).reserved(0)
+                .type(BeerType.LAGER).version(2L).build();
+        when(reservationRepository.findById(7L)).thenReturn(Optional.of(reservation(7L, 3, expiresAt)));
+        when(reservationRepository.claim(7L)).thenReturn(1);
+        when(beerRepository.commitReservedQuantity(1L, 3)).thenReturn(1);
+        when(beerRepository.findById(1L)).thenReturn(Optional.of(committed));
+
+        // when
+        BeerDTO result = reservationService.commit(7L);
+
+        // then
+        assertThat(result.getQuantity(), is(7));
+        verify(ledger).record(1L, -3, 7, MovementSource.RESERVATION);
+        verify(stockMetrics).applied(MovementSource.RESERVATION, -3);
+        assertThat(outcome(ReservationService.Outcome.COMMITTED), is(1.0));
+    }
+
+    @Test
+    void whenReservationWasAlreadyResolvedThenReservationNotFoundExceptionIsThrown() {
+        // given
+        when(reservationRepository.findById(7L)).thenReturn(Optional.of(reservation(7L, 3, START)));
+        when(reservationRepository.claim(7L)).thenReturn(0);
+
+        // then
+        assertThrows(ReservationNotFoundException.class, () -> reservationService.release(7L));
+        verify(beerRepository, never()).releaseQuantity(anyLong(), anyInt());
+    }
+
+    // Relógio ajustável pelo teste: a roda e os prazos usam o mesmo instante
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void set(Instant now) {
+            this.now = now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package one.digitalinnovation.beerstock.service;
+
+import one.digitalinnovation.beerstock.dto.StockHistoryDTO;
+import one.digitalinnovation.beerstock.entity.StockMovement;
+import one.digitalinnovation.beerstock.entity.StockSnapshot;
+import one.digitalinnovation.beerstock.enums.MovementSource;
+import one.digitalinnovation.beerstock.exception.BeerNotFoundException;
+import one.digitalinnovation.beerstock.repository.BeerRepository;
+import one.digitalinnovation.beerstock.repository.StockMovementRepository;
+import one.digitalinnovation.beerstock.repository.StockSnapshotRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class StockLedgerServiceTest {
+
+    private static final long BEER_ID = 1L;
+    private static final Instant FROM = Instant.parse("2024-01-02T00:00:00Z");
+    private static final Instant TO = Instant.parse("2024-01-03T00:00:00Z");
+
+    @Mock
+    private BeerRepository beerRepository;
+
+    @Mock
+    private StockMovementRepository movementRepository;
+
+    @Mock
+    private StockSnapshotRepository snapshotRepository;
+
+    private StockLedgerService ledgerService;
+
+    @BeforeEach
+    void setup() {
+        ledgerService = new StockLedgerService(beerRepository, movementRepository, snapshotRepository, Duration.ofMinutes(1));
+    }
+
+    @Test
+    void whenHistoryStartsAfterASnapshotThenOnlyTheMovementsAfterItAreReplayed() throws BeerNotFoundException {
+        // given
+        Instant takenAt = FROM.minusSeconds(3600);
+        StockSnapshot snapshot = StockSnapshot.builder().beerId(BEER_ID).quantity(40).takenAt(takenAt).build();
+
+        // when
+        when(movementRepository.existsByBeerId(BEER_ID)).thenReturn(true);
+        when(snapshotRepository.findFirstByBeerIdAndTakenAtLessThanEqualOrderByTakenAtDesc(BEER_ID, FROM)).thenReturn(Optional.of(snapshot));
+        when(movementRepository.sumDeltas(BEER_ID, takenAt, FROM, 0L)).thenReturn(-5L);
+        when(movementRepository.findRange(eq(BEER_ID), eq(FROM), eq(0L), eq(TO), any())).thenReturn(List.of());
+
+        // then
+        assertThat(ledgerService.history(BEER_ID, FROM, 0L, TO, 10).getOpeningQuantity(), is(35));
+    }
+
+    @Test
+    void whenBeerWasDeletedThenHistoryIsStillResolvedFromTheLedger() throws BeerNotFoundException {
+        // given
+        StockMovement delete = StockMovement.builder()
+                .id(7L)
+                .beerId(BEER_ID)
+                .delta(-12)
+                .resultingQuantity(0)
+                .createdAt(FROM.plusSeconds(60))
+                .source(MovementSource.DELETE)
+                .build();
+
+        // when
+        when(movementRepository.existsByBeerId(BEER_ID)).thenReturn(true);
+        when(snapshotRepository.findFirstByBeerIdAndTakenAtLessThanEqualOrderByTakenAtDesc(BEER_ID, FROM)).thenReturn(Optional.empty());
+        when(movementRepository.sumDeltas(BEER_ID, Instant.EPOCH, FROM, 0L)).thenReturn(12L);
+        when(movementRepository.findRange(eq(BEER_ID), eq(FROM), eq(0L), eq(TO), any())).thenReturn(List.of(delete));
+
+        // then
+        StockHistoryDTO history = ledgerService.history(BEER_ID, FROM, 0L, TO, 10);
+        assertThat(history.getOpeningQuantity(), is(12));
+        assertThat(history.getMovements().get(0).getSource(), is(MovementSource.DELETE));
+    }
+
+    @Test
+    void whenBeerHasNoLedgerAndNoRowThenNotFoundIsThrown() {
+        // when
+        when(movementRepository.existsByBeerId(BEER_ID)).thenReturn(false);
+        when(beerRepository.existsById(BEER_ID)).thenReturn(false);
+
+        // then
+        assertThrows(BeerNotFoundException.class, () -> ledgerService.history(BEER_ID, FROM, 0L, TO, 10));
+    }
+}
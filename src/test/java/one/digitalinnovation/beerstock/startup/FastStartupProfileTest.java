@@ -0,0 +1,41 @@
+package one.digitalinnovation.beerstock.startup;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("fast-startup")
+public class FastStartupProfileTest {
+
+    @Autowired
+    private ConfigurableApplicationContext context;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void whenFastStartupIsActiveThenOnlyBeansThatMustRunEarlyAreEager() {
+        assertThat(context.getBeanFactory().getBeanDefinition("beerService").isLazyInit(), is(true));
+        assertThat(context.getBeanFactory().getBeanDefinition("beerController").isLazyInit(), is(true));
+        assertThat(context.getBeanFactory().getBeanDefinition("stockAggregates").isLazyInit(), is(false));
+        assertThat(context.getBeanFactory().getBeanDefinition("lowStockAlertEngine").isLazyInit(), is(false));
+        assertThat(context.getBeanFactory().getBeanDefinition("beerChangeFeed").isLazyInit(), is(false));
+    }
+
+    @Test
+    void whenFirstRequestArrivesThenLazyBeansAreCreatedAndServeIt() throws Exception {
+        mockMvc.perform(get("/api/v1/beers")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/v1/beers/aggregates")).andExpect(status().isOk());
+    }
+}
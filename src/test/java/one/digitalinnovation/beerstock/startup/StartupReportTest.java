@@ -0,0 +1,62 @@
+package one.digitalinnovation.beerstock.startup;
+
+import one.digitalinnovation.beerstock.dto.StartupReportDTO;
+import one.digitalinnovation.beerstock.dto.StartupStepDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.matchesPattern;
+
+public class StartupReportTest {
+
+    @Test
+    void whenTimelineIsReportedThenTopLevelPhasesAndSlowestBeansAreListed() throws InterruptedException {
+        // given
+        BufferingApplicationStartup startup = new BufferingApplicationStartup(100);
+        StartupStep refresh = startup.start("spring.context.refresh");
+        StartupStep slow = startup.start(StartupReport.BEAN_INSTANTIATION).tag("beanName", "entityManagerFactory");
+        StartupStep fast = startup.start(StartupReport.BEAN_INSTANTIATION).tag("beanName", "beerMapper");
+        fast.end();
+        Thread.sleep(20);
+        slow.end();
+        startup.start(StartupReport.BEAN_INSTANTIATION).tag("beanName", "beerController").end();
+        refresh.end();
+
+        // when
+        StartupReportDTO report = StartupReport.report(startup.getBufferedTimeline(), 3000, Duration.ofMillis(2500), 2);
+
+        // then
+        assertThat(report.getReadyMillis(), equalTo(3000L));
+        assertThat(report.getContextMillis(), equalTo(2500L));
+        assertThat(report.getJvmMillis(), equalTo(500L));
+        assertThat(report.getPhases(), hasSize(1));
+        assertThat(report.getPhases().get(0).getName(), equalTo("spring.context.refresh"));
+        assertThat(report.getSlowestBeans(), hasSize(2));
+        assertThat(report.getSlowestBeans().get(0).getName(), equalTo("entityManagerFactory"));
+    }
+
+    @Test
+    void whenReportIsFormattedThenTotalsAndStepsArePrinted() {
+        // given
+        StartupReportDTO report = StartupReportDTO.builder()
+                .jvmMillis(500L).contextMillis(2500L).readyMillis(3000L)
+                .phases(List.of(new StartupStepDTO("spring.context.refresh", 2000L)))
+                .slowestBeans(List.of(new StartupStepDTO("entityManagerFactory", 900L)))
+                .build();
+
+        // when
+        String text = StartupReport.format(report);
+
+        // then
+        assertThat(text, containsString("ready in 3000 ms since JVM start (jvm 500 ms, spring 2500 ms)"));
+        assertThat(text, matchesPattern("(?s).*spring\\.context\\.refresh +2000 ms.*Slowest beans:.*entityManagerFactory +900 ms.*"));
+    }
+}